@@ -0,0 +1,52 @@
+#!/bin/bash
+
+# ================================================================
+# PLATFORM vs VIRTUAL THREADS LOAD TEST
+# Restarts the backend container in each thread mode and runs
+# QuizLoadTests (get + submit quiz) against it.
+#
+# Usage: ./load-test-threads.sh [quizId] [username] [password]
+# Needs an existing quiz and a user that can take it.
+# ================================================================
+
+QUIZ_ID=${1:-1}
+LT_USER=${2:-admin}
+LT_PASS=${3:-admin}
+USERS=${LOADTEST_USERS:-500}
+SECONDS_PER_RUN=${LOADTEST_SECONDS:-30}
+BASE_URL=${LOADTEST_BASE_URL:-http://localhost:8080}
+
+wait_for_backend() {
+    echo "⏳ Waiting for backend to become healthy..."
+    for i in $(seq 1 60); do
+        if curl -fs "$BASE_URL/actuator/health" > /dev/null; then
+            echo "✅ Backend is up"
+            return 0
+        fi
+        sleep 2
+    done
+    echo "❌ Backend did not come up"
+    exit 1
+}
+
+for MODE in platform virtual; do
+    echo ""
+    echo "🏋️ RUNNING LOAD TEST WITH $MODE THREADS"
+    echo "==============================="
+
+    if [ "$MODE" = "virtual" ]; then VT=true; else VT=false; fi
+    # one user hammering submit would just measure the rate limiter, so switch it off here
+    RATE_LIMIT_ENABLED=false SPRING_THREADS_VIRTUAL_ENABLED=$VT docker compose up -d --force-recreate backend
+    wait_for_backend
+
+    ./mvnw -q test -Dtest=QuizLoadTests -Dsurefire.failIfNoSpecifiedTests=false \
+        -Dloadtest.baseUrl="$BASE_URL" -Dloadtest.quizId="$QUIZ_ID" \
+        -Dloadtest.username="$LT_USER" -Dloadtest.password="$LT_PASS" \
+        -Dloadtest.users="$USERS" -Dloadtest.seconds="$SECONDS_PER_RUN" \
+        -Dloadtest.label="$MODE"
+done
+
+echo ""
+echo "📊 RESULTS"
+echo "==============================="
+cat target/loadtest-platform.txt target/loadtest-virtual.txt
@@ -1,5 +1,40 @@
 import React, { useState, useEffect, useCallback } from 'react';
 
+// Only one refresh at a time: concurrent requests with an expiring token all wait for the same one.
+// Other tabs share localStorage, so they're kept in line with a cross-tab lock (see refreshAccessToken).
+let refreshInFlight = null;
+
+// Local copy of the question bank for the admin screens. Kept up to date with
+// /admin/question/changes-since, so a refresh only downloads what changed.
+const questionSync = { version: 0, byId: new Map(), inFlight: null };
+
+const resetQuestionSync = () => {
+  questionSync.version = 0;
+  questionSync.byId = new Map();
+};
+
+// Pull every change since our version (page by page) and return the questions sorted by ID
+const syncQuestions = (apiFetch) => {
+  if (!questionSync.inFlight) {
+    questionSync.inFlight = (async () => {
+      let more = true;
+      while (more) {
+        const res = await apiFetch(`/admin/question/changes-since?version=${questionSync.version}`);
+        if (res.reset) {
+          resetQuestionSync();
+          continue;
+        }
+        res.changed.forEach((q) => questionSync.byId.set(q.id, q));
+        res.deleted.forEach((id) => questionSync.byId.delete(id));
+        questionSync.version = res.version;
+        more = res.more;
+      }
+      return [...questionSync.byId.values()].sort((a, b) => a.id - b.id);
+    })().finally(() => { questionSync.inFlight = null; });
+  }
+  return questionSync.inFlight;
+};
+
 // --- Main App Component ---
 export default function App() {
   // State Management
@@ -7,6 +42,7 @@ export default function App() {
   const [token, setToken] = useState(null);
   const [user, setUser] = useState(null);
   const [selectedQuizId, setSelectedQuizId] = useState(null);
+  const [selectedQuizTimed, setSelectedQuizTimed] = useState(false);
   const [selectedQuestion, setSelectedQuestion] = useState(null);
   const [message, setMessage] = useState({ text: '', type: '' });
 
@@ -38,23 +74,77 @@ export default function App() {
     return [];
   };
 
+  // Swap the stored refresh token for a new access + refresh token (no password, no BCrypt).
+  // Returns the new access token, or null if the refresh token is no longer valid.
+  // `seen` is the access token the caller found wanting: if another tab has stored a different,
+  // still-fresh one in the meantime, that one is used instead of rotating the refresh token again.
+  const refreshAccessToken = useCallback((seen) => {
+    if (!refreshInFlight) {
+      const refresh = async () => {
+        const stored = localStorage.getItem('quiz_app_token');
+        const exp = stored ? parseJwt(stored)?.exp : null;
+        if (stored && stored !== seen && exp && exp * 1000 - 30000 > Date.now()) return stored;
+        const refreshToken = localStorage.getItem('quiz_app_refresh_token');
+        if (!refreshToken) return null;
+        try {
+          const res = await fetch(`${API_BASE_URL}/auth/refresh`, {
+            method: 'POST',
+            headers: { Accept: 'application/json', 'Content-Type': 'application/json' },
+            body: JSON.stringify({ refreshToken }),
+          });
+          if (!res.ok) {
+            // Don't throw away a newer token another tab stored meanwhile
+            if (localStorage.getItem('quiz_app_refresh_token') === refreshToken) {
+              localStorage.removeItem('quiz_app_refresh_token');
+            }
+            return null;
+          }
+          const data = await res.json();
+          localStorage.setItem('quiz_app_token', data.token);
+          localStorage.setItem('quiz_app_refresh_token', data.refreshToken);
+          return data.token;
+        } catch {
+          return null;
+        }
+      };
+      // One tab at a time rotates the refresh token; the rest wait and pick up what it stored
+      const locked = navigator.locks ? navigator.locks.request('quiz_app_refresh', refresh) : refresh();
+      refreshInFlight = locked.finally(() => { refreshInFlight = null; });
+    }
+    return refreshInFlight;
+  }, []);
+
   // --- MODIFIED FUNCTION ---
   // Centralized fetch with auth + error handling
   const apiFetch = useCallback(async (path, { method = 'GET', body, headers = {} } = {}) => {
     if (!path.startsWith('http')) path = `${API_BASE_URL}${path}`;
-    const currentToken = localStorage.getItem('quiz_app_token'); // Always get the latest token
-    const init = {
+    const isAuthCall = path.includes('/auth/') && !path.includes('/auth/admin/');
+    let currentToken = localStorage.getItem('quiz_app_token'); // Always get the latest token
+
+    // Renew an access token that is about to expire before using it
+    const exp = currentToken ? parseJwt(currentToken)?.exp : null;
+    if (!isAuthCall && exp && exp * 1000 - 30000 <= Date.now()) {
+      currentToken = (await refreshAccessToken(currentToken)) || currentToken;
+    }
+
+    const send = (tkn) => fetch(path, {
       method,
       headers: {
         Accept: 'application/json',
         ...(body ? { 'Content-Type': 'application/json' } : {}),
-        ...(currentToken ? { Authorization: `Bearer ${currentToken}` } : {}),
+        ...(tkn ? { Authorization: `Bearer ${tkn}` } : {}),
         ...headers,
       },
       ...(body ? { body: JSON.stringify(body) } : {}),
-    };
+    });
 
-    const res = await fetch(path, init);
+    let res = await send(currentToken);
+
+    // Token rejected (expired or revoked): refresh once and retry
+    if (!isAuthCall && (res.status === 401 || res.status === 403) && localStorage.getItem('quiz_app_refresh_token')) {
+      const renewed = await refreshAccessToken(currentToken);
+      if (renewed) res = await send(renewed);
+    }
 
     // First, get the raw text of the response body.
     const responseText = await res.text().catch(() => '');
@@ -79,17 +169,23 @@ export default function App() {
       console.warn("API response was not valid JSON:", responseText);
       return null;
     }
-  }, []);
+  }, [refreshAccessToken]);
   // --- END OF MODIFICATION ---
 
   // --- Authentication ---
   useEffect(() => {
-    const storedToken = localStorage.getItem('quiz_app_token');
-    if (storedToken) {
-      const decodedToken = parseJwt(storedToken);
+    const restore = async () => {
+      let storedToken = localStorage.getItem('quiz_app_token');
+      if (!storedToken) return;
+      let decodedToken = parseJwt(storedToken);
       if (decodedToken?.exp && decodedToken.exp * 1000 <= Date.now()) {
-        localStorage.removeItem('quiz_app_token');
-        return;
+        // Access token expired while away - the refresh token may still be good
+        storedToken = await refreshAccessToken(storedToken);
+        if (!storedToken) {
+          localStorage.removeItem('quiz_app_token');
+          return;
+        }
+        decodedToken = parseJwt(storedToken);
       }
       setToken(storedToken);
       const roles = extractRoles(decodedToken);
@@ -97,8 +193,9 @@ export default function App() {
         username: decodedToken?.sub || decodedToken?.username || 'user',
         roles,
       });
-    }
-  }, []);
+    };
+    restore();
+  }, [refreshAccessToken]);
 
   useEffect(() => {
     if (user) {
@@ -118,6 +215,7 @@ export default function App() {
       if (!data?.token) throw new Error('No token in login response.');
 
       localStorage.setItem('quiz_app_token', data.token);
+      if (data.refreshToken) localStorage.setItem('quiz_app_refresh_token', data.refreshToken);
       setToken(data.token);
       const decoded = parseJwt(data.token);
       const roles = extractRoles(decoded);
@@ -142,17 +240,25 @@ export default function App() {
   };
 
   const handleLogout = () => {
+    const refreshToken = localStorage.getItem('quiz_app_refresh_token');
+    if (refreshToken) {
+      // Revoke server-side too; logging out locally doesn't wait for it
+      apiFetch('/auth/logout', { method: 'POST', body: { refreshToken } }).catch(() => {});
+    }
     setToken(null);
     setUser(null);
+    resetQuestionSync();
     localStorage.removeItem('quiz_app_token');
+    localStorage.removeItem('quiz_app_refresh_token');
     setPage('login');
     showMessage('You have been logged out.', 'success');
   };
 
   // --- Navigation ---
   const navigateTo = (newPage) => setPage(newPage);
-  const startQuiz = (quizId) => {
+  const startQuiz = (quizId, timed = false) => {
     setSelectedQuizId(quizId);
+    setSelectedQuizTimed(timed);
     setPage('quiz');
   };
   const editQuestion = (question) => {
@@ -176,7 +282,7 @@ export default function App() {
       case 'manage_questions':
         return <ManageQuestions navigateTo={navigateTo} editQuestion={editQuestion} apiFetch={apiFetch} showMessage={showMessage} />;
       case 'quiz':
-        return <Quiz quizId={selectedQuizId} navigateTo={navigateTo} apiFetch={apiFetch} showMessage={showMessage} />;
+        return <Quiz quizId={selectedQuizId} timed={selectedQuizTimed} navigateTo={navigateTo} apiFetch={apiFetch} showMessage={showMessage} />;
       case 'add_question':
         return <AddQuestion navigateTo={navigateTo} apiFetch={apiFetch} showMessage={showMessage} />;
       case 'update_question':
@@ -299,9 +405,10 @@ function UserDashboard({ startQuiz, apiFetch, showMessage }) {
             <div key={quiz.id} className="bg-gray-50 p-6 rounded-lg border flex flex-col justify-between">
               <div>
                 <h3 className="text-xl font-semibold">{quiz.title}</h3>
-                <p className="text-gray-500 mt-2">{Array.isArray(quiz.questions) ? quiz.questions.length : 0} Questions</p>
+                <p className="text-gray-500 mt-2">{quiz.questionCount ?? 0} Questions</p>
+                {quiz.timeLimitSeconds ? <p className="text-gray-500">{Math.ceil(quiz.timeLimitSeconds / 60)} min time limit</p> : null}
               </div>
-              <button onClick={() => startQuiz(quiz.id)} className="mt-4 w-full px-4 py-2 bg-green-500 text-white rounded-lg hover:bg-green-600">Start Quiz</button>
+              <button onClick={() => startQuiz(quiz.id, !!quiz.timeLimitSeconds)} className="mt-4 w-full px-4 py-2 bg-green-500 text-white rounded-lg hover:bg-green-600">Start Quiz</button>
             </div>
           ))}
         </div>
@@ -310,19 +417,32 @@ function UserDashboard({ startQuiz, apiFetch, showMessage }) {
   );
 }
 
-function Quiz({ quizId, navigateTo, apiFetch, showMessage }) {
+function Quiz({ quizId, timed, navigateTo, apiFetch, showMessage }) {
   const [questions, setQuestions] = useState([]);
   const [currentIndex, setCurrentIndex] = useState(0);
   const [answers, setAnswers] = useState({});
   const [isLoading, setIsLoading] = useState(true);
   const [result, setResult] = useState(null);
+  // Timed quizzes: the attempt (with the server's deadline) and a clock for the countdown
+  const [attempt, setAttempt] = useState(null);
+  const [now, setNow] = useState(Date.now());
 
   useEffect(() => {
     const fetchQuestions = async () => {
       if (!quizId) return;
       try {
-        const data = await apiFetch(`/user/quiz/get/${quizId}`);
-        setQuestions(Array.isArray(data) ? data : []);
+        if (timed) {
+          // Starts the clock, or picks up the attempt already running (with its saved answers).
+          // A timed quiz's questions only come with a running attempt.
+          const started = await apiFetch(`/user/exam/start/${quizId}`, { method: 'POST' });
+          const data = await apiFetch(`/user/exam/${started.id}/paper`);
+          setQuestions(Array.isArray(data) ? data : []);
+          setAttempt(started);
+          setAnswers(Object.fromEntries((started?.answers || []).filter((r) => r.response).map((r) => [r.id, r.response])));
+        } else {
+          const data = await apiFetch(`/user/quiz/get/${quizId}`);
+          setQuestions(Array.isArray(data) ? data : []);
+        }
       } catch (error) {
         showMessage(error.message || 'Failed to load quiz questions.', 'error');
       } finally {
@@ -330,14 +450,59 @@ function Quiz({ quizId, navigateTo, apiFetch, showMessage }) {
       }
     };
     fetchQuestions();
-  }, [quizId, apiFetch, showMessage]);
+  }, [quizId, timed, apiFetch, showMessage]);
 
-  const handleSelect = (qId, option) => setAnswers((prev) => ({ ...prev, [qId]: option }));
+  const deadline = attempt ? Date.parse(attempt.deadline) : null;
+  const secondsLeft = deadline ? Math.max(0, Math.ceil((deadline - now) / 1000)) : null;
+
+  useEffect(() => {
+    if (!deadline || result !== null) return undefined;
+    const timer = setInterval(() => setNow(Date.now()), 1000);
+    return () => clearInterval(timer);
+  }, [deadline, result]);
+
+  useEffect(() => {
+    if (secondsLeft !== 0 || result !== null) return undefined;
+    // Time is up: the server closes the attempt with the saved answers (after a short grace), then we show its score
+    let timer;
+    const poll = async () => {
+      try {
+        const closed = await apiFetch(`/user/exam/${attempt.id}`);
+        if (closed?.status === 'OPEN') {
+          timer = setTimeout(poll, 1000);
+          return;
+        }
+        setResult(closed?.score ?? 0);
+        showMessage('Time is up! Your saved answers were submitted.', 'success');
+      } catch (error) {
+        showMessage(error.message || 'Failed to load your result.', 'error');
+      }
+    };
+    timer = setTimeout(poll, 3000);
+    return () => clearTimeout(timer);
+  }, [secondsLeft, result, attempt, apiFetch, showMessage]);
+
+  const toResponses = (chosen) => questions.map((q) => {
+    const response = chosen[q.id] || '';
+    // Send the option number too, so the server can grade without comparing strings
+    const option = response ? [q.option1, q.option2, q.option3, q.option4].indexOf(response) + 1 : 0;
+    return { id: q.id, response, ...(option > 0 ? { option } : {}) };
+  });
+
+  const handleSelect = (qId, option) => {
+    const next = { ...answers, [qId]: option };
+    setAnswers(next);
+    if (attempt) {
+      // Save as we go, so running out of time still counts what was answered
+      apiFetch(`/user/exam/${attempt.id}/answers`, { method: 'PUT', body: toResponses(next) }).catch(() => {});
+    }
+  };
 
   const handleSubmit = async () => {
-    const responses = questions.map((q) => ({ id: q.id, response: answers[q.id] || '' }));
+    const responses = toResponses(answers);
+    const url = attempt ? `/user/exam/${attempt.id}/submit` : `/user/quiz/submit/${quizId}`;
     try {
-      const data = await apiFetch(`/user/quiz/submit/${quizId}`, { method: 'POST', body: responses });
+      const data = await apiFetch(url, { method: 'POST', body: responses });
       const score = typeof data === 'number' ? data : data?.score;
       setResult(score ?? 0);
       showMessage('Quiz submitted!', 'success');
@@ -363,14 +528,17 @@ function Quiz({ quizId, navigateTo, apiFetch, showMessage }) {
 
   return (
     <Card>
-      <p className="text-sm text-gray-500">Question {currentIndex + 1} of {questions.length}</p>
+      <div className="flex justify-between text-sm text-gray-500">
+        <p>Question {currentIndex + 1} of {questions.length}</p>
+        {secondsLeft !== null && <p className={secondsLeft <= 30 ? 'font-bold text-red-600' : ''}>{Math.floor(secondsLeft / 60)}:{String(secondsLeft % 60).padStart(2, '0')} left</p>}
+      </div>
       <h2 className="text-2xl font-semibold mt-2">{q.question_title}</h2>
       <div className="space-y-4 mt-6">
         {options.map((opt, i) => <button key={i} onClick={() => handleSelect(q.id, opt)} className={`w-full text-left p-4 rounded-lg border-2 ${answers[q.id] === opt ? 'bg-indigo-100 border-indigo-500' : 'bg-white hover:border-indigo-400'}`}>{opt}</button>)}
       </div>
       <div className="mt-8 flex justify-between">
         <Button onClick={() => setCurrentIndex((i) => i - 1)} disabled={currentIndex === 0} className="w-auto bg-gray-300 text-gray-700 hover:bg-gray-400">Previous</Button>
-        {currentIndex === questions.length - 1 ? <Button onClick={handleSubmit} className="w-auto bg-green-500 hover:bg-green-600">Submit</Button> : <Button onClick={() => setCurrentIndex((i) => i + 1)} className="w-auto">Next</Button>}
+        {currentIndex === questions.length - 1 ? <Button onClick={handleSubmit} disabled={secondsLeft === 0} className="w-auto bg-green-500 hover:bg-green-600">Submit</Button> : <Button onClick={() => setCurrentIndex((i) => i + 1)} className="w-auto">Next</Button>}
       </div>
     </Card>
   );
@@ -495,7 +663,7 @@ function ManageQuizzes({ navigateTo, apiFetch, showMessage }) {
         {quizzes.length > 0 ? (
           quizzes.map((quiz) => (
             <div key={quiz.id} className="bg-gray-50 p-4 rounded-lg flex justify-between items-center border">
-              <div><p className="font-semibold">{quiz.title}</p><p className="text-sm text-gray-500">{Array.isArray(quiz.questions) ? quiz.questions.length : 0} questions</p></div>
+              <div><p className="font-semibold">{quiz.title}</p><p className="text-sm text-gray-500">{quiz.questionCount ?? 0} questions</p></div>
               <button onClick={() => deleteQuiz(quiz.id)} className="px-3 py-1 bg-red-500 text-white text-sm rounded hover:bg-red-600">Delete</button>
             </div>
           ))
@@ -514,11 +682,12 @@ function ManageQuestions({ navigateTo, editQuestion, apiFetch, showMessage }) {
   const fetchData = useCallback(async () => {
     setIsLoading(true);
     try {
+      // Only the changes since the last visit; the category list is revalidated with its ETag
       const [qs, cats] = await Promise.all([
-        apiFetch('/admin/question/allQuestions'),
+        syncQuestions(apiFetch),
         apiFetch('/admin/question/categories'),
       ]);
-      setQuestions(Array.isArray(qs) ? qs : []);
+      setQuestions(qs);
       setCategories(['All', ...(Array.isArray(cats) ? cats : [])]);
     } catch (error) {
       showMessage(error.message || 'Failed to fetch data', 'error');
@@ -650,6 +819,7 @@ function CreateQuiz({ navigateTo, apiFetch, showMessage }) {
   const [category, setCategory] = useState('');
   const [numQ, setNumQ] = useState('');
   const [title, setTitle] = useState('');
+  const [timeLimitMinutes, setTimeLimitMinutes] = useState('');
   const [categories, setCategories] = useState([]);
   const [isLoading, setIsLoading] = useState(true);
 
@@ -670,6 +840,7 @@ function CreateQuiz({ navigateTo, apiFetch, showMessage }) {
   const handleSubmit = async (e) => {
     e.preventDefault();
     const params = new URLSearchParams({ category, numQ, title });
+    if (timeLimitMinutes) params.set('timeLimit', Math.round(timeLimitMinutes * 60));
     try {
       await apiFetch(`/admin/quiz/create?${params.toString()}`, { method: 'POST' });
       showMessage('Quiz created successfully!', 'success');
@@ -689,6 +860,7 @@ function CreateQuiz({ navigateTo, apiFetch, showMessage }) {
           {categories.map((cat) => <option key={cat} value={cat}>{cat}</option>)}
         </Select>
         <Input id="numQ" type="number" placeholder="Number of Questions" value={numQ} onChange={(e) => setNumQ(e.target.value)} required />
+        <Input id="timeLimit" type="number" placeholder="Time Limit in Minutes (optional)" value={timeLimitMinutes} onChange={(e) => setTimeLimitMinutes(e.target.value)} />
         <div className="flex space-x-4 pt-4">
           <Button type="button" onClick={() => navigateTo('manage_quizzes')} className="bg-gray-500 hover:bg-gray-600">Cancel</Button>
           <Button type="submit">Create Quiz</Button>
@@ -0,0 +1,90 @@
+package com.example.demo.Service;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.Dao.QuizDao;
+import com.example.demo.Model.Question;
+import com.example.demo.Model.QuizAttempt;
+import com.example.demo.Model.Quiz;
+import com.example.demo.Model.Response;
+import com.example.demo.benchmark.QuestionBank;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * 📊 Grading a submission - the answer key alone, and QuizService.calculateResult end to end
+ * (with a warm answer-key cache and an attempt writer that accepts everything).
+ *
+ * Lives in the Service package so it can wire QuizService's package-private fields by hand.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class ScoringBenchmark {
+
+	@Param({"10000", "1000000"})
+	int bankSize;
+
+	@Param({"10", "50", "200"})
+	int quizSize;
+
+	AnswerKey answerKey;
+	List<Response> responses;
+	QuizService quizService;
+
+	@Setup
+	public void setUp() {
+		List<Question> bank = QuestionBank.questions(bankSize);
+		List<Question> questions = QuestionBank.quiz(bank, quizSize);
+		answerKey = AnswerKey.of(questions);
+		responses = QuestionBank.submission(questions);
+
+		Quiz quiz = new Quiz();
+		quiz.setId(1);
+		quiz.setQuestions(questions);
+
+		quizService = new QuizService();
+		quizService.quizDao = (QuizDao) Proxy.newProxyInstance(
+				QuizDao.class.getClassLoader(), new Class<?>[] {QuizDao.class},
+				(proxy, method, args) -> method.getName().equals("findWithQuestionsById") ? Optional.of(quiz) : null);
+		quizService.answerKeyCache = new AnswerKeyCache(100, new SimpleMeterRegistry());
+		quizService.quizAttemptWriter = new QuizAttemptWriter(1, 1, new TransactionTemplate()) {
+			@Override
+			public boolean offer(QuizAttempt attempt) {
+				return true;
+			}
+		};
+		quizService.quizMetrics = new QuizMetrics();
+		quizService.quizMetrics.meterRegistry = new SimpleMeterRegistry();
+	}
+
+	@Benchmark
+	public int answerKeyScore() {
+		return answerKey.score(responses);
+	}
+
+	@Benchmark
+	public ResponseEntity<Integer> calculateResult() {
+		return quizService.calculateResult(1, responses, "alice");
+	}
+}
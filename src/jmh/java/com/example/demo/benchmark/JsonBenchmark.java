@@ -0,0 +1,80 @@
+package com.example.demo.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.example.demo.Model.Question;
+import com.example.demo.Model.QuestionWrapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 📦 Jackson serialization of the two big list payloads (allQuestions and quiz papers).
+ *
+ * Output goes to a counting stream, so we measure encoding and not buffer growth.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class JsonBenchmark {
+
+	@Param({"10000", "100000", "1000000"})
+	int bankSize;
+
+	ObjectMapper objectMapper;
+	List<Question> questions;
+	List<QuestionWrapper> wrappers;
+
+	@Setup
+	public void setUp() {
+		// Same defaults Spring Boot applies to the MVC ObjectMapper
+		objectMapper = Jackson2ObjectMapperBuilder.json().build();
+		questions = QuestionBank.questions(bankSize);
+		wrappers = QuestionBank.wrappers(questions);
+	}
+
+	@Benchmark
+	public long serializeQuestions() throws IOException {
+		CountingOutputStream out = new CountingOutputStream();
+		objectMapper.writeValue(out, questions);
+		return out.count;
+	}
+
+	@Benchmark
+	public long serializeQuestionWrappers() throws IOException {
+		CountingOutputStream out = new CountingOutputStream();
+		objectMapper.writeValue(out, wrappers);
+		return out.count;
+	}
+
+	static final class CountingOutputStream extends OutputStream {
+		long count;
+
+		@Override
+		public void write(int b) {
+			count++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+			count += len;
+		}
+	}
+}
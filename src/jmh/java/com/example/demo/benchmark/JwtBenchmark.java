@@ -0,0 +1,58 @@
+package com.example.demo.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.example.demo.security.jwt.JwtUtil;
+
+/**
+ * 🔐 JWT issue and verify costs - these run on every login and every authenticated request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+	JwtUtil jwtUtil;
+	UserDetails user;
+	String token;
+
+	@Setup
+	public void setUp() {
+		jwtUtil = new JwtUtil("mySecretKeyThatIsAtLeast256BitsLongForHS256Algorithm", 3_600_000L);
+		user = new User("alice", "", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+		token = jwtUtil.generateToken(user);
+	}
+
+	@Benchmark
+	public String generateToken() {
+		return jwtUtil.generateToken(user);
+	}
+
+	@Benchmark
+	public String extractUsername() {
+		return jwtUtil.extractUsername(token);
+	}
+
+	@Benchmark
+	public boolean isTokenValid() {
+		return jwtUtil.isTokenValid(token, user);
+	}
+}
@@ -0,0 +1,46 @@
+package com.example.demo.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.demo.Model.Question;
+import com.example.demo.Model.QuestionWrapper;
+
+/**
+ * 🎭 Question -> QuestionWrapper projection over a whole bank (what building a quiz paper does).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class ProjectionBenchmark {
+
+	@Param({"10000", "100000", "1000000"})
+	int bankSize;
+
+	List<Question> bank;
+
+	@Setup
+	public void setUp() {
+		bank = QuestionBank.questions(bankSize);
+	}
+
+	@Benchmark
+	public List<QuestionWrapper> projectBank() {
+		return QuestionBank.wrappers(bank);
+	}
+}
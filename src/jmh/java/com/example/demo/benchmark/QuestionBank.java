@@ -0,0 +1,95 @@
+package com.example.demo.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import com.example.demo.Model.Question;
+import com.example.demo.Model.QuestionWrapper;
+import com.example.demo.Model.Response;
+
+/**
+ * 🏭 Synthetic question banks for the benchmarks.
+ *
+ * Everything is generated from a fixed seed so runs are comparable.
+ * Text lengths roughly match real questions (a sentence for the title, a few words per option).
+ */
+public final class QuestionBank {
+
+	private static final String[] CATEGORIES = {"Java", "Python", "JavaScript", "Science", "History", "Math"};
+	private static final String[] LEVELS = {"EASY", "MEDIUM", "HARD"};
+
+	private QuestionBank() {
+	}
+
+	/** 📚 A bank of {@code size} questions with IDs 1..size */
+	public static List<Question> questions(int size) {
+		SplittableRandom random = new SplittableRandom(42);
+		List<Question> bank = new ArrayList<>(size);
+		for (int id = 1; id <= size; id++) {
+			Question q = new Question();
+			q.setId(id);
+			q.setQuestion_title("Which of the following statements about topic " + id + " is correct?");
+			q.setOption1("First possible answer " + random.nextInt(1000));
+			q.setOption2("Second possible answer " + random.nextInt(1000));
+			q.setOption3("Third possible answer " + random.nextInt(1000));
+			q.setOption4("Fourth possible answer " + random.nextInt(1000));
+			switch (random.nextInt(4)) {
+				case 0 -> q.setRight_answer(q.getOption1());
+				case 1 -> q.setRight_answer(q.getOption2());
+				case 2 -> q.setRight_answer(q.getOption3());
+				default -> q.setRight_answer(q.getOption4());
+			}
+			q.setCategory(CATEGORIES[random.nextInt(CATEGORIES.length)]);
+			q.setDifficultylevel(LEVELS[random.nextInt(LEVELS.length)]);
+			bank.add(q);
+		}
+		return bank;
+	}
+
+	/** 🎭 The answer-free projection of a bank */
+	public static List<QuestionWrapper> wrappers(List<Question> questions) {
+		List<QuestionWrapper> wrappers = new ArrayList<>(questions.size());
+		for (Question q : questions) {
+			wrappers.add(QuestionWrapper.from(q));
+		}
+		return wrappers;
+	}
+
+	/** 🎲 {@code count} distinct questions picked from the bank */
+	public static List<Question> quiz(List<Question> bank, int count) {
+		SplittableRandom random = new SplittableRandom(7);
+		List<Question> quiz = new ArrayList<>(count);
+		int stride = Math.max(1, bank.size() / count);
+		for (int i = 0; i < count && i * stride < bank.size(); i++) {
+			quiz.add(bank.get(i * stride + random.nextInt(stride)));
+		}
+		return quiz;
+	}
+
+	/** 📝 A submission for a quiz: about half right, sent as option numbers, in shuffled order */
+	public static List<Response> submission(List<Question> quiz) {
+		SplittableRandom random = new SplittableRandom(11);
+		List<Response> responses = new ArrayList<>(quiz.size());
+		for (Question q : quiz) {
+			Response r = new Response();
+			r.setId(q.getId());
+			int option = 1 + random.nextInt(4);
+			r.setOption(option);
+			r.setResponse(switch (option) {
+				case 1 -> q.getOption1();
+				case 2 -> q.getOption2();
+				case 3 -> q.getOption3();
+				default -> q.getOption4();
+			});
+			responses.add(r);
+		}
+		for (int i = responses.size() - 1; i > 0; i--) {
+			int j = random.nextInt(i + 1);
+			Response tmp = responses.get(i);
+			responses.set(i, responses.get(j));
+			responses.set(j, tmp);
+		}
+		return responses;
+	}
+}
@@ -0,0 +1,79 @@
+package com.example.demo.benchmark;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.demo.Service.TimingWheel;
+
+/**
+ * 🎡 Exam deadline timers: TimingWheel vs a ScheduledThreadPoolExecutor.
+ *
+ * With "pending" timers already waiting (open attempts), measures setting one
+ * more timer and cancelling it again - what starting and submitting an attempt
+ * costs. The executor keeps its timers in a binary heap, so both steps are
+ * O(log n) (with removeOnCancel); the wheel's are O(1).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TimingWheelBenchmark {
+
+	@Param({"1000", "100000"})
+	int pending;
+
+	TimingWheel<Long> wheel;
+	ScheduledThreadPoolExecutor executor;
+	long now;
+	long next;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		now = System.currentTimeMillis();
+		wheel = new TimingWheel<>(1000, 64, 4, now);
+		executor = new ScheduledThreadPoolExecutor(1);
+		executor.setRemoveOnCancelPolicy(true);
+		for (int i = 0; i < pending; i++) {
+			// Spread over the next hour, like attempts started at different times
+			long delay = 60_000 + (i * 3_600_000L / pending);
+			wheel.schedule((long) i, now + delay);
+			executor.schedule(() -> { }, delay, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Benchmark
+	public boolean wheelScheduleAndCancel() {
+		long i = next++;
+		TimingWheel.Timeout<Long> timeout = wheel.schedule(i, now + 1_800_000 + (i & 0xFFFF) * 17);
+		return wheel.cancel(timeout);
+	}
+
+	@Benchmark
+	public boolean executorScheduleAndCancel() {
+		long i = next++;
+		ScheduledFuture<?> future = executor.schedule(() -> { }, 1_800_000 + (i & 0xFFFF) * 17, TimeUnit.MILLISECONDS);
+		return future.cancel(false);
+	}
+}
@@ -0,0 +1,110 @@
+package com.example.demo.benchmark;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.example.demo.Model.Question;
+import com.example.demo.Model.QuestionWrapper;
+import com.example.demo.Model.Response;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * 🔤 JSON vs CBOR vs Smile for the bulk payloads: the question bank, quiz papers
+ * and a 50-answer submission.
+ *
+ * Encoding goes to a counting stream (as in JsonBenchmark); decoding reads
+ * pre-encoded bytes. Payload sizes (raw and gzipped) are printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class WireFormatBenchmark {
+
+	@Param({"json", "cbor", "smile"})
+	String format;
+
+	@Param({"10000", "100000"})
+	int bankSize;
+
+	ObjectMapper mapper;
+	List<Question> questions;
+	List<QuestionWrapper> wrappers;
+	List<Response> submission;
+	byte[] encodedQuestions;
+	byte[] encodedSubmission;
+
+	@Setup
+	public void setUp() throws IOException {
+		// Built like WireFormatConfig does: Spring's defaults, different factory
+		JsonFactory factory = switch (format) {
+			case "cbor" -> new CBORFactory();
+			case "smile" -> new SmileFactory();
+			default -> new JsonFactory();
+		};
+		mapper = Jackson2ObjectMapperBuilder.json().factory(factory).build();
+		questions = QuestionBank.questions(bankSize);
+		wrappers = QuestionBank.wrappers(questions);
+		submission = QuestionBank.submission(QuestionBank.quiz(questions, 50));
+		encodedQuestions = mapper.writeValueAsBytes(questions);
+		encodedSubmission = mapper.writeValueAsBytes(submission);
+
+		System.out.printf("%n%s, %d questions: %d bytes (%d gzipped), quiz papers %d bytes, 50-answer submission %d bytes%n",
+				format, bankSize, encodedQuestions.length, gzippedSize(encodedQuestions),
+				mapper.writeValueAsBytes(wrappers).length, encodedSubmission.length);
+	}
+
+	private static int gzippedSize(byte[] bytes) throws IOException {
+		JsonBenchmark.CountingOutputStream counter = new JsonBenchmark.CountingOutputStream();
+		try (GZIPOutputStream gzip = new GZIPOutputStream(counter)) {
+			gzip.write(bytes);
+		}
+		return (int) counter.count;
+	}
+
+	@Benchmark
+	public long encodeQuestions() throws IOException {
+		JsonBenchmark.CountingOutputStream out = new JsonBenchmark.CountingOutputStream();
+		mapper.writeValue(out, questions);
+		return out.count;
+	}
+
+	@Benchmark
+	public long encodeQuestionWrappers() throws IOException {
+		JsonBenchmark.CountingOutputStream out = new JsonBenchmark.CountingOutputStream();
+		mapper.writeValue(out, wrappers);
+		return out.count;
+	}
+
+	@Benchmark
+	public List<Question> decodeQuestions() throws IOException {
+		return mapper.readValue(encodedQuestions, new TypeReference<List<Question>>() { });
+	}
+
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public List<Response> decodeSubmission() throws IOException {
+		return mapper.readValue(encodedSubmission, new TypeReference<List<Response>>() { });
+	}
+}
@@ -0,0 +1,93 @@
+package com.example.demo.Controller;
+
+import java.security.Principal;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.demo.Model.ExamAttempt;
+import com.example.demo.Model.Response;
+import com.example.demo.Service.ExamService;
+
+/**
+ * ⏱️ ExamController - Timed Quiz Attempts!
+ *
+ * 👤 USER ENDPOINTS:
+ * - Start an attempt (the server sets the deadline)
+ * - Get the questions while the attempt is open
+ * - Save answers along the way
+ * - Submit before the deadline
+ * - Look up an attempt's status and score
+ *
+ * A timed quiz's paper is only served here - /user/quiz/get/{id} answers 409
+ * for it, so nobody reads the questions before their clock starts.
+ *
+ * @author KUNAL M
+ * @version 1.0
+ */
+@RestController
+public class ExamController {
+
+	/** 🔧 Attempts, deadlines and the timer */
+	@Autowired
+	ExamService examService;
+
+	/**
+	 * 🏁 POST /user/exam/start/{quizId}
+	 *
+	 * Start the clock. Returns the attempt with its ID and deadline (201),
+	 * or your attempt that is already running (200).
+	 */
+	@PostMapping("user/exam/start/{quizId}")
+	public ResponseEntity<ExamAttempt> start(@PathVariable int quizId, Principal principal) {
+		return examService.start(quizId, principal.getName());
+	}
+
+	/**
+	 * 📄 GET /user/exam/{attemptId}/paper
+	 *
+	 * The questions (without answers) of an open attempt. 409 once it's closed.
+	 */
+	@GetMapping("user/exam/{attemptId}/paper")
+	public ResponseEntity<?> getPaper(@PathVariable long attemptId, Principal principal) {
+		return examService.getPaper(attemptId, principal.getName());
+	}
+
+	/**
+	 * 💾 PUT /user/exam/{attemptId}/answers
+	 *
+	 * Save the answers so far (same format as a submission). If time runs out,
+	 * the attempt is scored on the last answers saved.
+	 */
+	@PutMapping("user/exam/{attemptId}/answers")
+	public ResponseEntity<String> saveAnswers(@PathVariable long attemptId, @RequestBody List<Response> responses, Principal principal) {
+		return examService.saveAnswers(attemptId, principal.getName(), responses);
+	}
+
+	/**
+	 * ✅ POST /user/exam/{attemptId}/submit
+	 *
+	 * Hand in the attempt and get the score. 409 once the deadline has passed.
+	 */
+	@PostMapping("user/exam/{attemptId}/submit")
+	public ResponseEntity<?> submit(@PathVariable long attemptId, @RequestBody List<Response> responses, Principal principal) {
+		return examService.submit(attemptId, principal.getName(), responses);
+	}
+
+	/**
+	 * 🔍 GET /user/exam/{attemptId}
+	 *
+	 * Status, deadline and (once closed) the score of one of your attempts.
+	 */
+	@GetMapping("user/exam/{attemptId}")
+	public ResponseEntity<ExamAttempt> getAttempt(@PathVariable long attemptId, Principal principal) {
+		return examService.getAttempt(attemptId, principal.getName());
+	}
+}
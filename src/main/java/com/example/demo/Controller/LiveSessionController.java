@@ -0,0 +1,137 @@
+package com.example.demo.Controller;
+
+import java.security.Principal;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import com.example.demo.Model.LiveSessionStatus;
+import com.example.demo.Model.LiveTicket;
+import com.example.demo.Model.Response;
+import com.example.demo.Service.LiveSessionService;
+
+/**
+ * 📺 LiveSessionController - Host a Quiz Live!
+ *
+ * 👨‍💼 ADMIN ENDPOINTS (the host):
+ * - Start a session for a quiz, get a join code
+ * - Push the next question, close it early, end the session
+ * - Check how many are connected and answering
+ *
+ * 👤 USER ENDPOINTS (participants):
+ * - Get a ticket for the stream (browsers' EventSource can't send a bearer token)
+ * - Listen to the session's event stream (Server-Sent Events)
+ * - Answer the question that's open
+ *
+ * @author KUNAL M
+ * @version 1.0
+ */
+@RestController
+public class LiveSessionController {
+
+	/** 🔧 Runs the sessions and their event streams */
+	@Autowired
+	LiveSessionService liveSessionService;
+
+	/**
+	 * 🎬 POST /admin/live/start/{quizId}
+	 *
+	 * Start a live session for a quiz. The response has the join code to share.
+	 * 409 for a timed quiz - those are taken as exam attempts.
+	 */
+	@PostMapping("admin/live/start/{quizId}")
+	public ResponseEntity<LiveSessionStatus> start(@PathVariable int quizId) {
+		return liveSessionService.start(quizId);
+	}
+
+	/**
+	 * ➡️ POST /admin/live/{code}/next?seconds=30
+	 *
+	 * Push the next question to everyone. It closes by itself after "seconds",
+	 * and the results go out automatically.
+	 */
+	@PostMapping("admin/live/{code}/next")
+	public ResponseEntity<String> next(@PathVariable String code, @RequestParam(defaultValue = "30") int seconds) {
+		return liveSessionService.next(code, seconds);
+	}
+
+	/**
+	 * ✅ POST /admin/live/{code}/close
+	 *
+	 * Close the open question now (e.g. everyone has answered) and show the results.
+	 */
+	@PostMapping("admin/live/{code}/close")
+	public ResponseEntity<String> close(@PathVariable String code) {
+		return liveSessionService.close(code);
+	}
+
+	/**
+	 * 🏁 POST /admin/live/{code}/end
+	 *
+	 * End the session. Every participant gets an "end" event and their stream closes.
+	 */
+	@PostMapping("admin/live/{code}/end")
+	public ResponseEntity<String> end(@PathVariable String code) {
+		return liveSessionService.end(code);
+	}
+
+	/**
+	 * 📊 GET /admin/live/{code}
+	 *
+	 * Current question, participants connected and answers so far.
+	 */
+	@GetMapping("admin/live/{code}")
+	public ResponseEntity<LiveSessionStatus> status(@PathVariable String code) {
+		return liveSessionService.status(code);
+	}
+
+	/**
+	 * 📡 GET /user/live/{code}/events
+	 *
+	 * The session's event stream (text/event-stream): session, question, tick,
+	 * results and end events, each with a JSON payload. Joining late is fine -
+	 * the stream starts with the current question or its results.
+	 * 
+	 * Authenticate with a bearer token, or - from a browser's EventSource - with
+	 * ?ticket=... from the endpoint below. EventSource retries a dropped stream
+	 * with the same URL; once the ticket has expired that gets a 401, so get a
+	 * new ticket and reconnect.
+	 */
+	@GetMapping("user/live/{code}/events")
+	public ResponseEntity<ResponseBodyEmitter> events(@PathVariable String code, @RequestParam(required = false) String ticket,
+			Principal principal) {
+		if (principal == null) {
+			return liveSessionService.joinWithTicket(code, ticket);
+		}
+		return liveSessionService.join(code, principal.getName());
+	}
+
+	/**
+	 * 🎫 POST /user/live/{code}/ticket
+	 *
+	 * A short-lived ticket for opening this session's event stream without an
+	 * Authorization header: new EventSource("/user/live/{code}/events?ticket=" + ticket).
+	 */
+	@PostMapping("user/live/{code}/ticket")
+	public ResponseEntity<LiveTicket> ticket(@PathVariable String code, Principal principal) {
+		return liveSessionService.ticket(code, principal.getName());
+	}
+
+	/**
+	 * 🙋 POST /user/live/{code}/answer
+	 *
+	 * Answer the open question: {"id": questionId, "option": 1-4}.
+	 * One answer per question; 409 if it isn't open (anymore).
+	 */
+	@PostMapping("user/live/{code}/answer")
+	public ResponseEntity<String> answer(@PathVariable String code, @RequestBody Response response, Principal principal) {
+		return liveSessionService.answer(code, principal.getName(), response);
+	}
+}
@@ -1,9 +1,13 @@
 package com.example.demo.Controller;
 
+import java.io.InputStream;
 import java.util.List;
 import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,11 +15,19 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.example.demo.Model.CategoryCount;
 import com.example.demo.Model.Question;
+import com.example.demo.Model.QuestionChanges;
+import com.example.demo.Model.QuestionImportResult;
+import com.example.demo.Model.QuestionPage;
 import com.example.demo.Service.QuestionService;
+import com.example.demo.Service.ResponseBodyCache;
 
 /**
  * 🎯 QuestionController - The Admin's Question Management Dashboard!
@@ -44,6 +56,10 @@ public class QuestionController {
 	@Autowired 
 	QuestionService service;
 	
+	/** 🗜️ Pre-serialized, pre-compressed category list */
+	@Autowired
+	ResponseBodyCache responseBodyCache;
+	
 	@Autowired
 	com.example.demo.Dao.QuestionDao questionDao;
 
@@ -58,17 +74,92 @@ public class QuestionController {
 		return service.getAllQuestions();
 	}
 
+	/**
+	 * 🚰 GET /admin/question/export?gzip=true
+	 * 
+	 * Download a backup of the entire question bank as NDJSON (one question per line).
+	 * The file is streamed while it's being read from the database, so it works for
+	 * banks of any size. Add gzip=true to get a compressed .ndjson.gz file instead.
+	 */
+	@GetMapping("/export")
+	public ResponseEntity<StreamingResponseBody> exportQuestions(@RequestParam(defaultValue = "false") boolean gzip) {
+		StreamingResponseBody body = out -> {
+			if (gzip) {
+				GZIPOutputStream compressed = new GZIPOutputStream(out, 64 * 1024);
+				service.exportQuestions(compressed);
+				compressed.finish();
+			} else {
+				service.exportQuestions(out);
+			}
+		};
+		return ResponseEntity.ok()
+				.contentType(gzip ? MediaType.parseMediaType("application/gzip") : MediaType.parseMediaType("application/x-ndjson"))
+				.header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"questions.ndjson" + (gzip ? ".gz" : "") + "\"")
+				.body(body);
+	}
+
 	/**
 	 * 📋 GET /admin/question/categories
 	 * 
 	 * Shows all unique question categories (Java, Python, JavaScript, etc.)
 	 * Helps admins understand what subjects we have questions for.
+	 * 
+	 * Served from the ResponseBodyCache with an ETag - send it back in
+	 * If-None-Match and you get 304 until a question is added, changed or deleted.
 	 */
 	@GetMapping("/categories")
-	public List<String> getCategories() {
-		return service.getAllCategories();
+	public ResponseEntity<?> getCategories(@RequestHeader HttpHeaders headers) {
+		return responseBodyCache.serve(ResponseBodyCache.Family.CATEGORIES, "categories", headers,
+				() -> ResponseEntity.ok(service.getAllCategories()));
+	}
+
+	/**
+	 * 📊 GET /admin/question/categories/counts
+	 * 
+	 * Every category with its number of questions, in total and per difficulty.
+	 * Handy for deciding how many questions a new quiz can have!
+	 */
+	@GetMapping("/categories/counts")
+	public List<CategoryCount> getCategoryCounts() {
+		return service.getCategoryCounts();
 	}
 	
+	/**
+	 * 📄 GET /admin/question/page?cursor=&size=&category=&difficulty=
+	 * 
+	 * Browse the question bank one page at a time (safe for huge banks!).
+	 * All parameters are optional:
+	 * - cursor: the nextCursor from the previous page (leave out for the first page)
+	 * - size: questions per page (default 50, capped at 500)
+	 * - category / difficulty: filter by category and/or difficultylevel
+	 * 
+	 * Example: GET /admin/question/page?category=Java&size=20
+	 */
+	@GetMapping("/page")
+	public ResponseEntity<QuestionPage> getQuestionPage(@RequestParam(required = false) String cursor,
+			@RequestParam(required = false) Integer size,
+			@RequestParam(required = false) String category,
+			@RequestParam(required = false) String difficulty) {
+		return service.getQuestionPage(cursor, size, category, difficulty);
+	}
+
+	/**
+	 * 🔄 GET /admin/question/changes-since?version=N&size=
+	 * 
+	 * Keep a local copy of the bank up to date without downloading it again:
+	 * returns only the questions added/updated and the IDs deleted after version N,
+	 * plus the version to ask from next time. Start with version=0 for everything.
+	 * If "more" is true, call again straight away with the new version;
+	 * if "reset" is true, drop the local copy and start over from 0.
+	 * 
+	 * size: changes per response (default 1000, capped at 5000)
+	 */
+	@GetMapping("/changes-since")
+	public ResponseEntity<QuestionChanges> getChangesSince(@RequestParam(defaultValue = "0") long version,
+			@RequestParam(required = false) Integer size) {
+		return service.getChangesSince(version, size);
+	}
+
 	/**
 	 * 🔍 GET /admin/question/category/{category}
 	 * 
@@ -114,6 +205,24 @@ public class QuestionController {
 		return service.addQuestion(question);
 	}
 
+	/**
+	 * 📥 POST /admin/question/import
+	 * 
+	 * Add thousands of questions in one request - the replacement for the psql scripts.
+	 * Send the file as the raw request body:
+	 * - Content-Type: application/x-ndjson - one question JSON object per line
+	 * - Content-Type: text/csv - a header row (question_title,option1,...,category), then one question per row
+	 * (or force it with ?format=ndjson / ?format=csv)
+	 * 
+	 * Returns how many rows were imported and which ones were rejected, with line numbers.
+	 */
+	@PostMapping("/import")
+	public ResponseEntity<QuestionImportResult> importQuestions(InputStream body,
+			@RequestParam(required = false) String format,
+			@RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType) {
+		return service.importQuestions(body, format, contentType);
+	}
+
 	/**
 	 * 🗑️ DELETE /admin/question/delete/{id}
 	 * 
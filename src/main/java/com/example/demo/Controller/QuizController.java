@@ -1,21 +1,24 @@
 package com.example.demo.Controller;
 
+import java.security.Principal;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import com.example.demo.Model.QuestionWrapper;
 import com.example.demo.Model.Quiz;
 import com.example.demo.Model.Response;
 import com.example.demo.Service.QuizService;
+import com.example.demo.Service.ResponseBodyCache;
 
 /**
  * 🎯 QuizController - The Quiz Experience Center!
@@ -45,6 +48,10 @@ public class QuizController {
 	@Autowired
 	QuizService quizService;
 
+	/** 🗜️ Pre-serialized, pre-compressed quiz papers and quiz list */
+	@Autowired
+	ResponseBodyCache responseBodyCache;
+
 	/**
 	 * 📝 GET /user/quiz/get/{id}
 	 * 
@@ -53,10 +60,17 @@ public class QuizController {
 	 * 
 	 * Perfect for displaying the quiz interface to users.
 	 * They see questions and multiple choice options, but not the answers.
+	 * 
+	 * The JSON is cached ready-made (plus gzip/brotli copies) with an ETag:
+	 * a browser revalidating with If-None-Match gets a 304 with no body.
+	 * 
+	 * Timed quizzes answer 409: start an attempt and get the paper from
+	 * /user/exam/{attemptId}/paper instead.
 	 */
 	@GetMapping("user/quiz/get/{id}")
-	public ResponseEntity<List<QuestionWrapper>> getQuizQuestions (@PathVariable int id){
-		return quizService.getQuizQuestions(id);
+	public ResponseEntity<?> getQuizQuestions (@PathVariable int id, @RequestHeader HttpHeaders headers){
+		return responseBodyCache.serve(ResponseBodyCache.Family.QUIZZES, "paper:" + id, headers,
+				() -> quizService.getQuizQuestions(id));
 	}
 	
 	/**
@@ -70,10 +84,14 @@ public class QuizController {
 	 * Example: Create "Java Expert Challenge" with 10 random Java questions
 	 * 
 	 * The system automatically picks random questions from the specified category.
+	 * Add an optional "seed" to get the same random pick again (handy for reproducing a quiz).
+	 * Add an optional "timeLimit" (seconds, up to a week) for a timed quiz - users then take it through
+	 * /user/exam/start/{id}, and the server closes their attempt at the deadline.
 	 */
 	@PostMapping("admin/quiz/create")
-	public ResponseEntity<String> createQuiz(@RequestParam String category, @RequestParam int numQ, @RequestParam String title ){
-		return quizService.createQuize(category, numQ, title);
+	public ResponseEntity<String> createQuiz(@RequestParam String category, @RequestParam int numQ, @RequestParam String title,
+			@RequestParam(required = false) Long seed, @RequestParam(required = false) Integer timeLimit){
+		return quizService.createQuize(category, numQ, title, seed, timeLimit);
 	}
 	
 	/**
@@ -86,10 +104,14 @@ public class QuizController {
 	 * 
 	 * Returns the number of correct answers (score).
 	 * Example: If user got 7 out of 10 questions right, returns 7.
+	 * 
+	 * The attempt is saved in the background. If the server is swamped it answers
+	 * 503 with a Retry-After header - just submit again after that many seconds.
+	 * Timed quizzes answer 409 here: submit them through their exam attempt instead.
 	 */
 	@PostMapping ("user/quiz/submit/{id}") 
-	public ResponseEntity <Integer> submitQuiz(@PathVariable int id, @RequestBody List<Response> responses)  {
-		return quizService.calculateResult(id, responses);
+	public ResponseEntity <Integer> submitQuiz(@PathVariable int id, @RequestBody List<Response> responses, Principal principal)  {
+		return quizService.calculateResult(id, responses, principal == null ? null : principal.getName());
 	}
 
 	/**
@@ -122,11 +144,26 @@ public class QuizController {
 	 * Browse the quiz catalog! Shows all available quizzes that users can take.
 	 * Perfect for a "Choose Your Quiz" page where users can see:
 	 * - Quiz titles
-	 * - Number of questions in each quiz
+	 * - Number of questions in each quiz (questionCount)
 	 * - Quiz categories
+	 * 
+	 * Only summaries are returned - use /user/quiz/get/{id} for the questions.
+	 * Cached and revalidated with ETags, like the quiz papers.
 	 */
 	@GetMapping("user/quiz/all")
-	public ResponseEntity<List<Quiz>> getAllQuizzes() {
-		return quizService.getAllQuizzes();
+	public ResponseEntity<?> getAllQuizzes(@RequestHeader HttpHeaders headers) {
+		return responseBodyCache.serve(ResponseBodyCache.Family.QUIZZES, "all", headers,
+				() -> quizService.getAllQuizzes());
+	}
+
+	/**
+	 * 📚 GET /admin/quiz/all
+	 * 
+	 * Every quiz with its complete questions, right answers included.
+	 * Admins only - handy for reviewing what each quiz contains.
+	 */
+	@GetMapping("admin/quiz/all")
+	public ResponseEntity<List<Quiz>> getAllQuizzesWithQuestions() {
+		return quizService.getAllQuizzesWithQuestions();
 	}
 }
@@ -8,9 +8,11 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.example.demo.Model.Question;
+import com.example.demo.Model.QuestionPage;
 import com.example.demo.Service.QuestionService;
 
 /**
@@ -57,6 +59,25 @@ public class UserQuestionController {
 		return service.getAllQuestions();
 	}
 	
+	/**
+	 * 📄 GET /user/question/page?cursor=&size=&category=&difficulty=
+	 * 
+	 * Browse the question bank one page at a time (safe for huge banks!).
+	 * All parameters are optional:
+	 * - cursor: the nextCursor from the previous page (leave out for the first page)
+	 * - size: questions per page (default 50, capped at 500)
+	 * - category / difficulty: filter by category and/or difficultylevel
+	 * 
+	 * Example: GET /user/question/page?category=Java&size=20
+	 */
+	@GetMapping("/page")
+	public ResponseEntity<QuestionPage> getQuestionPage(@RequestParam(required = false) String cursor,
+			@RequestParam(required = false) Integer size,
+			@RequestParam(required = false) String category,
+			@RequestParam(required = false) String difficulty) {
+		return service.getQuestionPage(cursor, size, category, difficulty);
+	}
+
 	/**
 	 * 🔍 GET /user/question/category/{category}
 	 * 
@@ -0,0 +1,55 @@
+package com.example.demo.Dao;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.demo.Model.ExamAttempt;
+import com.example.demo.Model.Response;
+
+/**
+ * ⏱️ ExamAttemptDao - The Exam Hall's Register!
+ *
+ * Stores timed attempts. The updates only touch attempts that are still OPEN,
+ * so a submit and the deadline closing the same attempt can't both win
+ * (they return 1 for the winner, 0 for the other).
+ *
+ * @author KUNAL M
+ * @version 1.0
+ */
+@Repository
+public interface ExamAttemptDao extends JpaRepository<ExamAttempt, Long> {
+
+	/** 🔄 Every attempt in a status - OPEN ones are reloaded into the timer on startup */
+	List<ExamAttempt> findByStatus(ExamAttempt.Status status);
+
+	/** 🔍 A user's open attempt at a quiz, if they have one */
+	Optional<ExamAttempt> findByUsernameAndQuizIdAndStatus(String username, int quizId, ExamAttempt.Status status);
+
+	/** 🧹 Open attempts whose deadline is before the cutoff, oldest first (uses the partial index on OPEN deadlines) */
+	@Query("SELECT a FROM ExamAttempt a WHERE a.status = com.example.demo.Model.ExamAttempt.Status.OPEN AND a.deadline < :cutoff ORDER BY a.deadline")
+	List<ExamAttempt> findOverdue(@Param("cutoff") Instant cutoff, Limit limit);
+
+	/** 💾 Save the answers so far (1 = saved, 0 = the attempt is no longer open) */
+	@Modifying
+	@Transactional
+	@Query("UPDATE ExamAttempt a SET a.answers = :answers WHERE a.id = :id AND a.status = com.example.demo.Model.ExamAttempt.Status.OPEN")
+	int saveAnswers(@Param("id") Long id, @Param("answers") List<Response> answers);
+
+	/** ✅ Hand in an open attempt (1 = submitted, 0 = it was already closed) */
+	@Modifying
+	@Transactional
+	@Query("UPDATE ExamAttempt a SET a.status = com.example.demo.Model.ExamAttempt.Status.SUBMITTED, a.answers = :answers, "
+			+ "a.score = :score, a.totalQuestions = :total, a.closedAt = :now "
+			+ "WHERE a.id = :id AND a.status = com.example.demo.Model.ExamAttempt.Status.OPEN")
+	int submit(@Param("id") Long id, @Param("answers") List<Response> answers, @Param("score") int score,
+			@Param("total") int total, @Param("now") Instant now);
+}
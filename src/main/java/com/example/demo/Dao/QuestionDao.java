@@ -1,20 +1,27 @@
 package com.example.demo.Dao;
 
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import com.example.demo.Model.Question;
 
+import jakarta.persistence.QueryHint;
+
 /**
  * 🗄️ QuestionDao - The Database Gateway for Questions!
  * 
  * This Data Access Object (DAO) interface is our bridge to the question database.
  * Think of it as a specialized librarian who knows exactly how to:
  * - Find questions by category 📚
- * - Pick random questions for quizzes 🎲
+ * - List the question IDs of a category (for random quiz picks) 🎲
  * - Get all unique categories available 📋
  * - Perform all basic CRUD operations (inherited from JpaRepository) ⚙️
  * 
@@ -27,6 +34,9 @@ import com.example.demo.Model.Question;
 @Repository
 public interface QuestionDao extends JpaRepository<Question, Integer> {
 	
+	/** 🗄️ Query cache region holding findByCategory results */
+	String QUESTIONS_BY_CATEGORY_REGION = "question-byCategory";
+	
 	/**
 	 * 🔍 Find All Questions in a Specific Category
 	 * 
@@ -34,21 +44,26 @@ public interface QuestionDao extends JpaRepository<Question, Integer> {
 	 * "findByCategory" becomes "SELECT * FROM question WHERE category = ?"
 	 * 
 	 * Example: findByCategory("Java") returns all Java questions
+	 * 
+	 * The result (a list of IDs) is kept in the "question-byCategory" query cache and the
+	 * questions themselves in the entity cache. Hibernate drops the cached lists whenever
+	 * the question table is written through JPA; the bulk importer evicts them itself.
 	 */
+	@QueryHints({
+		@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+		@QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUESTIONS_BY_CATEGORY_REGION)
+	})
 	List<Question> findByCategory(String category);
 	
 	/**
-	 * 🎲 Get Random Questions for Quiz Creation
-	 * 
-	 * This is where the magic happens! We use a native SQL query to:
-	 * 1. Filter questions by category
-	 * 2. Randomize the order (ORDER BY RANDOM())
-	 * 3. Limit the results to the number requested
+	 * 🎲 Get Every Question ID in a Category (sorted)
 	 * 
-	 * Perfect for creating diverse quizzes with different questions each time!
+	 * Feeds the in-memory QuestionIdIndex, which draws random quiz questions
+	 * without asking the database to shuffle the whole category every time.
+	 * Only the IDs are selected, so this stays light even for huge categories.
 	 */
-	@Query(value = "SELECT * FROM question q WHERE q.category = ?1 ORDER BY RANDOM() LIMIT ?2", nativeQuery = true)
-	List<Question> findRandomQuestionsByCategory(String category, int numQ);
+	@Query("SELECT q.id FROM Question q WHERE q.category = ?1 ORDER BY q.id")
+	List<Integer> findIdsByCategory(String category);
 	
 	/**
 	 * 📋 Get All Available Question Categories
@@ -57,7 +72,65 @@ public interface QuestionDao extends JpaRepository<Question, Integer> {
 	 * Like asking "What subjects do we cover?"
 	 * 
 	 * Example result: ["Java", "Python", "JavaScript", "React", "Spring Boot"]
+	 * 
+	 * Reads the small category_summary view instead of scanning every question
+	 * (it can lag a few seconds behind writes - see CategorySummaryRefresher).
 	 */
-	@Query(value = "SELECT DISTINCT category FROM question", nativeQuery = true)
+	@Query(value = "SELECT DISTINCT category FROM category_summary", nativeQuery = true)
 	List<String> findDistinctCategories();
+	
+	/**
+	 * 📄 Keyset Pagination - "Give Me the Next Page After Question #afterId"
+	 * 
+	 * Each method returns at most limit questions with an ID greater than afterId,
+	 * ordered by ID. Filtering on the ID (instead of OFFSET) means the database jumps
+	 * straight to the right spot, so memory and time per page stay the same no matter
+	 * how big the table is or how deep you page.
+	 * 
+	 * There's one method per filter combination so each query stays simple and index-friendly.
+	 */
+	List<Question> findByIdGreaterThanOrderByIdAsc(int afterId, Limit limit);
+	
+	List<Question> findByCategoryAndIdGreaterThanOrderByIdAsc(String category, int afterId, Limit limit);
+	
+	List<Question> findByDifficultylevelAndIdGreaterThanOrderByIdAsc(String difficultylevel, int afterId, Limit limit);
+	
+	List<Question> findByCategoryAndDifficultylevelAndIdGreaterThanOrderByIdAsc(String category, String difficultylevel, int afterId, Limit limit);
+	
+	/**
+	 * 🔄 Questions Added or Changed After a Change Version
+	 * 
+	 * Feeds the changes-since endpoint: at most limit rows, oldest change first,
+	 * straight off the change_version index. Bypasses the second-level cache like
+	 * the export - a client catching up shouldn't push the hot questions out.
+	 */
+	@QueryHints({
+		@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+		@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+	})
+	@Query("SELECT q FROM Question q WHERE q.change_version > ?1 ORDER BY q.change_version")
+	List<Question> findChangedSince(long version, Limit limit);
+	
+	/** 🔝 Highest change version of any question (0 for an empty bank) */
+	@Query("SELECT COALESCE(MAX(q.change_version), 0) FROM Question q")
+	long findLatestChangeVersion();
+	
+	/**
+	 * 🚰 Stream the Whole Bank, Row by Row
+	 * 
+	 * Used by the NDJSON export. Instead of loading every question into a List,
+	 * this reads through a forward-only database cursor, 500 rows per round trip,
+	 * and marks the entities read-only so Hibernate doesn't keep snapshots of them.
+	 * It also bypasses the second-level cache, so a full export doesn't flush out
+	 * the questions that are actually hot.
+	 * 
+	 * Must be called inside a transaction, and the Stream must be closed when done.
+	 */
+	@QueryHints({
+		@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+		@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+		@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+	})
+	@Query("SELECT q FROM Question q ORDER BY q.id")
+	Stream<Question> streamAllOrderedById();
 }
@@ -0,0 +1,29 @@
+package com.example.demo.Dao;
+
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.example.demo.Model.QuestionTombstone;
+
+/**
+ * 🪦 QuestionTombstoneDao - Which Questions Were Deleted, and When?
+ *
+ * The tombstones are written by a trigger on the question table; here we
+ * only read the ones newer than a client's version (an index range scan).
+ *
+ * @author KUNAL M
+ * @version 1.0
+ */
+@Repository
+public interface QuestionTombstoneDao extends JpaRepository<QuestionTombstone, Integer> {
+
+	List<QuestionTombstone> findByChangeVersionGreaterThanOrderByChangeVersionAsc(long version, Limit limit);
+
+	/** 🔝 Highest change version of any delete (0 if nothing was ever deleted) */
+	@Query("SELECT COALESCE(MAX(t.changeVersion), 0) FROM QuestionTombstone t")
+	long findLatestVersion();
+}
@@ -0,0 +1,20 @@
+package com.example.demo.Dao;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.example.demo.Model.QuizAttempt;
+
+/**
+ * 📝 QuizAttemptDao - The Database Gateway for Submitted Attempts!
+ * 
+ * Attempts are saved in batches by QuizAttemptWriter using the inherited saveAll().
+ * With hibernate.jdbc.batch_size and ordered inserts turned on, a batch of attempts
+ * (and their answers) goes to the database in a handful of JDBC batches.
+ * 
+ * @author KUNAL M
+ * @version 1.0
+ */
+@Repository
+public interface QuizAttemptDao extends JpaRepository<QuizAttempt, Long> {
+}
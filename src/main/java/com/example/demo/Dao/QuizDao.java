@@ -1,9 +1,15 @@
 package com.example.demo.Dao;
 
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.example.demo.Model.Quiz;
+import com.example.demo.Model.QuizSummary;
 
 /**
  * 🎯 QuizDao - The Database Gateway for Quizzes!
@@ -31,12 +37,47 @@ import com.example.demo.Model.Quiz;
 @Repository
 public interface QuizDao extends JpaRepository<Quiz, Integer> {
 	
-	// 🎭 This interface is intentionally simple!
-	// All the power comes from the inherited JpaRepository methods.
-	// If we needed custom queries (like finding quizzes by title or category),
-	// we would add them here with @Query annotations.
+	/**
+	 * 🔗 Which Quizzes Use This Question?
+	 * 
+	 * Reads the quiz_question join table directly, so no quiz is loaded.
+	 * Used to throw away cached quiz data when a question is edited or deleted.
+	 */
+	@Query(value = "SELECT quiz_id FROM quiz_question WHERE question_id = ?1", nativeQuery = true)
+	List<Integer> findQuizIdsByQuestionId(int questionId);
+	
+	/**
+	 * 🗒️ Every Quiz as a Lightweight Summary
+	 * 
+	 * One aggregate query over quiz + quiz_question + question: ID, title, question
+	 * count and the distinct categories, for all quizzes at once. Nothing is loaded
+	 * as an entity, so there are no lazy collections to trip over.
+	 */
+	@Query(value = "SELECT q.id AS id, q.title AS title, count(qq.question_id) AS questionCount, "
+			+ "array_remove(array_agg(DISTINCT qs.category ORDER BY qs.category), NULL) AS categories, "
+			+ "q.time_limit_seconds AS timeLimitSeconds "
+			+ "FROM quiz q "
+			+ "LEFT JOIN quiz_question qq ON qq.quiz_id = q.id "
+			+ "LEFT JOIN question qs ON qs.id = qq.question_id "
+			+ "GROUP BY q.id, q.title, q.time_limit_seconds ORDER BY q.id", nativeQuery = true)
+	List<QuizSummary> findAllSummaries();
+	
+	/**
+	 * 🎯 One Quiz Together With Its Questions
+	 * 
+	 * Same as findById, but the questions come back in the same query (a join)
+	 * instead of a second SELECT when the lazy list is first touched.
+	 */
+	@EntityGraph(attributePaths = "questions")
+	Optional<Quiz> findWithQuestionsById(int id);
 	
-	// Example of what we could add if needed:
-	// List<Quiz> findByTitle(String title);
-	// List<Quiz> findByTitleContaining(String keyword);
+	/**
+	 * 📚 Every Quiz Together With Its Questions
+	 * 
+	 * For the admin view of all quizzes: one joined query instead of
+	 * one query for the quizzes plus one more per quiz (the N+1 problem).
+	 */
+	@EntityGraph(attributePaths = "questions")
+	@Query("SELECT q FROM Quiz q ORDER BY q.id")
+	List<Quiz> findAllWithQuestions();
 }
@@ -0,0 +1,54 @@
+package com.example.demo.Model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * 💬 AttemptAnswer Entity - A Single Answer Inside an Attempt!
+ * 
+ * Records what the user picked for one question and whether it was right.
+ * Like QuizAttempt, IDs come from a pooled sequence so inserts can be batched.
+ * 
+ * @author KUNAL M
+ * @version 1.0
+ */
+@Data
+@Entity
+@Table(name = "attempt_answer")
+public class AttemptAnswer {
+	
+	/** 🆔 Unique identifier for each answer */
+	@Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "attempt_answer_seq")
+	@SequenceGenerator(name = "attempt_answer_seq", sequenceName = "attempt_answer_seq", allocationSize = 50)
+	private Long id;
+	
+	/** 📝 The attempt this answer belongs to */
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "attempt_id")
+	@ToString.Exclude
+	@EqualsAndHashCode.Exclude
+	private QuizAttempt attempt;
+	
+	/** ❓ Which question was answered */
+	private int questionId;
+	
+	/** 💬 The answer text the user sent (may be empty) */
+	private String response;
+	
+	/** 🔢 The option number the user picked, if their client sent it */
+	private Integer selectedOption;
+	
+	/** ✅ Was it right? */
+	private boolean correct;
+}
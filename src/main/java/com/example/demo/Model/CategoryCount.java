@@ -0,0 +1,36 @@
+package com.example.demo.Model;
+
+import java.util.Map;
+
+import lombok.Data;
+
+/**
+ * 📊 CategoryCount - How Many Questions Does a Category Have?
+ *
+ * One entry of the category catalog: the category name, its total number
+ * of questions, and how those split across difficulty levels.
+ *
+ * Example:
+ * { "category": "Java", "total": 42, "byDifficulty": { "EASY": 20, "HARD": 7, "MEDIUM": 15 } }
+ *
+ * @author KUNAL M
+ * @version 1.0
+ */
+@Data
+public class CategoryCount {
+
+	/** 📚 The category name (Java, Python, ...) */
+	private String category;
+
+	/** 🔢 Questions in this category, all difficulties together */
+	private long total;
+
+	/** 📊 Questions per difficulty level (sorted by level name) */
+	private Map<String, Long> byDifficulty;
+
+	public CategoryCount(String category, long total, Map<String, Long> byDifficulty) {
+		this.category = category;
+		this.total = total;
+		this.byDifficulty = byDifficulty;
+	}
+}
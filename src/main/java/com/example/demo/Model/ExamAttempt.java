@@ -0,0 +1,74 @@
+package com.example.demo.Model;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * ⏱️ ExamAttempt Entity - A Quiz Taken Against the Clock!
+ *
+ * Created when a user starts a timed attempt. The server writes down the
+ * deadline right away, so the time limit can't be stretched by the client:
+ * - OPEN: the clock is running, answers can be saved and submitted ⏳
+ * - SUBMITTED: handed in before the deadline ✅
+ * - EXPIRED: the deadline passed - closed and scored with the answers saved so far ⌛
+ *
+ * The answers saved while the attempt is open are kept as JSON, so an attempt
+ * that runs out of time (even across a restart) is still scored on them.
+ *
+ * @author KUNAL M
+ * @version 1.0
+ */
+@Data
+@Entity
+@Table(name = "exam_attempt")
+public class ExamAttempt {
+
+	/** 🚦 Where an attempt is in its life */
+	public enum Status { OPEN, SUBMITTED, EXPIRED }
+
+	/** 🆔 Unique identifier for each attempt */
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	/** 🎯 Which quiz is being taken */
+	private int quizId;
+
+	/** 👤 Who is taking it */
+	private String username;
+
+	/** 🏁 When the attempt started */
+	private Instant startedAt;
+
+	/** ⏰ When it closes - set by the server at start */
+	private Instant deadline;
+
+	/** 🚦 OPEN, SUBMITTED or EXPIRED */
+	@Enumerated(EnumType.STRING)
+	private Status status;
+
+	/** 💬 Latest answers (saved while open, final once closed) */
+	@JdbcTypeCode(SqlTypes.JSON)
+	private List<Response> answers;
+
+	/** ✅ How many were right (once closed) */
+	private Integer score;
+
+	/** 🔢 How many questions the quiz had */
+	private Integer totalQuestions;
+
+	/** 🔒 When it was submitted or expired */
+	private Instant closedAt;
+}
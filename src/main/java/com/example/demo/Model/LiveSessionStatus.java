@@ -0,0 +1,51 @@
+package com.example.demo.Model;
+
+import lombok.Data;
+
+/**
+ * 🎤 LiveSessionStatus - The Host's View of a Live Quiz Session!
+ *
+ * Returned when a host starts a session and by GET /admin/live/{code}:
+ * - code: what participants use to join 🎟️
+ * - question: number of the question asked last (0 = none yet) ❓
+ * - open: that question is still accepting answers ⏳
+ * - participants: how many are connected right now 👥
+ * - answered: how many answered the current question 🙋
+ *
+ * @author KUNAL M
+ * @version 1.0
+ */
+@Data
+public class LiveSessionStatus {
+
+	/** 🎟️ Join code */
+	private String code;
+
+	/** 🎯 The quiz being played */
+	private int quizId;
+
+	/** ❓ Current question number (1-based, 0 before the first) */
+	private int question;
+
+	/** 🔢 Questions in the quiz */
+	private int total;
+
+	/** ⏳ Is the current question still open? */
+	private boolean open;
+
+	/** 👥 Connected participants */
+	private int participants;
+
+	/** 🙋 Answers to the current question */
+	private int answered;
+
+	public LiveSessionStatus(String code, int quizId, int question, int total, boolean open, int participants, int answered) {
+		this.code = code;
+		this.quizId = quizId;
+		this.question = question;
+		this.total = total;
+		this.open = open;
+		this.participants = participants;
+		this.answered = answered;
+	}
+}
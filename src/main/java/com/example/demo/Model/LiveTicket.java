@@ -0,0 +1,29 @@
+package com.example.demo.Model;
+
+import lombok.Data;
+
+/**
+ * 🎫 LiveTicket - A Pass to a Live Session's Event Stream!
+ *
+ * Returned by POST /user/live/{code}/ticket, for clients that can't send an
+ * Authorization header with the stream request (a browser's EventSource):
+ * - ticket: add it as ?ticket=... to /user/live/{code}/events 🎟️
+ * - expiresInSeconds: open the stream before then; get a new ticket to reconnect later ⏳
+ *
+ * @author KUNAL M
+ * @version 1.0
+ */
+@Data
+public class LiveTicket {
+
+	/** 🎟️ Opaque, signed, only good for one session */
+	private String ticket;
+
+	/** ⏳ How long it can be used to open the stream */
+	private long expiresInSeconds;
+
+	public LiveTicket(String ticket, long expiresInSeconds) {
+		this.ticket = ticket;
+		this.expiresInSeconds = expiresInSeconds;
+	}
+}
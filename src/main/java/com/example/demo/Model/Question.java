@@ -1,5 +1,12 @@
 package com.example.demo.Model;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -21,12 +28,16 @@ import lombok.Data;
  * 
  * The @Entity annotation tells Spring "Hey, save this to the database!"
  * The @Data annotation from Lombok automatically creates getters/setters for us.
+ * @Cache keeps recently read questions in Hibernate's second-level cache, so most
+ * lookups by ID never reach PostgreSQL.
  * 
  * @author KUNAL M
  * @version 1.0
  */
 @Data
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "question")
 public class Question {
 	
 	/** 🆔 Unique identifier for each question - like a question's fingerprint! */
@@ -58,6 +69,15 @@ public class Question {
 	/** 📚 What subject does this question belong to? (Java/Python/etc.) */
 	private String category;
 	
+	/**
+	 * 🔢 Change version - stamped by a database trigger on every insert and update
+	 * (see V5__question_change_versions.sql). Never written by the app, and not part
+	 * of the question's JSON; the changes-since endpoint reports it per page instead.
+	 */
+	@JsonIgnore
+	@Column(insertable = false, updatable = false)
+	private long change_version;
+	
 	// 🔧 Getters and Setters (automatically generated by @Data, but included for clarity)
 	
 	public int getId() {
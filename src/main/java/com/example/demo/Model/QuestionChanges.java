@@ -0,0 +1,48 @@
+package com.example.demo.Model;
+
+import java.util.List;
+
+import lombok.Data;
+
+/**
+ * 🔄 QuestionChanges - Everything That Changed Since Your Last Visit!
+ * 
+ * The answer to GET /admin/question/changes-since?version=N:
+ * - changed: questions added or updated after version N (full rows) ✏️
+ * - deleted: IDs of questions deleted after version N 🗑️
+ * - version: what to send as ?version= next time 🔢
+ * - more: true if there are further changes - ask again right away ➡️
+ * - reset: true if N is newer than anything the server knows (e.g. the database
+ *   was rebuilt) - throw away the local copy and sync from version 0 ♻️
+ * 
+ * Start with version 0 to get the whole bank, page by page.
+ * 
+ * @author KUNAL M
+ * @version 1.0
+ */
+@Data
+public class QuestionChanges {
+	
+	/** 🔢 The version this response brings the client up to */
+	private long version;
+	
+	/** ✏️ Added or updated questions, oldest change first */
+	private List<Question> changed;
+	
+	/** 🗑️ IDs of deleted questions */
+	private List<Integer> deleted;
+	
+	/** ➡️ More changes are waiting */
+	private boolean more;
+	
+	/** ♻️ The client's version is unknown here - start over from 0 */
+	private boolean reset;
+	
+	public QuestionChanges(long version, List<Question> changed, List<Integer> deleted, boolean more, boolean reset) {
+		this.version = version;
+		this.changed = changed;
+		this.deleted = deleted;
+		this.more = more;
+		this.reset = reset;
+	}
+}
@@ -0,0 +1,52 @@
+package com.example.demo.Model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+
+/**
+ * 📥 QuestionImportResult - The Receipt for a Bulk Import!
+ *
+ * Tells the admin how a bulk import went: how many rows were read, how many
+ * made it into the question bank, and which rows were rejected (and why).
+ *
+ * Only the first few hundred errors are listed so a completely broken file
+ * can't produce a giant response - failedRows always has the full count.
+ *
+ * @author KUNAL M
+ * @version 1.0
+ */
+@Data
+public class QuestionImportResult {
+
+	/** 📄 Rows read from the upload (blank lines don't count) */
+	private long totalRows;
+
+	/** ✅ Rows saved as new questions */
+	private long importedRows;
+
+	/** ❌ Rows that were rejected */
+	private long failedRows;
+
+	/** 📝 What went wrong, row by row (capped) */
+	private List<RowError> errors = new ArrayList<>();
+
+	/**
+	 * ❌ One rejected row - the line number in the upload and the reason
+	 */
+	@Data
+	public static class RowError {
+
+		/** 🔢 Line number in the uploaded file (1 = first line) */
+		private long line;
+
+		/** 💬 Why the row was rejected */
+		private String message;
+
+		public RowError(long line, String message) {
+			this.line = line;
+			this.message = message;
+		}
+	}
+}
@@ -0,0 +1,34 @@
+package com.example.demo.Model;
+
+import java.util.List;
+
+import lombok.Data;
+
+/**
+ * 📄 QuestionPage - One Page of the Question Bank!
+ * 
+ * Instead of sending the whole bank in one giant response, the paginated
+ * listing returns a page of questions plus a "nextCursor" token.
+ * Send that token back as ?cursor=... to get the following page.
+ * When nextCursor is null, you've reached the end. 🏁
+ * 
+ * The cursor simply remembers the last question ID we sent (keyset pagination),
+ * so every page is a quick index lookup - page 1,000 is as cheap as page 1.
+ * 
+ * @author KUNAL M
+ * @version 1.0
+ */
+@Data
+public class QuestionPage {
+	
+	/** 📚 The questions on this page, ordered by ID */
+	private List<Question> items;
+	
+	/** ➡️ Token for the next page, or null if this is the last one */
+	private String nextCursor;
+	
+	public QuestionPage(List<Question> items, String nextCursor) {
+		this.items = items;
+		this.nextCursor = nextCursor;
+	}
+}
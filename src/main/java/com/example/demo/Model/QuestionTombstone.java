@@ -0,0 +1,39 @@
+package com.example.demo.Model;
+
+import java.time.Instant;
+
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * 🪦 QuestionTombstone - "This Question Used to Exist"
+ *
+ * Written by a database trigger whenever a question is deleted, with the
+ * next change version. Lets the changes-since endpoint tell clients which
+ * questions to drop, instead of making them reload the whole bank.
+ *
+ * The app only reads these rows.
+ *
+ * @author KUNAL M
+ * @version 1.0
+ */
+@Data
+@Entity
+@Immutable
+@Table(name = "question_tombstone")
+public class QuestionTombstone {
+
+	/** 🆔 ID of the deleted question */
+	@Id
+	private int questionId;
+
+	/** 🔢 Change version of the delete */
+	private long changeVersion;
+
+	/** ⏰ When it was deleted */
+	private Instant deletedAt;
+}
@@ -112,4 +112,12 @@ public class QuestionWrapper {
 		this.option3 = option3;
 		this.option4 = option4;
 	}
+	
+	/**
+	 * 🎭 Build the quiz-safe version of a Question (everything except the answer)
+	 */
+	public static QuestionWrapper from(Question q) {
+		return new QuestionWrapper(q.getId(), q.getQuestion_title(), 
+			q.getOption1(), q.getOption2(), q.getOption3(), q.getOption4());
+	}
 }
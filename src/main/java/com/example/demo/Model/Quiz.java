@@ -1,6 +1,11 @@
 package com.example.demo.Model;
 
 import java.util.List;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -31,6 +36,8 @@ import jakarta.persistence.ManyToMany;
  */
 @Entity
 @Data
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "quiz")
 public class Quiz {
 	
 	/** 🆔 Unique identifier for each quiz - like a quiz's ID card! */
@@ -41,6 +48,12 @@ public class Quiz {
 	/** 📝 The name/title of the quiz (e.g., "Java Expert Challenge") */
 	private String title; 
 
+	/**
+	 * ⏱️ Time limit in seconds, or null for an untimed quiz.
+	 * Timed quizzes are taken through exam attempts (/user/exam), which the server closes at the deadline.
+	 */
+	private Integer timeLimitSeconds;
+
 	/**
 	 * 📚 The collection of questions that make up this quiz
 	 * 
@@ -48,8 +61,12 @@ public class Quiz {
 	 * - This quiz can contain multiple questions
 	 * - Same questions can appear in different quizzes
 	 * - Database automatically manages the relationship through "quiz_question" table
+	 * 
+	 * The list of question IDs is kept in the second-level cache too ("quiz-questions"),
+	 * so a cached quiz can be rebuilt without touching the database.
 	 */
     @ManyToMany
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "quiz-questions")
     @JoinTable(
             name = "quiz_question",
             joinColumns = @JoinColumn(name = "quiz_id"),
@@ -75,6 +92,14 @@ public class Quiz {
 		this.title = title;
 	}
 	
+	public Integer getTimeLimitSeconds() {
+		return timeLimitSeconds;
+	}
+	
+	public void setTimeLimitSeconds(Integer timeLimitSeconds) {
+		this.timeLimitSeconds = timeLimitSeconds;
+	}
+	
 	public List<Question> getQuestions() {
 		return questions;
 	}
@@ -0,0 +1,72 @@
+package com.example.demo.Model;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.persistence.CascadeType;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * 📝 QuizAttempt Entity - One Submitted Answer Sheet!
+ * 
+ * Every time a user submits a quiz we keep a record of it:
+ * who took which quiz, when, and how well they did.
+ * The individual answers hang off it as AttemptAnswer rows.
+ * 
+ * Attempts are written in the background in JDBC batches (see QuizAttemptWriter),
+ * so the IDs come from a sequence that hands out blocks of 50 - with IDENTITY,
+ * Hibernate would have to insert rows one at a time to learn each ID.
+ * 
+ * @author KUNAL M
+ * @version 1.0
+ */
+@Data
+@Entity
+@Table(name = "quiz_attempt")
+public class QuizAttempt {
+	
+	/** 🆔 Unique identifier for each attempt */
+	@Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "quiz_attempt_seq")
+	@SequenceGenerator(name = "quiz_attempt_seq", sequenceName = "quiz_attempt_seq", allocationSize = 50)
+	private Long id;
+	
+	/** 🎯 Which quiz was taken */
+	private int quizId;
+	
+	/** 👤 Who took it */
+	private String username;
+	
+	/** ✅ How many questions they got right */
+	private int score;
+	
+	/** 🔢 How many questions the quiz had */
+	private int totalQuestions;
+	
+	/** ⏰ When the answers were submitted */
+	private Instant submittedAt;
+	
+	/** 💬 The individual answers - saved together with the attempt */
+	@OneToMany(mappedBy = "attempt", cascade = CascadeType.ALL)
+	@ToString.Exclude
+	@EqualsAndHashCode.Exclude
+	private List<AttemptAnswer> answers = new ArrayList<>();
+	
+	/**
+	 * ➕ Add an answer and link it back to this attempt
+	 */
+	public void addAnswer(AttemptAnswer answer) {
+		answer.setAttempt(this);
+		answers.add(answer);
+	}
+}
@@ -0,0 +1,33 @@
+package com.example.demo.Model;
+
+/**
+ * 🗒️ QuizSummary - A Quiz at a Glance!
+ *
+ * What the "Choose Your Quiz" page needs, and nothing more: the quiz's ID,
+ * title, how many questions it has, which categories they come from and its
+ * time limit (if it's timed).
+ * No questions (and so no right answers!) are ever sent.
+ *
+ * This is a Spring Data projection - QuizDao.findAllSummaries() fills it straight
+ * from one aggregate query, so listing any number of quizzes is a single round trip.
+ *
+ * @author KUNAL M
+ * @version 1.0
+ */
+public interface QuizSummary {
+
+	/** 🆔 The quiz ID (use it with /user/quiz/get/{id}) */
+	int getId();
+
+	/** 📝 The quiz title */
+	String getTitle();
+
+	/** 🔢 How many questions the quiz has */
+	long getQuestionCount();
+
+	/** 📚 The categories of its questions, sorted */
+	String[] getCategories();
+
+	/** ⏱️ Time limit in seconds, or null if the quiz isn't timed */
+	Integer getTimeLimitSeconds();
+}
@@ -31,6 +31,12 @@ public class Response {
 	/** 💬 The user's chosen answer (e.g., "option1", "option2", etc.) */
 	private String response;
 	
+	/**
+	 * 🔢 The chosen option number (1-4), if the client sends it.
+	 * Grading by number is a simple byte compare; when it's missing we fall back to the text above.
+	 */
+	private Integer option;
+	
 	/**
 	 * 🏗️ Default constructor - creates an empty response
 	 * Perfect for when we're initializing response objects!
@@ -57,4 +63,12 @@ public class Response {
 	public void setResponse(String response) {
 		this.response = response;
 	}
+	
+	public Integer getOption() {
+		return option;
+	}
+	
+	public void setOption(Integer option) {
+		this.option = option;
+	}
 }
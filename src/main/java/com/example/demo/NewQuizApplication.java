@@ -2,6 +2,7 @@ package com.example.demo;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * 🚀 Quiz Application - Main Entry Point
@@ -12,6 +13,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * - Database connections (PostgreSQL)
  * - Security layer (JWT authentication)
  * - REST API endpoints
+ * - Scheduled housekeeping jobs (e.g. refreshing the category summary)
  * 
  * Think of this as the "ignition key" that starts our quiz engine!
  * 
@@ -20,6 +22,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * @since 2025
  */
 @SpringBootApplication
+@EnableScheduling
 public class NewQuizApplication {
 
 	/**
@@ -0,0 +1,162 @@
+package com.example.demo.Service;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.example.demo.Model.Question;
+import com.example.demo.Model.Response;
+
+/**
+ * 🔑 AnswerKey - The Teacher's Answer Sheet, Squeezed Into Three Arrays!
+ *
+ * Grading used to load the whole Quiz graph and compare right_answer strings
+ * for every submission. An AnswerKey is built once per quiz and then only holds:
+ * - questionIds: the quiz's question IDs, sorted, so a response is found by binary search 🔍
+ * - correctOption: which option (1-4) is right for each question, one byte each ✅
+ * - correctText: the right answer text, only for older clients that send text instead of an option number 💬
+ *
+ * Responses are matched by question ID (not by their position in the list), and
+ * each question counts at most once - sending the same right answer twice won't help!
+ *
+ * The key is immutable, so any number of threads can grade against it at once.
+ *
+ * @author KUNAL M
+ * @version 1.0
+ */
+public final class AnswerKey {
+
+	/** 🆔 Question IDs of the quiz, sorted ascending */
+	private final int[] questionIds;
+
+	/** ✅ Correct option number (1-4) per question, or 0 if right_answer matches none of the options */
+	private final byte[] correctOption;
+
+	/** 💬 Correct answer text per question (fallback for text-only responses) */
+	private final String[] correctText;
+
+	/** ⏱️ The quiz's time limit in seconds, or null if it isn't timed */
+	private final Integer timeLimitSeconds;
+
+	private AnswerKey(int[] questionIds, byte[] correctOption, String[] correctText, Integer timeLimitSeconds) {
+		this.questionIds = questionIds;
+		this.correctOption = correctOption;
+		this.correctText = correctText;
+		this.timeLimitSeconds = timeLimitSeconds;
+	}
+
+	/** 🏗️ Build the key for an untimed quiz */
+	public static AnswerKey of(List<Question> questions) {
+		return of(questions, null);
+	}
+
+	/**
+	 * 🏗️ Build the key from a quiz's questions and time limit (null = untimed)
+	 *
+	 * All the string work (finding which option holds the right answer) happens here, once.
+	 */
+	public static AnswerKey of(List<Question> questions, Integer timeLimitSeconds) {
+		Question[] sorted = questions.toArray(new Question[0]);
+		Arrays.sort(sorted, (a, b) -> Integer.compare(a.getId(), b.getId()));
+
+		int[] ids = new int[sorted.length];
+		byte[] options = new byte[sorted.length];
+		String[] texts = new String[sorted.length];
+		for (int i = 0; i < sorted.length; i++) {
+			Question q = sorted[i];
+			ids[i] = q.getId();
+			options[i] = optionOf(q);
+			texts[i] = q.getRight_answer();
+		}
+		return new AnswerKey(ids, options, texts, timeLimitSeconds);
+	}
+
+	/** 🔢 How many questions does this quiz have? */
+	public int size() {
+		return questionIds.length;
+	}
+
+	/** ⏱️ Time limit in seconds, or null if the quiz isn't timed */
+	public Integer timeLimitSeconds() {
+		return timeLimitSeconds;
+	}
+
+	/** 🆔 Is this question part of the quiz? */
+	public boolean contains(int questionId) {
+		return Arrays.binarySearch(questionIds, questionId) >= 0;
+	}
+
+	/** ✅ Is this single response correct? (false for questions that aren't in the quiz) */
+	public boolean isCorrect(Response response) {
+		int pos = Arrays.binarySearch(questionIds, response.getId());
+		return pos >= 0 && isCorrectAt(pos, response);
+	}
+
+	/** 🎯 The correct option number (1-4) of a question, or 0 if it isn't in the quiz or has no matching option */
+	public int correctOption(int questionId) {
+		int pos = Arrays.binarySearch(questionIds, questionId);
+		return pos >= 0 ? correctOption[pos] : 0;
+	}
+
+	/**
+	 * 📊 Grade a Submission
+	 *
+	 * Walks the responses once: binary search for the question, then a byte compare
+	 * against the option number. Responses for questions outside the quiz are ignored,
+	 * and repeats of the same question only count the first time.
+	 * The only allocation is a small bitmap for quizzes with more than 64 questions.
+	 */
+	public int score(List<Response> responses) {
+		long seen = 0L;
+		long[] seenLarge = questionIds.length > 64 ? new long[(questionIds.length + 63) >>> 6] : null;
+		int right = 0;
+		for (int i = 0, n = responses.size(); i < n; i++) {
+			Response response = responses.get(i);
+			int pos = Arrays.binarySearch(questionIds, response.getId());
+			if (pos < 0) {
+				continue;
+			}
+			if (seenLarge == null) {
+				long bit = 1L << pos;
+				if ((seen & bit) != 0) {
+					continue;
+				}
+				seen |= bit;
+			} else {
+				long bit = 1L << (pos & 63);
+				if ((seenLarge[pos >>> 6] & bit) != 0) {
+					continue;
+				}
+				seenLarge[pos >>> 6] |= bit;
+			}
+			if (isCorrectAt(pos, response)) {
+				right++;
+			}
+		}
+		return right;
+	}
+
+	/**
+	 * Clients that send the option number are graded with a byte compare.
+	 * Older clients only send the answer text, so for them we compare against the stored text.
+	 */
+	private boolean isCorrectAt(int pos, Response response) {
+		Integer option = response.getOption();
+		if (option != null) {
+			return correctOption[pos] != 0 && option == correctOption[pos];
+		}
+		String text = response.getResponse();
+		return text != null && text.equals(correctText[pos]);
+	}
+
+	private static byte optionOf(Question q) {
+		String answer = q.getRight_answer();
+		if (answer == null) {
+			return 0;
+		}
+		if (answer.equals(q.getOption1())) return 1;
+		if (answer.equals(q.getOption2())) return 2;
+		if (answer.equals(q.getOption3())) return 3;
+		if (answer.equals(q.getOption4())) return 4;
+		return 0;
+	}
+}
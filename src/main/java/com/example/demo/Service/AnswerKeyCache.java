@@ -0,0 +1,48 @@
+package com.example.demo.Service;
+
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 🗝️ AnswerKeyCache - One Answer Sheet per Quiz, Built Once!
+ *
+ * Keeps the compact AnswerKey of each quiz in memory so grading a submission
+ * never has to load the quiz from the database. Works just like QuizPaperCache:
+ * read-through, size-bounded, and evicted whenever the quiz or one of its
+ * questions changes. Stats are exported as the "answerKeys" cache metrics.
+ *
+ * @author KUNAL M
+ * @version 1.0
+ */
+@Component
+public class AnswerKeyCache {
+
+	/** 🔑 quiz ID -> answer key */
+	private final ReadThroughCache<Integer, AnswerKey> keys;
+
+	public AnswerKeyCache(@Value("${quiz.answer-key-cache.max-size:1000}") long maxSize, MeterRegistry meterRegistry) {
+		this.keys = new ReadThroughCache<>("answerKeys", maxSize, meterRegistry);
+	}
+
+	/**
+	 * 🔑 Get a quiz's answer key, building it on a miss
+	 * (returns null, and caches nothing, if the loader can't find the quiz)
+	 */
+	public AnswerKey get(int quizId, Function<Integer, AnswerKey> loader) {
+		return keys.get(quizId, loader);
+	}
+
+	/** 🗑️ Forget one quiz's key */
+	public void evict(int quizId) {
+		keys.evict(quizId);
+	}
+
+	/** 🧹 Forget every key */
+	public void evictAll() {
+		keys.evictAll();
+	}
+}
@@ -0,0 +1,159 @@
+package com.example.demo.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.Model.CategoryCount;
+import com.example.demo.Model.Question;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * 📒 CategoryCatalog - Every Category and Its Question Count, Always in Memory!
+ *
+ * The frontend asks for the category list on every page load, and creating a quiz
+ * needs to know whether a category has enough questions. Instead of asking the
+ * database each time, this catalog keeps the counts per category and difficulty:
+ *
+ * - Loaded once at startup from the category_summary view (refreshed first) 📥
+ * - Kept up to date by QuestionService and the bulk importer on every write ✏️
+ * - Read without any locking: readers get a ready-made, immutable snapshot ⚡
+ *
+ * Writes are rare admin operations, so each write simply builds a new snapshot
+ * (copy-on-write). Reads are a single volatile field access.
+ *
+ * Note: like QuestionIdIndex, rows changed straight in the database (e.g. with psql)
+ * are only picked up on restart.
+ *
+ * @author KUNAL M
+ * @version 1.0
+ */
+@Component
+public class CategoryCatalog {
+
+	/** 🏷️ Used for questions that have no difficulty level set */
+	static final String NO_DIFFICULTY = "UNSPECIFIED";
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	/** ✏️ category -> difficulty -> count; only touched while holding the lock on this */
+	private final Map<String, Map<String, Long>> counts = new HashMap<>();
+
+	/** 📸 What readers see - replaced (never modified) after every change */
+	private volatile Snapshot snapshot = Snapshot.of(Map.of());
+
+	/**
+	 * 📥 Load the counts when the app starts
+	 */
+	@PostConstruct
+	void load() {
+		jdbcTemplate.execute("REFRESH MATERIALIZED VIEW category_summary");
+		synchronized (this) {
+			counts.clear();
+			jdbcTemplate.query("SELECT category, difficultylevel, question_count FROM category_summary", rs -> {
+				apply(rs.getString(1), rs.getString(2), rs.getLong(3));
+			});
+			publish();
+		}
+	}
+
+	/** 📋 All category names, sorted */
+	public List<String> categories() {
+		return snapshot.categories;
+	}
+
+	/** 📊 Every category with its counts, sorted by name */
+	public List<CategoryCount> counts() {
+		return snapshot.counts;
+	}
+
+	/** 🔢 How many questions a category has (0 if it doesn't exist) */
+	public long count(String category) {
+		Long total = category == null ? null : snapshot.totals.get(category);
+		return total == null ? 0 : total;
+	}
+
+	/** ➕ A question was saved */
+	public synchronized void added(Question q) {
+		apply(q.getCategory(), q.getDifficultylevel(), 1);
+		publish();
+	}
+
+	/** ➕ A whole batch of questions was imported */
+	public synchronized void addedAll(List<Question> questions) {
+		for (Question q : questions) {
+			apply(q.getCategory(), q.getDifficultylevel(), 1);
+		}
+		publish();
+	}
+
+	/** 🗑️ A question was deleted */
+	public synchronized void removed(Question q) {
+		apply(q.getCategory(), q.getDifficultylevel(), -1);
+		publish();
+	}
+
+	/** 🔀 A question was updated (its category or difficulty may have changed) */
+	public synchronized void moved(String oldCategory, String oldDifficulty, String newCategory, String newDifficulty) {
+		apply(oldCategory, oldDifficulty, -1);
+		apply(newCategory, newDifficulty, 1);
+		publish();
+	}
+
+	private void apply(String category, String difficulty, long delta) {
+		if (category == null) {
+			return;
+		}
+		Map<String, Long> byDifficulty = counts.computeIfAbsent(category, c -> new HashMap<>());
+		byDifficulty.merge(difficulty == null ? NO_DIFFICULTY : difficulty, delta, Long::sum);
+		byDifficulty.values().removeIf(n -> n <= 0);
+		if (byDifficulty.isEmpty()) {
+			counts.remove(category);
+		}
+	}
+
+	private void publish() {
+		snapshot = Snapshot.of(counts);
+	}
+
+	/**
+	 * 📸 An immutable copy of the catalog, with the answers readers need pre-built
+	 */
+	private static final class Snapshot {
+
+		private final List<String> categories;
+		private final List<CategoryCount> counts;
+		private final Map<String, Long> totals;
+
+		private Snapshot(List<String> categories, List<CategoryCount> counts, Map<String, Long> totals) {
+			this.categories = categories;
+			this.counts = counts;
+			this.totals = totals;
+		}
+
+		static Snapshot of(Map<String, Map<String, Long>> source) {
+			List<String> categories = new ArrayList<>(new TreeMap<>(source).keySet());
+			List<CategoryCount> counts = new ArrayList<>(categories.size());
+			Map<String, Long> totals = new HashMap<>();
+			for (String category : categories) {
+				Map<String, Long> byDifficulty = new TreeMap<>(source.get(category));
+				long total = 0;
+				for (long n : byDifficulty.values()) {
+					total += n;
+				}
+				counts.add(new CategoryCount(category, total, Collections.unmodifiableMap(byDifficulty)));
+				totals.put(category, total);
+			}
+			return new Snapshot(List.copyOf(categories), List.copyOf(counts), Map.copyOf(totals));
+		}
+	}
+}
@@ -0,0 +1,56 @@
+package com.example.demo.Service;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 🔄 CategorySummaryRefresher - Keeps the Category Summary Up to Date!
+ *
+ * The category_summary materialized view (see the V2 migration) holds the number
+ * of questions per category and difficulty, so listing categories doesn't have to
+ * scan the whole question table. A materialized view is a snapshot though, so it
+ * has to be refreshed after questions change.
+ *
+ * Refreshing after every single write would be wasteful (a bulk import writes
+ * thousands of rows), so writers just mark the summary as stale and a scheduled
+ * job refreshes it at most once per interval (question.category-summary.refresh-ms).
+ * CONCURRENTLY means readers keep seeing the old snapshot while the new one is built.
+ *
+ * Note: rows changed straight in the database (e.g. with psql) are only picked up
+ * at the next refresh triggered by the app.
+ *
+ * @author KUNAL M
+ * @version 1.0
+ */
+@Component
+public class CategorySummaryRefresher {
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	/** 🚩 Set when questions changed since the last refresh */
+	private final AtomicBoolean stale = new AtomicBoolean();
+
+	/** 🚩 Questions were added, changed or deleted - refresh on the next run */
+	public void markStale() {
+		stale.set(true);
+	}
+
+	/** ⏰ Refresh the view if anything changed since last time */
+	@Scheduled(fixedDelayString = "${question.category-summary.refresh-ms:5000}")
+	public void refreshIfStale() {
+		if (!stale.getAndSet(false)) {
+			return;
+		}
+		try {
+			jdbcTemplate.execute("REFRESH MATERIALIZED VIEW CONCURRENTLY category_summary");
+		} catch (Exception e) {
+			stale.set(true); // try again next time
+			e.printStackTrace();
+		}
+	}
+}
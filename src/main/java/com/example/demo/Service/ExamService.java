@@ -0,0 +1,499 @@
+package com.example.demo.Service;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.example.demo.Dao.ExamAttemptDao;
+import com.example.demo.Model.ExamAttempt;
+import com.example.demo.Model.QuestionWrapper;
+import com.example.demo.Model.Response;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * ⏱️ ExamService - Pens Down When the Time Is Up!
+ *
+ * A timed quiz is taken as an exam attempt:
+ * 1. The user starts an attempt; the server writes down the deadline 🏁
+ * 2. While it's open they can save their answers as they go 💾
+ * 3. They submit before the deadline and get their score ✅
+ * 4. Or the deadline passes, and the server closes the attempt itself,
+ *    scoring whatever answers were saved ⌛
+ *
+ * Open attempts are kept in memory (ID -> deadline), each with a timer on one
+ * shared TimingWheel - 100k open attempts cost 100k small objects, not 100k
+ * threads or heap-ordered scheduler entries. One "exam-timer" thread moves the
+ * wheel every tick and closes the attempts that came due, in JDBC batches.
+ *
+ * Late submissions are turned away from memory alone - no database query, no grading:
+ * attempts in the map by their deadline, and attempts that closed here (or were seen
+ * closed) by a bounded set of recently closed IDs (quiz.exam.closed-cache-size).
+ * Only an attempt this node knows nothing about costs a lookup by ID. On startup every OPEN attempt is loaded back into
+ * the wheel; the ones whose deadline passed while we were down close on the first tick.
+ *
+ * A small grace period (quiz.exam.grace-ms) absorbs network delay: a submission
+ * sent just before the deadline still counts if it arrives within it.
+ *
+ * With several backends the exam_attempt row is the referee 🏛️:
+ * - An attempt started on another node isn't in our map, so save and submit
+ *   read its row (status + deadline) instead of turning it away
+ * - Every close is a conditional UPDATE (... AND status = 'OPEN'), and only the
+ *   one that changed the row records the result - two nodes expiring the same
+ *   attempt, or a submit racing the timer, can't write the history twice
+ * - Every quiz.exam.sweep-interval-ms each node also closes attempts that are
+ *   overdue by more than that, in case the node timing them went away
+ *
+ * @author KUNAL M
+ * @version 1.0
+ */
+@Service
+public class ExamService {
+
+	/** 🎯 Answer keys (with the time limit), grading and attempt history */
+	@Autowired
+	QuizService quizService;
+
+	/** 💾 The exam_attempt table */
+	@Autowired
+	ExamAttemptDao examAttemptDao;
+
+	/** 📦 Batched updates when many attempts expire together */
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	/** ⏳ Open attempts by ID - what late submissions are checked against */
+	private final Map<Long, OpenAttempt> open = new ConcurrentHashMap<>();
+
+	/** 🔒 IDs of recently closed attempts, so saves/submits to them don't reach the database */
+	private final Cache<Long, Boolean> closed;
+
+	/** 🎡 One timer per open attempt */
+	private final TimingWheel<OpenAttempt> timers;
+
+	private final long tickMillis;
+	private final int defaultTimeLimitSeconds;
+	private final int maxTimeLimitSeconds;
+	private final long graceMillis;
+	private final int expiryBatchSize;
+	private final long sweepMillis;
+
+	private final Counter submitted;
+	private final Counter expired;
+	private final Counter rejected;
+
+	/** ⏱️ Moves the wheel and closes expired attempts */
+	private final ScheduledExecutorService timerThread;
+
+	public ExamService(@Value("${quiz.exam.timer-tick-ms:1000}") long tickMillis,
+			@Value("${quiz.exam.default-time-limit-seconds:1800}") int defaultTimeLimitSeconds,
+			@Value("${quiz.exam.max-time-limit-seconds:604800}") int maxTimeLimitSeconds,
+			@Value("${quiz.exam.grace-ms:2000}") long graceMillis,
+			@Value("${quiz.exam.expiry-batch-size:500}") int expiryBatchSize,
+			@Value("${quiz.exam.sweep-interval-ms:60000}") long sweepMillis,
+			@Value("${quiz.exam.closed-cache-size:100000}") long closedCacheSize,
+			MeterRegistry meterRegistry) {
+		this.tickMillis = tickMillis;
+		this.defaultTimeLimitSeconds = defaultTimeLimitSeconds;
+		this.maxTimeLimitSeconds = maxTimeLimitSeconds;
+		this.graceMillis = graceMillis;
+		this.expiryBatchSize = expiryBatchSize;
+		this.sweepMillis = sweepMillis;
+		this.closed = Caffeine.newBuilder()
+				.maximumSize(closedCacheSize)
+				.build();
+		// 4 wheels of 64 slots: 64^4 ticks ahead (194 days with 1s ticks)
+		this.timers = new TimingWheel<>(tickMillis, 64, 4, System.currentTimeMillis());
+		// Every attempt's timer must fit on the wheel - fail at startup rather than on a start()
+		long longestTimerMillis = Math.max(maxTimeLimitSeconds, defaultTimeLimitSeconds) * 1000L + graceMillis + tickMillis;
+		if (longestTimerMillis >= tickMillis * (1L << 24)) {
+			throw new IllegalArgumentException("quiz.exam.max-time-limit-seconds/default-time-limit-seconds are beyond the exam timer's "
+					+ (tickMillis * (1L << 24) / 1000) + "s range - raise quiz.exam.timer-tick-ms or lower them");
+		}
+		this.timerThread = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread thread = new Thread(r, "exam-timer");
+			thread.setDaemon(true);
+			return thread;
+		});
+		Gauge.builder("quiz.exam.open", open, Map::size)
+				.description("Exam attempts with the clock running on this node")
+				.register(meterRegistry);
+		this.submitted = closedCounter(meterRegistry, "submitted");
+		this.expired = closedCounter(meterRegistry, "expired");
+		this.rejected = closedCounter(meterRegistry, "rejected");
+	}
+
+	private static Counter closedCounter(MeterRegistry meterRegistry, String outcome) {
+		return Counter.builder("quiz.exam.closed")
+				.description("Exam attempts closed (submitted, expired), and saves/submits turned away (rejected)")
+				.tag("outcome", outcome)
+				.register(meterRegistry);
+	}
+
+	/**
+	 * 🔄 Reload the open attempts, then start the clock (and the sweep for orphaned attempts)
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	void recoverOpenAttempts() {
+		try {
+			for (ExamAttempt attempt : examAttemptDao.findByStatus(ExamAttempt.Status.OPEN)) {
+				try {
+					track(attempt);
+				} catch (Exception e) {
+					// One bad row (e.g. a deadline beyond the timer's range) mustn't leave the rest untimed -
+					// the sweep still closes it once it's overdue
+					System.err.println("❌ Could not time exam attempt " + attempt.getId());
+					e.printStackTrace();
+				}
+			}
+			if (!open.isEmpty()) {
+				System.out.println("⏱️ Recovered " + open.size() + " open exam attempts");
+			}
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+		timerThread.scheduleWithFixedDelay(this::closeExpired, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+		timerThread.scheduleWithFixedDelay(this::sweepOverdue, sweepMillis, sweepMillis, TimeUnit.MILLISECONDS);
+	}
+
+	@PreDestroy
+	void stop() {
+		timerThread.shutdownNow();
+	}
+
+	/**
+	 * 🏁 Start an attempt at a quiz
+	 *
+	 * The deadline is now + the quiz's time limit (or quiz.exam.default-time-limit-seconds
+	 * for untimed quizzes). Starting again while an attempt is open returns that one (200)
+	 * instead of a fresh clock. A quiz whose limit is above quiz.exam.max-time-limit-seconds
+	 * (saved before that was checked) can't be started (409).
+	 */
+	public ResponseEntity<ExamAttempt> start(int quizId, String username) {
+		try {
+			AnswerKey answerKey = quizService.getAnswerKey(quizId);
+			if (answerKey == null) {
+				return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+			}
+			Optional<ExamAttempt> running = examAttemptDao.findByUsernameAndQuizIdAndStatus(username, quizId, ExamAttempt.Status.OPEN);
+			if (running.isPresent()) {
+				return new ResponseEntity<>(running.get(), HttpStatus.OK);
+			}
+			int seconds = answerKey.timeLimitSeconds() != null ? answerKey.timeLimitSeconds() : defaultTimeLimitSeconds;
+			if (seconds > maxTimeLimitSeconds) {
+				return new ResponseEntity<>(HttpStatus.CONFLICT);
+			}
+			Instant now = Instant.now();
+
+			ExamAttempt attempt = new ExamAttempt();
+			attempt.setQuizId(quizId);
+			attempt.setUsername(username);
+			attempt.setStartedAt(now);
+			attempt.setDeadline(now.plusSeconds(seconds));
+			attempt.setStatus(ExamAttempt.Status.OPEN);
+			attempt.setTotalQuestions(answerKey.size());
+			try {
+				attempt = examAttemptDao.save(attempt);
+			} catch (DataIntegrityViolationException e) {
+				// Started twice at the same moment (unique index) - carry on with the other one
+				return examAttemptDao.findByUsernameAndQuizIdAndStatus(username, quizId, ExamAttempt.Status.OPEN)
+						.map(existing -> new ResponseEntity<>(existing, HttpStatus.OK))
+						.orElseGet(() -> new ResponseEntity<>(HttpStatus.CONFLICT));
+			}
+			track(attempt);
+			return new ResponseEntity<>(attempt, HttpStatus.CREATED);
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+		return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+	}
+
+	/**
+	 * 📄 The questions of an open attempt - the only way to see a timed quiz's paper
+	 */
+	public ResponseEntity<?> getPaper(long attemptId, String username) {
+		OpenAttempt attempt = lookup(attemptId);
+		ResponseEntity<String> rejected = checkOpen(attempt, username);
+		if (rejected != null) {
+			return rejected;
+		}
+		List<QuestionWrapper> paper = quizService.getPaper(attempt.quizId);
+		if (paper == null) {
+			return new ResponseEntity<>("Quiz not found", HttpStatus.NOT_FOUND);
+		}
+		return new ResponseEntity<>(paper, HttpStatus.OK);
+	}
+
+	/**
+	 * 💾 Save the answers so far (replacing the previous ones)
+	 *
+	 * These are what gets scored if the deadline passes before a submit.
+	 */
+	public ResponseEntity<String> saveAnswers(long attemptId, String username, List<Response> responses) {
+		ResponseEntity<String> rejected = checkOpen(lookup(attemptId), username);
+		if (rejected != null) {
+			return rejected;
+		}
+		try {
+			if (examAttemptDao.saveAnswers(attemptId, responses) == 0) {
+				return new ResponseEntity<>("Attempt is closed", HttpStatus.CONFLICT);
+			}
+			return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+		return new ResponseEntity<>("Server error", HttpStatus.INTERNAL_SERVER_ERROR);
+	}
+
+	/**
+	 * ✅ Hand in an attempt and get the score
+	 *
+	 * 409 if it's past the deadline (plus grace) or the attempt is already closed.
+	 */
+	public ResponseEntity<?> submit(long attemptId, String username, List<Response> responses) {
+		OpenAttempt attempt = lookup(attemptId);
+		ResponseEntity<String> rejected = checkOpen(attempt, username);
+		if (rejected != null) {
+			return rejected;
+		}
+		// Timed here: whoever removes it from the map closes it - this submit, or the timer.
+		// Timed on another node: the conditional UPDATE below decides.
+		boolean tracked = attempt.timeout != null;
+		if (tracked) {
+			if (!open.remove(attemptId, attempt)) {
+				return new ResponseEntity<>("Attempt is closed", HttpStatus.CONFLICT);
+			}
+			timers.cancel(attempt.timeout);
+		}
+		closed.put(attemptId, Boolean.TRUE);
+		try {
+			AnswerKey answerKey = quizService.getAnswerKey(attempt.quizId);
+			int score = answerKey == null ? 0 : answerKey.score(responses);
+			int total = answerKey == null ? 0 : answerKey.size();
+			if (examAttemptDao.submit(attemptId, responses, score, total, Instant.now()) == 0) {
+				return new ResponseEntity<>("Attempt is closed", HttpStatus.CONFLICT);
+			}
+			submitted.increment();
+			if (answerKey != null) {
+				// The result is already stored with the attempt, so a full history queue only loses the copy
+				quizService.recordAttempt(attempt.quizId, username, answerKey, score, responses);
+			}
+			return new ResponseEntity<>(score, HttpStatus.OK);
+		} catch (Exception e) {
+			e.printStackTrace();
+			// Couldn't save - it's still open (put the clock back so it still closes)
+			closed.invalidate(attemptId);
+			if (tracked) {
+				track(attempt.id, attempt.quizId, attempt.username, attempt.deadlineMillis);
+			}
+		}
+		return new ResponseEntity<>("Server error", HttpStatus.INTERNAL_SERVER_ERROR);
+	}
+
+	/**
+	 * 🔍 One of the user's attempts (status, deadline, score once closed)
+	 */
+	public ResponseEntity<ExamAttempt> getAttempt(long attemptId, String username) {
+		return examAttemptDao.findById(attemptId)
+				.filter(attempt -> attempt.getUsername().equals(username))
+				.map(attempt -> new ResponseEntity<>(attempt, HttpStatus.OK))
+				.orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
+	}
+
+	/**
+	 * 🔎 An open attempt: ours from the map, or - if another node started it - from its row
+	 *
+	 * Attempts known to be closed are answered from memory; a row found closed is remembered.
+	 *
+	 * @return null if there's no such attempt or it's closed
+	 */
+	private OpenAttempt lookup(long attemptId) {
+		OpenAttempt attempt = open.get(attemptId);
+		if (attempt != null) {
+			return attempt;
+		}
+		if (closed.getIfPresent(attemptId) != null) {
+			return null;
+		}
+		Optional<ExamAttempt> row = examAttemptDao.findById(attemptId);
+		if (row.isPresent() && row.get().getStatus() != ExamAttempt.Status.OPEN) {
+			closed.put(attemptId, Boolean.TRUE);
+			return null;
+		}
+		return row
+				.map(r -> new OpenAttempt(r.getId(), r.getQuizId(), r.getUsername(), r.getDeadline().toEpochMilli()))
+				.orElse(null);
+	}
+
+	/**
+	 * 🚧 The check in front of paper, save and submit: is the attempt open, theirs and on time?
+	 *
+	 * @return the rejection, or null if the request may go ahead
+	 */
+	private ResponseEntity<String> checkOpen(OpenAttempt attempt, String username) {
+		if (attempt == null) {
+			rejected.increment();
+			return new ResponseEntity<>("Attempt is closed", HttpStatus.CONFLICT);
+		}
+		if (!attempt.username.equals(username)) {
+			return new ResponseEntity<>("Attempt not found", HttpStatus.NOT_FOUND);
+		}
+		if (System.currentTimeMillis() > attempt.deadlineMillis + graceMillis) {
+			rejected.increment();
+			return new ResponseEntity<>("Time is up", HttpStatus.CONFLICT);
+		}
+		return null;
+	}
+
+	private void track(ExamAttempt attempt) {
+		track(attempt.getId(), attempt.getQuizId(), attempt.getUsername(), attempt.getDeadline().toEpochMilli());
+	}
+
+	/** ⏳ Put an attempt in the open map, with its timer set for the end of the grace period */
+	private void track(long id, int quizId, String username, long deadlineMillis) {
+		track(new OpenAttempt(id, quizId, username, deadlineMillis), deadlineMillis + graceMillis);
+	}
+
+	private void track(OpenAttempt attempt, long closeAtMillis) {
+		// Timer first, so a submit that finds the attempt in the map can always cancel it
+		attempt.timeout = timers.schedule(attempt, closeAtMillis);
+		open.put(attempt.id, attempt);
+	}
+
+	/**
+	 * ⌛ Runs every tick: close the attempts whose time ran out
+	 */
+	void closeExpired() {
+		try {
+			List<OpenAttempt> due = new ArrayList<>();
+			for (OpenAttempt attempt : timers.advance(System.currentTimeMillis())) {
+				if (open.remove(attempt.id, attempt)) {
+					// Past deadline + grace, so closed as far as saves/submits go, even before the UPDATE
+					closed.put(attempt.id, Boolean.TRUE);
+					due.add(attempt);
+				}
+			}
+			for (int from = 0; from < due.size(); from += expiryBatchSize) {
+				expire(due.subList(from, Math.min(due.size(), from + expiryBatchSize)));
+			}
+		} catch (Exception e) {
+			// Keep the timer thread alive
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * 🧹 Runs every sweep interval: close attempts overdue by more than that
+	 *
+	 * Normally the node timing an attempt closes it within a tick, so this only
+	 * finds attempts whose node stopped (or was never told about them).
+	 */
+	void sweepOverdue() {
+		try {
+			Instant cutoff = Instant.now().minusMillis(graceMillis + sweepMillis);
+			List<OpenAttempt> overdue = new ArrayList<>();
+			for (ExamAttempt row : examAttemptDao.findOverdue(cutoff, Limit.of(expiryBatchSize))) {
+				OpenAttempt mine = open.remove(row.getId());
+				if (mine != null) {
+					timers.cancel(mine.timeout);
+				}
+				closed.put(row.getId(), Boolean.TRUE);
+				overdue.add(new OpenAttempt(row.getId(), row.getQuizId(), row.getUsername(), row.getDeadline().toEpochMilli()));
+			}
+			if (!overdue.isEmpty()) {
+				expire(overdue);
+			}
+		} catch (Exception e) {
+			// Keep the timer thread alive
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * 📦 Score a batch of expired attempts on their saved answers and close them
+	 * (one SELECT for the answers, one batched UPDATE)
+	 */
+	private void expire(List<OpenAttempt> batch) {
+		try {
+			List<Long> ids = new ArrayList<>(batch.size());
+			for (OpenAttempt attempt : batch) {
+				ids.add(attempt.id);
+			}
+			Map<Long, List<Response>> saved = new HashMap<>();
+			for (ExamAttempt attempt : examAttemptDao.findAllById(ids)) {
+				saved.put(attempt.getId(), attempt.getAnswers() == null ? List.of() : attempt.getAnswers());
+			}
+
+			Timestamp now = Timestamp.from(Instant.now());
+			List<Object[]> updates = new ArrayList<>(batch.size());
+			List<Runnable> history = new ArrayList<>(batch.size());
+			for (OpenAttempt attempt : batch) {
+				List<Response> answers = saved.getOrDefault(attempt.id, List.of());
+				AnswerKey answerKey = quizService.getAnswerKey(attempt.quizId);
+				int score = answerKey == null ? 0 : answerKey.score(answers);
+				int total = answerKey == null ? 0 : answerKey.size();
+				updates.add(new Object[] { score, total, now, attempt.id });
+				history.add(answerKey == null ? null
+						: () -> quizService.recordAttempt(attempt.quizId, attempt.username, answerKey, score, answers));
+			}
+			int[] counts = jdbcTemplate.batchUpdate("UPDATE exam_attempt SET status = 'EXPIRED', score = ?, total_questions = ?, closed_at = ? "
+					+ "WHERE id = ? AND status = 'OPEN'", updates);
+			for (int i = 0; i < counts.length; i++) {
+				// 0 = submitted meanwhile, or closed by another node - its result is recorded there
+				if (counts[i] > 0) {
+					expired.increment();
+					if (history.get(i) != null) {
+						history.get(i).run();
+					}
+				}
+			}
+		} catch (Exception e) {
+			e.printStackTrace();
+			// Try again in a few ticks (late submissions stay rejected meanwhile - the deadline hasn't moved)
+			long retryAt = System.currentTimeMillis() + 5 * tickMillis;
+			for (OpenAttempt attempt : batch) {
+				track(new OpenAttempt(attempt.id, attempt.quizId, attempt.username, attempt.deadlineMillis), retryAt);
+			}
+		}
+	}
+
+	/** ⏳ What we keep in memory per open attempt */
+	private static final class OpenAttempt {
+		final long id;
+		final int quizId;
+		final String username;
+		final long deadlineMillis;
+		TimingWheel.Timeout<OpenAttempt> timeout;
+
+		OpenAttempt(long id, int quizId, String username, long deadlineMillis) {
+			this.id = id;
+			this.quizId = quizId;
+			this.username = username;
+			this.deadlineMillis = deadlineMillis;
+		}
+	}
+}
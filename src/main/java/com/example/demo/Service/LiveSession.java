@@ -0,0 +1,314 @@
+package com.example.demo.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import com.example.demo.Model.LiveSessionStatus;
+import com.example.demo.Model.QuestionWrapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 🎤 LiveSession - One Host, One Quiz, Everybody Answering Together!
+ *
+ * The host steps through the quiz one question at a time. Participants
+ * listening on the session's event stream get:
+ * - session: who they joined (sent once, on connect) 👋
+ * - question: the next question (a QuestionWrapper - no answer!) and its deadline ❓
+ * - tick: every second while a question is open, the seconds left and how many picked each option ⏳
+ * - results: when time is up (or the host closes early), the final counts and the right option ✅
+ * - end: the host finished the session 🏁
+ *
+ * Every broadcast is serialized once into a ready-made Server-Sent Events frame,
+ * and that same byte array is handed to every participant's LiveSubscriber queue.
+ * Someone joining late first gets the last question (or results) frame, so they
+ * can catch up without the host doing anything.
+ *
+ * Answers are counted with atomics - no lock on the answer path. The host's
+ * actions (next question, close, end) and the clock's ticks take the session's
+ * lock, which is also held while a new participant is added, so nobody misses a
+ * question and frames are queued in the order things happened (no countdown
+ * after a question's results).
+ *
+ * @author KUNAL M
+ * @version 1.0
+ */
+final class LiveSession {
+
+	/** 💓 An SSE comment - keeps idle connections (and proxies) alive, and finds dead ones */
+	static final byte[] HEARTBEAT = ":\n\n".getBytes(StandardCharsets.US_ASCII);
+
+	/** 📝 What happened to an answer */
+	enum Answer { ACCEPTED, NOT_OPEN, WRONG_QUESTION, DUPLICATE }
+
+	/** 🎟️ The join code participants type in */
+	private final String code;
+
+	private final int quizId;
+
+	/** ❓ The quiz paper, in the order the host will ask it */
+	private final List<QuestionWrapper> questions;
+
+	/** 🔑 To reveal the right option when a question closes */
+	private final AnswerKey answerKey;
+
+	private final ObjectMapper objectMapper;
+
+	/** 👥 Everyone currently connected */
+	private final Set<LiveSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+	/** 👋 The "session" frame every participant gets first */
+	private final byte[] welcome;
+
+	/** 📸 Last question or results frame, for late joiners (guarded by this) */
+	private byte[] snapshot;
+
+	/** ⏳ The question being asked right now (or the last one asked) */
+	private volatile Round round;
+
+	/** ➡️ Index of the next question to ask (guarded by this) */
+	private int next;
+
+	/** 🏁 No more joins or questions (guarded by this) */
+	private boolean ended;
+
+	/** 🕰️ Last host action, to clean up abandoned sessions */
+	private volatile long lastActivityMillis;
+
+	/** 💓 Last time anything was sent, to know when a heartbeat is due */
+	private volatile long lastBroadcastMillis;
+
+	LiveSession(String code, int quizId, List<QuestionWrapper> questions, AnswerKey answerKey,
+			ObjectMapper objectMapper, long nowMillis) {
+		this.code = code;
+		this.quizId = quizId;
+		this.questions = List.copyOf(questions);
+		this.answerKey = answerKey;
+		this.objectMapper = objectMapper;
+		this.welcome = frame("session", new SessionEvent(code, quizId, questions.size()));
+		this.lastActivityMillis = nowMillis;
+		this.lastBroadcastMillis = nowMillis;
+	}
+
+	String code() {
+		return code;
+	}
+
+	int participants() {
+		return subscribers.size();
+	}
+
+	long lastActivityMillis() {
+		return lastActivityMillis;
+	}
+
+	/**
+	 * 👋 Add a participant: they get the welcome frame and the current snapshot first
+	 *
+	 * @return false if the session has already ended
+	 */
+	synchronized boolean join(LiveSubscriber subscriber) {
+		if (ended) {
+			return false;
+		}
+		subscriber.offer(welcome);
+		if (snapshot != null) {
+			subscriber.offer(snapshot);
+		}
+		subscribers.add(subscriber);
+		return true;
+	}
+
+	/** 👋 A participant disconnected (or was dropped) - true if they were still in the session */
+	boolean leave(LiveSubscriber subscriber) {
+		return subscribers.remove(subscriber);
+	}
+
+	/**
+	 * ➡️ Ask the next question
+	 *
+	 * @return the question's number (1-based)
+	 * @throws IllegalStateException if a question is still open, none are left, or the session ended
+	 */
+	synchronized int next(int seconds, long nowMillis) {
+		if (ended) {
+			throw new IllegalStateException("Session has ended");
+		}
+		Round current = round;
+		if (current != null && current.open) {
+			throw new IllegalStateException("Question " + current.number + " is still open");
+		}
+		if (next >= questions.size()) {
+			throw new IllegalStateException("No questions left");
+		}
+		QuestionWrapper question = questions.get(next++);
+		Round upcoming = new Round(next, question.getId(), nowMillis + seconds * 1000L);
+		byte[] frame = frame("question",
+				new QuestionEvent(upcoming.number, questions.size(), question, seconds, upcoming.deadlineMillis));
+		round = upcoming;
+		snapshot = frame;
+		lastActivityMillis = nowMillis;
+		broadcast(frame, nowMillis);
+		return upcoming.number;
+	}
+
+	/**
+	 * ✅ Close the open question and publish the results
+	 *
+	 * @return false if no question was open
+	 */
+	synchronized boolean close(long nowMillis) {
+		Round current = round;
+		if (current == null || !current.open) {
+			return false;
+		}
+		current.open = false;
+		byte[] frame = frame("results", new ResultsEvent(current.number, current.questionId,
+				answerKey.correctOption(current.questionId), current.answered.size(), counts(current)));
+		snapshot = frame;
+		lastActivityMillis = nowMillis;
+		broadcast(frame, nowMillis);
+		return true;
+	}
+
+	/**
+	 * 🏁 End the session: everyone gets the "end" frame, then their stream finishes
+	 */
+	synchronized void end(long nowMillis) {
+		if (ended) {
+			return;
+		}
+		ended = true;
+		Round current = round;
+		if (current != null) {
+			current.open = false;
+		}
+		broadcast(frame("end", new EndEvent(next, questions.size())), nowMillis);
+		for (LiveSubscriber subscriber : subscribers) {
+			subscriber.finish();
+		}
+	}
+
+	/**
+	 * 🙋 Record one participant's answer to the open question
+	 *
+	 * Lock-free: one set insert (one answer per person) and one atomic increment.
+	 */
+	Answer answer(String username, int questionId, int option, long nowMillis) {
+		Round current = round;
+		if (current == null || !current.open || nowMillis >= current.deadlineMillis) {
+			return Answer.NOT_OPEN;
+		}
+		if (current.questionId != questionId) {
+			return Answer.WRONG_QUESTION;
+		}
+		if (!current.answered.add(username)) {
+			return Answer.DUPLICATE;
+		}
+		current.answers.incrementAndGet(option - 1);
+		return Answer.ACCEPTED;
+	}
+
+	/**
+	 * ⏱️ Called about once a second by the session clock:
+	 * closes the question when its time is up, otherwise sends the countdown
+	 * and answer counts (or a heartbeat when no question is open)
+	 *
+	 * Under the lock, so a tick can't slip in between a close and its results frame.
+	 */
+	synchronized void tick(long nowMillis, long heartbeatMillis) {
+		Round current = round;
+		if (current != null && current.open) {
+			if (nowMillis >= current.deadlineMillis) {
+				close(nowMillis);
+			} else {
+				int remaining = (int) ((current.deadlineMillis - nowMillis + 999) / 1000);
+				broadcast(frame("tick", new TickEvent(current.number, remaining, current.answered.size(), counts(current))),
+						nowMillis);
+			}
+		} else if (nowMillis - lastBroadcastMillis >= heartbeatMillis) {
+			broadcast(HEARTBEAT, nowMillis);
+		}
+	}
+
+	/** 📊 Where the session is at, for the host */
+	LiveSessionStatus status() {
+		Round current = round;
+		return new LiveSessionStatus(code, quizId, current == null ? 0 : current.number, questions.size(),
+				current != null && current.open, subscribers.size(), current == null ? 0 : current.answered.size());
+	}
+
+	/**
+	 * 📢 Hand the same frame to every participant
+	 *
+	 * Never blocks: a participant whose queue is full is dropped (see LiveSubscriber).
+	 */
+	private void broadcast(byte[] frame, long nowMillis) {
+		lastBroadcastMillis = nowMillis;
+		for (LiveSubscriber subscriber : subscribers) {
+			subscriber.offer(frame);
+		}
+	}
+
+	private static int[] counts(Round round) {
+		int[] counts = new int[round.answers.length()];
+		for (int i = 0; i < counts.length; i++) {
+			counts[i] = round.answers.get(i);
+		}
+		return counts;
+	}
+
+	/**
+	 * 🧱 Serialize an event once into a complete SSE frame: "event: name\ndata: {json}\n\n"
+	 * (the JSON is written on a single line, so one data line is enough)
+	 */
+	private byte[] frame(String event, Object data) {
+		try {
+			byte[] json = objectMapper.writeValueAsBytes(data);
+			ByteArrayOutputStream out = new ByteArrayOutputStream(json.length + event.length() + 16);
+			out.writeBytes(("event: " + event + "\ndata: ").getBytes(StandardCharsets.UTF_8));
+			out.writeBytes(json);
+			out.writeBytes(new byte[] { '\n', '\n' });
+			return out.toByteArray();
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("Could not serialize live " + event + " event", e);
+		}
+	}
+
+	/** ⏳ One question being asked */
+	private static final class Round {
+		final int number;
+		final int questionId;
+		final long deadlineMillis;
+		/** 🔢 How many picked option 1..4 */
+		final AtomicIntegerArray answers = new AtomicIntegerArray(4);
+		/** 👤 Who already answered */
+		final Set<String> answered = ConcurrentHashMap.newKeySet();
+		volatile boolean open = true;
+
+		Round(int number, int questionId, long deadlineMillis) {
+			this.number = number;
+			this.questionId = questionId;
+			this.deadlineMillis = deadlineMillis;
+		}
+	}
+
+	record SessionEvent(String code, int quizId, int questions) {
+	}
+
+	record QuestionEvent(int number, int total, QuestionWrapper question, int seconds, long deadline) {
+	}
+
+	record TickEvent(int number, int remaining, int answered, int[] answers) {
+	}
+
+	record ResultsEvent(int number, int questionId, int correctOption, int answered, int[] answers) {
+	}
+
+	record EndEvent(int asked, int total) {
+	}
+}
@@ -0,0 +1,372 @@
+package com.example.demo.Service;
+
+import java.io.IOException;
+import java.security.SecureRandom;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import com.example.demo.Model.LiveSessionStatus;
+import com.example.demo.Model.LiveTicket;
+import com.example.demo.Model.QuestionWrapper;
+import com.example.demo.Model.Response;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 📺 LiveSessionService - Quiz Night, Live on Every Screen!
+ *
+ * Regular quizzes are pull-only: everyone fetches the paper and submits when done.
+ * A live session is driven by a host instead:
+ * 1. The host starts a session for a quiz and shares the join code 🎟️
+ * 2. Participants open the session's event stream (Server-Sent Events) 📡
+ * 3. The host pushes one question at a time; a countdown runs for everyone ⏳
+ * 4. Participants answer; the live answer counts go out every second 📊
+ * 5. When time is up, everyone sees the final counts and the right option ✅
+ *
+ * Questions come from QuizService (the cached quiz paper and answer key), so a
+ * session costs no extra database work.
+ *
+ * Built to hold many thousands of open streams per node:
+ * - each stream is an async request, so it holds no Tomcat thread while idle
+ * - each participant's frames are written by their own virtual thread from a
+ *   small bounded queue; a participant who falls that far behind is disconnected
+ * - one clock thread drives every session's countdown, once a second
+ *
+ * Browsers open the stream with an EventSource, which can't send a bearer token:
+ * they get a short-lived ticket for the session first (see LiveTickets).
+ *
+ * Sessions live in memory on the node that started them.
+ *
+ * @author KUNAL M
+ * @version 1.0
+ */
+@Service
+public class LiveSessionService {
+
+	/** 🔤 Join code letters - no 0/O or 1/I, so codes are easy to read out loud */
+	private static final char[] CODE_ALPHABET = "ABCDEFGHJKLMNPQRSTUVWXYZ23456789".toCharArray();
+
+	/** 🎯 Quiz papers and answer keys */
+	@Autowired
+	QuizService quizService;
+
+	/** 🧱 Serializes each event once, for everyone */
+	@Autowired
+	ObjectMapper objectMapper;
+
+	/** 🎤 Running sessions by join code */
+	private final Map<String, LiveSession> sessions = new ConcurrentHashMap<>();
+
+	/** 👥 Open streams on this node, across all sessions */
+	private final AtomicInteger participants = new AtomicInteger();
+
+	/** ✍️ One virtual thread per participant, writing their frames */
+	private final ThreadFactory writerThreads = Thread.ofVirtual().name("live-writer-", 0).factory();
+
+	private final SecureRandom random = new SecureRandom();
+
+	private final Counter dropped;
+
+	/** 🎫 Signed stream tickets for EventSource clients */
+	private final LiveTickets tickets;
+
+	/** ⏱️ Drives every session's countdown and heartbeats */
+	private ScheduledExecutorService clock;
+
+	private final int queueCapacity;
+	private final int maxParticipants;
+	private final long streamTimeoutMillis;
+	private final long heartbeatMillis;
+	private final long idleTimeoutMillis;
+	private final int maxSeconds;
+
+	public LiveSessionService(@Value("${quiz.live.queue-capacity:32}") int queueCapacity,
+			@Value("${quiz.live.max-participants:20000}") int maxParticipants,
+			@Value("${quiz.live.stream-timeout-ms:14400000}") long streamTimeoutMillis,
+			@Value("${quiz.live.heartbeat-ms:15000}") long heartbeatMillis,
+			@Value("${quiz.live.idle-timeout-ms:7200000}") long idleTimeoutMillis,
+			@Value("${quiz.live.max-seconds:600}") int maxSeconds,
+			@Value("${quiz.live.ticket-ttl-seconds:60}") long ticketTtlSeconds,
+			MeterRegistry meterRegistry) {
+		this.queueCapacity = queueCapacity;
+		this.maxParticipants = maxParticipants;
+		this.streamTimeoutMillis = streamTimeoutMillis;
+		this.heartbeatMillis = heartbeatMillis;
+		this.idleTimeoutMillis = idleTimeoutMillis;
+		this.maxSeconds = maxSeconds;
+		this.tickets = new LiveTickets(TimeUnit.SECONDS.toMillis(ticketTtlSeconds));
+		Gauge.builder("quiz.live.sessions", sessions, Map::size)
+				.description("Live quiz sessions running on this node")
+				.register(meterRegistry);
+		Gauge.builder("quiz.live.participants", participants, AtomicInteger::get)
+				.description("Open live session streams on this node")
+				.register(meterRegistry);
+		this.dropped = Counter.builder("quiz.live.dropped")
+				.description("Participants disconnected for falling too far behind")
+				.register(meterRegistry);
+	}
+
+	@PostConstruct
+	void startClock() {
+		clock = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread thread = new Thread(r, "live-clock");
+			thread.setDaemon(true);
+			return thread;
+		});
+		clock.scheduleAtFixedRate(this::tick, 1, 1, TimeUnit.SECONDS);
+	}
+
+	@PreDestroy
+	void stopClock() {
+		clock.shutdownNow();
+		long now = System.currentTimeMillis();
+		for (LiveSession session : sessions.values()) {
+			session.end(now);
+		}
+		sessions.clear();
+	}
+
+	/**
+	 * 🎬 Start a live session for a quiz
+	 *
+	 * Returns the session's status, including the code participants join with.
+	 * Timed quizzes can't be run live (409) - their paper only comes with an exam attempt.
+	 */
+	public ResponseEntity<LiveSessionStatus> start(int quizId) {
+		try {
+			AnswerKey answerKey = quizService.getAnswerKey(quizId);
+			List<QuestionWrapper> paper = quizService.getPaper(quizId);
+			if (answerKey == null || paper == null) {
+				return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+			}
+			if (answerKey.timeLimitSeconds() != null) {
+				// Timed quizzes are taken as exam attempts - a session would show the paper to anyone who joins
+				return new ResponseEntity<>(HttpStatus.CONFLICT);
+			}
+			if (paper.isEmpty()) {
+				return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+			}
+			long now = System.currentTimeMillis();
+			LiveSession session;
+			do {
+				session = new LiveSession(newCode(), quizId, paper, answerKey, objectMapper, now);
+			} while (sessions.putIfAbsent(session.code(), session) != null);
+			return new ResponseEntity<>(session.status(), HttpStatus.CREATED);
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+		return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+	}
+
+	/**
+	 * ➡️ Push the next question to everyone, open for the given number of seconds
+	 */
+	public ResponseEntity<String> next(String code, int seconds) {
+		LiveSession session = sessions.get(code);
+		if (session == null) {
+			return new ResponseEntity<>("Session not found", HttpStatus.NOT_FOUND);
+		}
+		if (seconds < 1 || seconds > maxSeconds) {
+			return new ResponseEntity<>("seconds must be between 1 and " + maxSeconds, HttpStatus.BAD_REQUEST);
+		}
+		try {
+			int number = session.next(seconds, System.currentTimeMillis());
+			return new ResponseEntity<>("Question " + number + " is open for " + seconds + "s", HttpStatus.OK);
+		} catch (IllegalStateException e) {
+			return new ResponseEntity<>(e.getMessage(), HttpStatus.CONFLICT);
+		}
+	}
+
+	/**
+	 * ✅ Close the open question before its time is up and publish the results
+	 */
+	public ResponseEntity<String> close(String code) {
+		LiveSession session = sessions.get(code);
+		if (session == null) {
+			return new ResponseEntity<>("Session not found", HttpStatus.NOT_FOUND);
+		}
+		if (!session.close(System.currentTimeMillis())) {
+			return new ResponseEntity<>("No question is open", HttpStatus.CONFLICT);
+		}
+		return new ResponseEntity<>("Question closed", HttpStatus.OK);
+	}
+
+	/**
+	 * 🏁 End the session - every participant's stream finishes
+	 */
+	public ResponseEntity<String> end(String code) {
+		LiveSession session = sessions.remove(code);
+		if (session == null) {
+			return new ResponseEntity<>("Session not found", HttpStatus.NOT_FOUND);
+		}
+		session.end(System.currentTimeMillis());
+		return new ResponseEntity<>("Session ended", HttpStatus.OK);
+	}
+
+	/** 📊 Where a session is at */
+	public ResponseEntity<LiveSessionStatus> status(String code) {
+		LiveSession session = sessions.get(code);
+		if (session == null) {
+			return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+		}
+		return new ResponseEntity<>(session.status(), HttpStatus.OK);
+	}
+
+	/**
+	 * 🎫 A ticket to open this session's stream without an Authorization header
+	 */
+	public ResponseEntity<LiveTicket> ticket(String code, String username) {
+		if (!sessions.containsKey(code)) {
+			return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+		}
+		String ticket = tickets.issue(code, username, System.currentTimeMillis());
+		return new ResponseEntity<>(new LiveTicket(ticket, TimeUnit.MILLISECONDS.toSeconds(tickets.ttlMillis())), HttpStatus.OK);
+	}
+
+	/**
+	 * 📡 Join with a ticket instead of a bearer token (401 if it's forged, expired or for another session)
+	 */
+	public ResponseEntity<ResponseBodyEmitter> joinWithTicket(String code, String ticket) {
+		String username = tickets.redeem(ticket, code, System.currentTimeMillis());
+		if (username == null) {
+			return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+		}
+		return join(code, username);
+	}
+
+	/**
+	 * 📡 Open a participant's event stream
+	 *
+	 * Answers 503 with Retry-After when this node already holds max-participants streams.
+	 */
+	public ResponseEntity<ResponseBodyEmitter> join(String code, String username) {
+		LiveSession session = sessions.get(code);
+		if (session == null) {
+			return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+		}
+		if (participants.incrementAndGet() > maxParticipants) {
+			participants.decrementAndGet();
+			return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+					.header(HttpHeaders.RETRY_AFTER, "5")
+					.build();
+		}
+
+		ResponseBodyEmitter emitter = new ResponseBodyEmitter(streamTimeoutMillis);
+		LiveSubscriber subscriber = new LiveSubscriber(username, sinkOf(emitter), queueCapacity, s -> {
+			if (session.leave(s)) {
+				participants.decrementAndGet();
+				if (s.isDropped()) {
+					dropped.increment();
+				}
+			}
+		});
+		if (!session.join(subscriber)) {
+			participants.decrementAndGet();
+			return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+		}
+		emitter.onCompletion(subscriber::close);
+		emitter.onTimeout(subscriber::close);
+		emitter.onError(e -> subscriber.close());
+		subscriber.start(writerThreads);
+
+		return ResponseEntity.ok()
+				.contentType(MediaType.TEXT_EVENT_STREAM)
+				.header(HttpHeaders.CACHE_CONTROL, "no-cache")
+				// Tell nginx (the frontend proxy) not to buffer the stream
+				.header("X-Accel-Buffering", "no")
+				.body(emitter);
+	}
+
+	/**
+	 * 🙋 Answer the open question
+	 *
+	 * One answer per participant per question, by option number (1-4).
+	 * Only counted - grading a whole quiz still goes through /user/quiz/submit.
+	 */
+	public ResponseEntity<String> answer(String code, String username, Response response) {
+		LiveSession session = sessions.get(code);
+		if (session == null) {
+			return new ResponseEntity<>("Session not found", HttpStatus.NOT_FOUND);
+		}
+		Integer option = response.getOption();
+		if (option == null || option < 1 || option > 4) {
+			return new ResponseEntity<>("option must be 1-4", HttpStatus.BAD_REQUEST);
+		}
+		switch (session.answer(username, response.getId(), option, System.currentTimeMillis())) {
+			case ACCEPTED:
+				return new ResponseEntity<>("Answer received", HttpStatus.ACCEPTED);
+			case WRONG_QUESTION:
+				return new ResponseEntity<>("That is not the current question", HttpStatus.CONFLICT);
+			case DUPLICATE:
+				return new ResponseEntity<>("Already answered", HttpStatus.CONFLICT);
+			default:
+				return new ResponseEntity<>("No question is open", HttpStatus.CONFLICT);
+		}
+	}
+
+	/**
+	 * ⏱️ Once a second: run every session's countdown, and end sessions
+	 * whose host has been gone for idle-timeout-ms
+	 */
+	private void tick() {
+		long now = System.currentTimeMillis();
+		for (LiveSession session : sessions.values()) {
+			try {
+				if (now - session.lastActivityMillis() > idleTimeoutMillis) {
+					sessions.remove(session.code(), session);
+					session.end(now);
+				} else {
+					session.tick(now, heartbeatMillis);
+				}
+			} catch (Exception e) {
+				// Keep the clock going for the other sessions
+				e.printStackTrace();
+			}
+		}
+	}
+
+	private String newCode() {
+		char[] code = new char[6];
+		for (int i = 0; i < code.length; i++) {
+			code[i] = CODE_ALPHABET[random.nextInt(CODE_ALPHABET.length)];
+		}
+		return new String(code);
+	}
+
+	/**
+	 * ✍️ Frames are complete SSE events already, so they are written as raw bytes
+	 */
+	private static LiveSubscriber.FrameSink sinkOf(ResponseBodyEmitter emitter) {
+		return new LiveSubscriber.FrameSink() {
+			@Override
+			public void write(byte[] frame) throws IOException {
+				emitter.send(frame, MediaType.TEXT_EVENT_STREAM);
+			}
+
+			@Override
+			public void close() {
+				emitter.complete();
+			}
+		};
+	}
+}
@@ -0,0 +1,140 @@
+package com.example.demo.Service;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * 📡 LiveSubscriber - One Participant's Line Into a Live Session
+ *
+ * Broadcasting to thousands of people can't wait on each of their connections,
+ * so every participant gets:
+ * 1. A small bounded queue of frames waiting to be sent 📬
+ * 2. Their own virtual thread that writes those frames to the connection ✍️
+ *
+ * A broadcast just drops the same (shared, already serialized) frame into every
+ * queue. If someone's queue is full they aren't keeping up, and we disconnect
+ * them instead of buffering more for them - their client reconnects and picks
+ * up the current question from the session's snapshot.
+ *
+ * @author KUNAL M
+ * @version 1.0
+ */
+final class LiveSubscriber {
+
+	/** ✍️ Where the frames go (the participant's open HTTP response) */
+	interface FrameSink {
+
+		/** Write one frame and flush it (may block while the client catches up) */
+		void write(byte[] frame) throws IOException;
+
+		/** Finish the response */
+		void close();
+	}
+
+	/** 🛑 Tells the writer thread to stop */
+	private static final byte[] CLOSE = new byte[0];
+
+	/** 👤 Who is listening */
+	private final String username;
+
+	private final FrameSink sink;
+
+	/** 📬 Frames not written yet */
+	private final BlockingQueue<byte[]> queue;
+
+	/** 🧹 Called once when the subscriber closes, whatever the reason */
+	private final Consumer<LiveSubscriber> onClose;
+
+	private final AtomicBoolean closed = new AtomicBoolean();
+
+	/** 🐢 Closed because the queue overflowed */
+	private volatile boolean dropped;
+
+	LiveSubscriber(String username, FrameSink sink, int queueCapacity, Consumer<LiveSubscriber> onClose) {
+		this.username = username;
+		this.sink = sink;
+		this.queue = new ArrayBlockingQueue<>(queueCapacity);
+		this.onClose = onClose;
+	}
+
+	String username() {
+		return username;
+	}
+
+	/** 🐢 Was this subscriber cut off for being too slow? */
+	boolean isDropped() {
+		return dropped;
+	}
+
+	boolean isClosed() {
+		return closed.get();
+	}
+
+	/** 🚀 Start the writer thread */
+	void start(ThreadFactory threads) {
+		threads.newThread(this::writeLoop).start();
+	}
+
+	/**
+	 * 📥 Queue a frame for this participant - never blocks
+	 *
+	 * @return false if the subscriber is closed, or its queue was full (it is dropped then)
+	 */
+	boolean offer(byte[] frame) {
+		if (closed.get()) {
+			return false;
+		}
+		if (queue.offer(frame)) {
+			return true;
+		}
+		dropped = true;
+		close();
+		return false;
+	}
+
+	/**
+	 * 🏁 Send whatever is queued, then end the response (the session is over)
+	 */
+	void finish() {
+		if (!closed.get() && !queue.offer(CLOSE)) {
+			dropped = true;
+			close();
+		}
+	}
+
+	/**
+	 * 🔌 Close right away: pending frames are discarded, and the response ends
+	 * as soon as the write in progress (if any) returns
+	 */
+	void close() {
+		if (!closed.compareAndSet(false, true)) {
+			return;
+		}
+		queue.clear();
+		queue.offer(CLOSE);
+		onClose.accept(this);
+	}
+
+	private void writeLoop() {
+		try {
+			while (true) {
+				byte[] frame = queue.take();
+				if (frame == CLOSE || closed.get()) {
+					break;
+				}
+				sink.write(frame);
+			}
+		} catch (IOException | IllegalStateException e) {
+			// The client went away (or the response already ended) - nothing to do but clean up
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			close();
+			sink.close();
+		}
+	}
+}
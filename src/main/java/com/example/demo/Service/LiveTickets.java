@@ -0,0 +1,97 @@
+package com.example.demo.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * 🎫 LiveTickets - Stream Passes for Browsers!
+ *
+ * A browser's EventSource can't send an Authorization header, so a participant
+ * first swaps their bearer token for a ticket (POST /user/live/{code}/ticket) and
+ * opens the stream with ?ticket=... instead.
+ *
+ * A ticket is "code, expiry, username" plus an HMAC-SHA256 of them:
+ * - only good for one session's stream 🎟️
+ * - short-lived (quiz.live.ticket-ttl-seconds) - it's in a URL, so it may end up in logs ⏳
+ * - checked when the stream opens; a stream that's already open isn't cut off when it expires
+ *
+ * The key is random per node, like the sessions themselves: a restart ends the
+ * sessions, and their tickets with them.
+ *
+ * @author KUNAL M
+ * @version 1.0
+ */
+final class LiveTickets {
+
+	private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+	private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+	private final Mac macPrototype;
+	private final long ttlMillis;
+
+	LiveTickets(long ttlMillis) {
+		this.ttlMillis = ttlMillis;
+		byte[] key = new byte[32];
+		new SecureRandom().nextBytes(key);
+		try {
+			macPrototype = Mac.getInstance("HmacSHA256");
+			macPrototype.init(new SecretKeySpec(key, "HmacSHA256"));
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	long ttlMillis() {
+		return ttlMillis;
+	}
+
+	/** 🎫 A ticket for this user to open this session's stream, valid from now for the TTL */
+	String issue(String code, String username, long nowMillis) {
+		byte[] payload = (code + "\n" + (nowMillis + ttlMillis) + "\n" + username).getBytes(StandardCharsets.UTF_8);
+		return ENCODER.encodeToString(payload) + "." + ENCODER.encodeToString(sign(payload));
+	}
+
+	/**
+	 * 🔍 Who a ticket was issued to
+	 *
+	 * @return the username, or null if the ticket is forged, expired or for another session
+	 */
+	String redeem(String ticket, String code, long nowMillis) {
+		if (ticket == null) {
+			return null;
+		}
+		int dot = ticket.indexOf('.');
+		if (dot < 0) {
+			return null;
+		}
+		try {
+			byte[] payload = DECODER.decode(ticket.substring(0, dot));
+			if (!MessageDigest.isEqual(sign(payload), DECODER.decode(ticket.substring(dot + 1)))) {
+				return null;
+			}
+			String[] parts = new String(payload, StandardCharsets.UTF_8).split("\n", 3);
+			if (parts.length != 3 || !parts[0].equals(code) || Long.parseLong(parts[1]) < nowMillis) {
+				return null;
+			}
+			return parts[2];
+		} catch (IllegalArgumentException e) {
+			// Not base64, or not a number where the expiry should be
+			return null;
+		}
+	}
+
+	private byte[] sign(byte[] payload) {
+		try {
+			Mac mac = (Mac) macPrototype.clone();
+			return mac.doFinal(payload);
+		} catch (CloneNotSupportedException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -0,0 +1,255 @@
+package com.example.demo.Service;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.Dao.QuestionDao;
+
+/**
+ * 🗂️ QuestionIdIndex - A Pocket-Sized Map of Every Category!
+ *
+ * Picking random questions used to mean asking the database to shuffle a whole
+ * category (ORDER BY RANDOM()) just to keep the first few rows. This index keeps
+ * the question IDs of each category in memory instead, as sorted primitive int
+ * arrays, so a quiz can be drawn without touching the question table at all.
+ *
+ * How it stays fresh:
+ * - A category is loaded from the database the first time someone samples it 📥
+ * - QuestionService tells us about every add, update and delete ✏️
+ * - New IDs are almost always the largest ones, so adding is usually a cheap append ➕
+ *
+ * Sampling picks numQ distinct positions with Floyd's algorithm, which costs
+ * O(numQ) no matter how big the category is. Pass a seed to get the same draw again
+ * (as long as the category hasn't changed in between).
+ *
+ * Note: rows inserted straight into the database (e.g. with psql) are only picked up
+ * once the category is loaded again, which happens on restart.
+ *
+ * @author KUNAL M
+ * @version 1.0
+ */
+@Component
+public class QuestionIdIndex {
+
+	/** 📚 Where we load a category's IDs from the first time it's needed */
+	@Autowired
+	QuestionDao questionDao;
+
+	/** 🗂️ One sorted ID bucket per category */
+	private final ConcurrentHashMap<String, CategoryIds> categories = new ConcurrentHashMap<>();
+	
+	/** 🔒 Held while a category is being loaded from the database */
+	private final ReentrantLock loadLock = new ReentrantLock();
+
+	/**
+	 * 🎲 Draw Random Question IDs From a Category
+	 *
+	 * Returns up to numQ distinct IDs in random order. If the category has fewer
+	 * questions than requested, every question is returned (shuffled), just like
+	 * the old LIMIT query did.
+	 *
+	 * @param seed optional - pass the same seed to reproduce a draw, or null for a fresh one
+	 */
+	public int[] sample(String category, int numQ, Long seed) {
+		if (category == null || numQ <= 0) {
+			return new int[0];
+		}
+		Random random = seed == null ? ThreadLocalRandom.current() : new Random(seed);
+		return bucket(category).sample(numQ, random);
+	}
+
+	/**
+	 * 🔢 How Many Questions Does This Category Have?
+	 */
+	public int size(String category) {
+		if (category == null) {
+			return 0;
+		}
+		return bucket(category).size();
+	}
+
+	/**
+	 * ➕ A New Question Was Saved
+	 *
+	 * Only touches categories that are already loaded - the others will read the
+	 * new row from the database when they're first sampled.
+	 */
+	public void add(String category, int id) {
+		if (category == null) {
+			return;
+		}
+		CategoryIds ids = loaded(category);
+		if (ids != null) {
+			ids.add(id);
+		}
+	}
+
+	/**
+	 * 🗑️ A Question Was Deleted
+	 */
+	public void remove(String category, int id) {
+		if (category == null) {
+			return;
+		}
+		CategoryIds ids = loaded(category);
+		if (ids != null) {
+			ids.remove(id);
+		}
+	}
+
+	/**
+	 * 🔀 A Question Was Updated (and maybe changed category)
+	 */
+	public void move(String oldCategory, String newCategory, int id) {
+		if (oldCategory != null && oldCategory.equals(newCategory)) {
+			return;
+		}
+		remove(oldCategory, id);
+		add(newCategory, id);
+	}
+
+	/**
+	 * 📥 Get a category's bucket, loading it from the database on first use.
+	 *
+	 * The load runs under a ReentrantLock rather than inside computeIfAbsent: that one
+	 * holds a synchronized map lock, and blocking on JDBC in there would pin a virtual
+	 * thread's carrier. Loads are rare (once per category), so one lock for all is fine.
+	 */
+	private CategoryIds bucket(String category) {
+		CategoryIds ids = categories.get(category);
+		if (ids != null) {
+			return ids;
+		}
+		loadLock.lock();
+		try {
+			ids = categories.get(category);
+			if (ids == null) {
+				ids = CategoryIds.of(questionDao.findIdsByCategory(category));
+				categories.put(category, ids);
+			}
+			return ids;
+		} finally {
+			loadLock.unlock();
+		}
+	}
+
+	/**
+	 * 🔍 The bucket if the category is loaded, or null if it isn't.
+	 *
+	 * If a load is running right now we wait for it, so a write can never slip in
+	 * between the SELECT and the bucket being published (and get lost).
+	 */
+	private CategoryIds loaded(String category) {
+		CategoryIds ids = categories.get(category);
+		if (ids != null) {
+			return ids;
+		}
+		loadLock.lock();
+		try {
+			return categories.get(category);
+		} finally {
+			loadLock.unlock();
+		}
+	}
+
+	/**
+	 * 📦 The sorted int[] of IDs for one category.
+	 *
+	 * Kept sorted so lookups are a binary search and duplicates are easy to spot.
+	 * All methods are synchronized - writes are rare admin operations and sampling
+	 * only holds the lock for O(numQ) work.
+	 */
+	static final class CategoryIds {
+
+		private int[] ids;
+		private int size;
+
+		private CategoryIds(int[] ids, int size) {
+			this.ids = ids;
+			this.size = size;
+		}
+
+		static CategoryIds of(List<Integer> sortedIds) {
+			int[] ids = new int[Math.max(16, sortedIds.size())];
+			int size = 0;
+			for (Integer id : sortedIds) {
+				ids[size++] = id;
+			}
+			return new CategoryIds(ids, size);
+		}
+
+		synchronized int size() {
+			return size;
+		}
+
+		synchronized void add(int id) {
+			// Fast path: new IDs come from an increasing sequence, so just append
+			if (size == 0 || id > ids[size - 1]) {
+				ensureCapacity();
+				ids[size++] = id;
+				return;
+			}
+			int pos = Arrays.binarySearch(ids, 0, size, id);
+			if (pos >= 0) {
+				return; // already indexed
+			}
+			int insertAt = -(pos + 1);
+			ensureCapacity();
+			System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+			ids[insertAt] = id;
+			size++;
+		}
+
+		synchronized void remove(int id) {
+			int pos = Arrays.binarySearch(ids, 0, size, id);
+			if (pos < 0) {
+				return;
+			}
+			System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+			size--;
+		}
+
+		/**
+		 * Floyd's algorithm: for j in [n-k, n) pick t in [0, j]; take t if it's new,
+		 * otherwise take j. Every k-subset is equally likely and we only do k steps.
+		 * The picked IDs are then shuffled so the quiz order is random too.
+		 */
+		synchronized int[] sample(int numQ, Random random) {
+			int k = Math.min(numQ, size);
+			int[] picked = new int[k];
+			Set<Integer> chosen = new HashSet<>(k * 2);
+			int count = 0;
+			for (int j = size - k; j < size; j++) {
+				int t = random.nextInt(j + 1);
+				int position = chosen.add(t) ? t : j;
+				if (position == j) {
+					chosen.add(j);
+				}
+				picked[count++] = ids[position];
+			}
+			// Fisher-Yates over the k picks only
+			for (int i = k - 1; i > 0; i--) {
+				int swap = random.nextInt(i + 1);
+				int tmp = picked[i];
+				picked[i] = picked[swap];
+				picked[swap] = tmp;
+			}
+			return picked;
+		}
+
+		private void ensureCapacity() {
+			if (size == ids.length) {
+				ids = Arrays.copyOf(ids, Math.max(16, ids.length * 2));
+			}
+		}
+	}
+}
@@ -0,0 +1,373 @@
+package com.example.demo.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.Dao.QuestionDao;
+import com.example.demo.Model.Question;
+import com.example.demo.Model.QuestionImportResult;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * 📥 QuestionImporter - Load Thousands of Questions in One Go!
+ *
+ * Replaces the old psql scripts and the one-request-per-question workflow.
+ * The upload is read line by line while it's still arriving, so a file of any
+ * size only ever has one batch of rows in memory.
+ *
+ * Two formats are understood:
+ * - NDJSON: one Question JSON object per line (what the export produces) 📄
+ * - CSV: a header row naming the columns, then one question per row 📊
+ *
+ * Every row is checked before it goes anywhere near the database. Good rows are
+ * collected into batches and written with plain JDBC batch inserts, one
+ * transaction per batch. Bad rows are skipped and listed in the result with
+ * their line number, so one typo doesn't throw away the whole file.
+ *
+ * About IDs: the question table uses an IDENTITY column, and Hibernate can't batch
+ * IDENTITY inserts (it has to read each generated ID back one row at a time). So we
+ * reserve a whole batch of IDs from the column's own sequence with a single query
+ * and insert them explicitly - the same sequence the normal add endpoint uses, so
+ * the two never collide.
+ *
+ * Because these inserts bypass Hibernate, cached findByCategory results are
+ * evicted by hand after every batch.
+ *
+ * @author KUNAL M
+ * @version 1.0
+ */
+@Component
+public class QuestionImporter {
+
+	/** 📋 The columns we read, in insert order */
+	private static final String[] COLUMNS = {
+			"question_title", "option1", "option2", "option3", "option4",
+			"right_answer", "difficultylevel", "category" };
+
+	private static final String INSERT_SQL = "INSERT INTO question (id, question_title, option1, option2, option3, option4, "
+			+ "right_answer, difficultylevel, category) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+	private static final String RESERVE_IDS_SQL = "SELECT nextval(pg_get_serial_sequence('question', 'id'))::int "
+			+ "FROM generate_series(1, ?)";
+
+	/** 📏 Same limit as the varchar(255) columns Hibernate created */
+	private static final int MAX_LENGTH = 255;
+
+	/** 🗂️ Newly imported IDs are added to the sampling index */
+	@Autowired
+	QuestionIdIndex questionIdIndex;
+
+	/** 📒 Imported rows change the category counts */
+	@Autowired
+	CategoryCatalog categoryCatalog;
+
+	/** 🔄 ...in the database summary too */
+	@Autowired
+	CategorySummaryRefresher categorySummaryRefresher;
+
+	/** 🗜️ ...and in the cached category list response */
+	@Autowired
+	ResponseBodyCache responseBodyCache;
+
+	/** 🗄️ Owns the second-level cache we have to clean up after */
+	@Autowired
+	EntityManagerFactory entityManagerFactory;
+
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final ObjectReader questionReader;
+
+	/** 📦 Rows per JDBC batch (and per transaction) */
+	private final int batchSize;
+
+	/** 📝 How many row errors are listed in the result */
+	private final int maxReportedErrors;
+
+	public QuestionImporter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, ObjectMapper objectMapper,
+			@Value("${question.import.batch-size:1000}") int batchSize,
+			@Value("${question.import.max-reported-errors:500}") int maxReportedErrors) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.questionReader = objectMapper.readerFor(Question.class);
+		this.batchSize = Math.max(1, batchSize);
+		this.maxReportedErrors = maxReportedErrors;
+	}
+
+	/**
+	 * 📄 What kind of file was uploaded
+	 */
+	public enum Format {
+		NDJSON, CSV;
+
+		/**
+		 * 🔍 Pick the format from an explicit ?format= value, falling back to the Content-Type
+		 * (anything mentioning "csv" is CSV, everything else is treated as NDJSON).
+		 *
+		 * @return the format, or null if ?format= names something we don't support
+		 */
+		public static Format detect(String format, String contentType) {
+			if (format != null && !format.isBlank()) {
+				try {
+					return valueOf(format.trim().toUpperCase(Locale.ROOT));
+				} catch (IllegalArgumentException e) {
+					return null;
+				}
+			}
+			return contentType != null && contentType.toLowerCase(Locale.ROOT).contains("csv") ? CSV : NDJSON;
+		}
+	}
+
+	/**
+	 * 🚀 Import Every Row of an Upload
+	 *
+	 * Reads the stream to the end, committing one batch at a time. Rows that were
+	 * committed stay committed even if a later batch fails.
+	 */
+	public QuestionImportResult importQuestions(InputStream in, Format format) throws IOException {
+		QuestionImportResult result = new QuestionImportResult();
+		Batch batch = new Batch();
+		BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+
+		Map<String, Integer> csvColumns = null;
+		String line;
+		long lineNumber = 0;
+		while ((line = reader.readLine()) != null) {
+			lineNumber++;
+			if (line.isBlank()) {
+				continue;
+			}
+			if (format == Format.CSV && csvColumns == null) {
+				csvColumns = readHeader(line);
+				String missing = missingColumn(csvColumns);
+				if (missing != null) {
+					result.setTotalRows(1);
+					reject(result, lineNumber, "CSV header is missing the '" + missing + "' column");
+					return result;
+				}
+				continue;
+			}
+
+			result.setTotalRows(result.getTotalRows() + 1);
+			Question question;
+			try {
+				question = format == Format.CSV ? fromCsv(line, csvColumns) : questionReader.readValue(line);
+			} catch (JsonProcessingException e) {
+				reject(result, lineNumber, "Invalid JSON: " + e.getOriginalMessage());
+				continue;
+			} catch (IllegalArgumentException e) {
+				reject(result, lineNumber, e.getMessage());
+				continue;
+			}
+			String problem = validate(question);
+			if (problem != null) {
+				reject(result, lineNumber, problem);
+				continue;
+			}
+
+			batch.add(question, lineNumber);
+			if (batch.size() >= batchSize) {
+				flush(batch, result);
+			}
+		}
+		flush(batch, result);
+		return result;
+	}
+
+	/**
+	 * 💾 Write one batch: reserve IDs, batch-insert, commit, then update the index.
+	 * If the database refuses the batch, every row in it is reported as failed.
+	 */
+	private void flush(Batch batch, QuestionImportResult result) {
+		if (batch.size() == 0) {
+			return;
+		}
+		List<Question> questions = batch.questions;
+		try {
+			transactionTemplate.executeWithoutResult(status -> {
+				List<Integer> ids = jdbcTemplate.queryForList(RESERVE_IDS_SQL, Integer.class, questions.size());
+				for (int i = 0; i < questions.size(); i++) {
+					questions.get(i).setId(ids.get(i));
+				}
+				jdbcTemplate.batchUpdate(INSERT_SQL, questions, questions.size(), (ps, q) -> {
+					ps.setInt(1, q.getId());
+					ps.setString(2, q.getQuestion_title());
+					ps.setString(3, q.getOption1());
+					ps.setString(4, q.getOption2());
+					ps.setString(5, q.getOption3());
+					ps.setString(6, q.getOption4());
+					ps.setString(7, q.getRight_answer());
+					ps.setString(8, q.getDifficultylevel());
+					ps.setString(9, q.getCategory());
+				});
+			});
+			for (Question q : questions) {
+				questionIdIndex.add(q.getCategory(), q.getId());
+			}
+			entityManagerFactory.getCache().unwrap(org.hibernate.Cache.class)
+					.evictQueryRegion(QuestionDao.QUESTIONS_BY_CATEGORY_REGION);
+			categoryCatalog.addedAll(questions);
+			categorySummaryRefresher.markStale();
+			responseBodyCache.invalidate(ResponseBodyCache.Family.CATEGORIES);
+			result.setImportedRows(result.getImportedRows() + questions.size());
+		} catch (DataAccessException e) {
+			e.printStackTrace();
+			String message = "Batch rejected by the database: " + e.getMostSpecificCause().getMessage();
+			for (long lineNumber : batch.lines) {
+				reject(result, lineNumber, message);
+			}
+		}
+		batch.clear();
+	}
+
+	private void reject(QuestionImportResult result, long lineNumber, String message) {
+		result.setFailedRows(result.getFailedRows() + 1);
+		if (result.getErrors().size() < maxReportedErrors) {
+			result.getErrors().add(new QuestionImportResult.RowError(lineNumber, message));
+		}
+	}
+
+	/**
+	 * ✅ Check a row before it's inserted
+	 *
+	 * @return a description of the first problem found, or null if the row is fine
+	 */
+	static String validate(Question q) {
+		String[] values = { q.getQuestion_title(), q.getOption1(), q.getOption2(), q.getOption3(), q.getOption4(),
+				q.getRight_answer(), q.getDifficultylevel(), q.getCategory() };
+		for (int i = 0; i < values.length; i++) {
+			if (values[i] == null || values[i].isBlank()) {
+				return COLUMNS[i] + " is required";
+			}
+			if (values[i].length() > MAX_LENGTH) {
+				return COLUMNS[i] + " is longer than " + MAX_LENGTH + " characters";
+			}
+		}
+		String answer = q.getRight_answer();
+		if (!answer.equals(q.getOption1()) && !answer.equals(q.getOption2())
+				&& !answer.equals(q.getOption3()) && !answer.equals(q.getOption4())) {
+			return "right_answer must match one of the four options";
+		}
+		return null;
+	}
+
+	// ============================
+	// 📊 CSV helpers
+	// ============================
+
+	private static Map<String, Integer> readHeader(String line) {
+		List<String> names = splitCsv(line);
+		Map<String, Integer> columns = new HashMap<>();
+		for (int i = 0; i < names.size(); i++) {
+			columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+		}
+		return columns;
+	}
+
+	private static String missingColumn(Map<String, Integer> columns) {
+		for (String column : COLUMNS) {
+			if (!columns.containsKey(column)) {
+				return column;
+			}
+		}
+		return null;
+	}
+
+	private static Question fromCsv(String line, Map<String, Integer> columns) {
+		List<String> fields = splitCsv(line);
+		String[] values = new String[COLUMNS.length];
+		for (int i = 0; i < COLUMNS.length; i++) {
+			int index = columns.get(COLUMNS[i]);
+			values[i] = index < fields.size() ? fields.get(index) : null;
+		}
+		Question q = new Question();
+		q.setQuestion_title(values[0]);
+		q.setOption1(values[1]);
+		q.setOption2(values[2]);
+		q.setOption3(values[3]);
+		q.setOption4(values[4]);
+		q.setRight_answer(values[5]);
+		q.setDifficultylevel(values[6]);
+		q.setCategory(values[7]);
+		return q;
+	}
+
+	/**
+	 * ✂️ Split one CSV line (RFC 4180 quoting: "a, b" is one field and "" is a literal quote).
+	 * Quoted fields can't span lines - every question has to fit on one row.
+	 */
+	static List<String> splitCsv(String line) {
+		List<String> fields = new ArrayList<>();
+		StringBuilder field = new StringBuilder();
+		boolean quoted = false;
+		for (int i = 0; i < line.length(); i++) {
+			char c = line.charAt(i);
+			if (quoted) {
+				if (c == '"') {
+					if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+						field.append('"');
+						i++;
+					} else {
+						quoted = false;
+					}
+				} else {
+					field.append(c);
+				}
+			} else if (c == '"') {
+				quoted = true;
+			} else if (c == ',') {
+				fields.add(field.toString());
+				field.setLength(0);
+			} else {
+				field.append(c);
+			}
+		}
+		if (quoted) {
+			throw new IllegalArgumentException("Unterminated quoted field");
+		}
+		fields.add(field.toString());
+		return fields;
+	}
+
+	/**
+	 * 📦 The rows waiting to be written, with the line each came from
+	 */
+	private static final class Batch {
+
+		private final List<Question> questions = new ArrayList<>();
+		private final List<Long> lines = new ArrayList<>();
+
+		void add(Question question, long line) {
+			questions.add(question);
+			lines.add(line);
+		}
+
+		int size() {
+			return questions.size();
+		}
+
+		void clear() {
+			questions.clear();
+			lines.clear();
+		}
+	}
+}
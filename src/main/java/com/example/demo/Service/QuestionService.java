@@ -1,16 +1,40 @@
 package com.example.demo.Service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.example.demo.Dao.QuestionDao;
+import com.example.demo.Dao.QuestionTombstoneDao;
+import com.example.demo.Dao.QuizDao;
+import com.example.demo.Model.CategoryCount;
 import com.example.demo.Model.Question;
+import com.example.demo.Model.QuestionChanges;
+import com.example.demo.Model.QuestionImportResult;
+import com.example.demo.Model.QuestionPage;
+import com.example.demo.Model.QuestionTombstone;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import io.micrometer.observation.annotation.Observed;
+import jakarta.persistence.EntityManager;
 
 /**
  * 🧠 QuestionService - The Brain Behind Question Management!
@@ -30,6 +54,7 @@ import com.example.demo.Model.Question;
  * @version 1.0
  */
 @Service
+@Observed(name = "service.question")
 public class QuestionService {
 	
 	/** 🔌 Our connection to the question database operations */
@@ -38,15 +63,86 @@ public class QuestionService {
 	
 	@Autowired
 	QuestionDao repo;
+	
+	/** 🗂️ Per-category ID index used for random quiz picks - kept in sync on every write */
+	@Autowired
+	QuestionIdIndex questionIdIndex;
+	
+	/** 🔗 Lets us find the quizzes that use a question */
+	@Autowired
+	QuizDao quizDao;
+	
+	/** 📄 Cached quiz papers - must be thrown away when one of their questions changes */
+	@Autowired
+	QuizPaperCache quizPaperCache;
+	
+	/** 🔑 Cached answer keys - same story as the papers */
+	@Autowired
+	AnswerKeyCache answerKeyCache;
+	
+	/** 🗜️ Serialized responses (quiz papers, quiz list, categories) - told about every write */
+	@Autowired
+	ResponseBodyCache responseBodyCache;
+	
+	/** 📒 In-memory category counts, updated on every write */
+	@Autowired
+	CategoryCatalog categoryCatalog;
+	
+	/** 🔄 Told about every write so the category summary gets refreshed */
+	@Autowired
+	CategorySummaryRefresher categorySummaryRefresher;
+	
+	/** 📥 Does the heavy lifting for bulk imports */
+	@Autowired
+	QuestionImporter questionImporter;
+	
+	/** 🪦 Deleted questions, for the changes-since endpoint */
+	@Autowired
+	QuestionTombstoneDao questionTombstoneDao;
+	
+	/** 🧾 Turns questions into JSON for the export (same settings as our REST responses) */
+	@Autowired
+	ObjectMapper objectMapper;
+	
+	/** 🧹 Lets the export drop each question from memory once it's written */
+	@Autowired
+	EntityManager entityManager;
+	
+	/** 📏 Page size used when the client doesn't ask for one */
+	@Value("${question.page.default-size:50}")
+	int defaultPageSize;
+	
+	/** 📏 Biggest page a client may ask for - keeps memory per request bounded */
+	@Value("${question.page.max-size:500}")
+	int maxPageSize;
+	
+	/** 📏 Changes per changes-since response when the client doesn't say */
+	@Value("${question.changes.default-size:1000}")
+	int defaultChangesSize;
+	
+	/** 📏 Most changes a client may ask for in one response */
+	@Value("${question.changes.max-size:5000}")
+	int maxChangesSize;
 
 	/**
 	 * 📋 Get All Question Categories
 	 * 
 	 * Like asking "What subjects do we have questions for?"
-	 * Returns a list of unique categories (Java, Python, JavaScript, etc.)
+	 * Returns a sorted list of unique categories (Java, Python, JavaScript, etc.)
+	 * straight from the in-memory catalog - no database query.
 	 */
 	public List<String> getAllCategories() {
-		return questionDao.findDistinctCategories();
+		return categoryCatalog.categories();
+	}
+
+	/**
+	 * 📊 Get Every Category With Its Question Counts
+	 * 
+	 * Same as the category list, plus how many questions each category has
+	 * in total and per difficulty level. Also served from memory.
+	 */
+	public List<CategoryCount> getCategoryCounts() {
+		return categoryCatalog.counts();
 	}
 
 	/**
@@ -56,6 +152,7 @@ public class QuestionService {
 	 * Returns all questions with proper error handling.
 	 * If something goes wrong, we return an empty list instead of crashing!
 	 */
+	@Transactional(readOnly = true)
 	public ResponseEntity<List<Question>> getAllQuestions() {
 		try {
 			return new ResponseEntity<>(repo.findAll(), HttpStatus.OK);
@@ -65,12 +162,150 @@ public class QuestionService {
 		return new ResponseEntity<>(new ArrayList<>(), HttpStatus.NOT_FOUND);
 	}
 
+	/**
+	 * 📄 Get One Page of Questions (with optional filters)
+	 * 
+	 * The memory-friendly way to browse the bank. Pass the nextCursor from the
+	 * previous page to continue; leave it empty to start from the beginning.
+	 * Category and difficulty filters can be combined.
+	 * 
+	 * We fetch one extra row to find out whether there is a next page at all.
+	 */
+	@Transactional(readOnly = true)
+	public ResponseEntity<QuestionPage> getQuestionPage(String cursor, Integer size, String category, String difficulty) {
+		int afterId;
+		try {
+			afterId = decodeCursor(cursor);
+		} catch (IllegalArgumentException e) {
+			return new ResponseEntity<>(new QuestionPage(new ArrayList<>(), null), HttpStatus.BAD_REQUEST);
+		}
+		int pageSize = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+		Limit limit = Limit.of(pageSize + 1);
+		boolean byCategory = category != null && !category.isBlank();
+		boolean byDifficulty = difficulty != null && !difficulty.isBlank();
+
+		List<Question> rows;
+		if (byCategory && byDifficulty) {
+			rows = repo.findByCategoryAndDifficultylevelAndIdGreaterThanOrderByIdAsc(category, difficulty, afterId, limit);
+		} else if (byCategory) {
+			rows = repo.findByCategoryAndIdGreaterThanOrderByIdAsc(category, afterId, limit);
+		} else if (byDifficulty) {
+			rows = repo.findByDifficultylevelAndIdGreaterThanOrderByIdAsc(difficulty, afterId, limit);
+		} else {
+			rows = repo.findByIdGreaterThanOrderByIdAsc(afterId, limit);
+		}
+
+		String nextCursor = null;
+		if (rows.size() > pageSize) {
+			rows = rows.subList(0, pageSize);
+			nextCursor = encodeCursor(rows.get(pageSize - 1).getId());
+		}
+		return new ResponseEntity<>(new QuestionPage(rows, nextCursor), HttpStatus.OK);
+	}
+
+	/**
+	 * 🔄 What Changed Since Version N?
+	 * 
+	 * Lets a client keep its own copy of the bank and only download the difference:
+	 * questions added/updated after N and IDs of questions deleted after N, merged
+	 * in version order and capped at size entries. Both come straight off the
+	 * change_version indexes, so an up-to-date client costs two index probes
+	 * instead of a full table scan.
+	 * 
+	 * Versions are stamped by database triggers and commit in order (see
+	 * V5__question_change_versions.sql), so nothing can appear below a version
+	 * a client has already seen.
+	 * 
+	 * Both lists are read from one snapshot (REPEATABLE READ). Under READ COMMITTED
+	 * an update (v1) and a delete (v2) committing between the two queries would
+	 * return v2 without v1, and the client would move past v1 without ever seeing it.
+	 */
+	@Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+	public ResponseEntity<QuestionChanges> getChangesSince(long version, Integer size) {
+		if (version < 0) {
+			return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+		}
+		int pageSize = size == null ? defaultChangesSize : Math.max(1, Math.min(size, maxChangesSize));
+		List<Question> changed = repo.findChangedSince(version, Limit.of(pageSize + 1));
+		List<QuestionTombstone> deleted = questionTombstoneDao.findByChangeVersionGreaterThanOrderByChangeVersionAsc(version, Limit.of(pageSize + 1));
+
+		if (changed.isEmpty() && deleted.isEmpty()) {
+			// Nothing new - unless the client has a version we never handed out
+			boolean reset = version > 0 && version > Math.max(repo.findLatestChangeVersion(), questionTombstoneDao.findLatestVersion());
+			return new ResponseEntity<>(new QuestionChanges(reset ? 0 : version, List.of(), List.of(), false, reset), HttpStatus.OK);
+		}
+
+		// Merge both lists by version and stop after pageSize entries
+		List<Question> pageChanged = new ArrayList<>();
+		List<Integer> pageDeleted = new ArrayList<>();
+		int c = 0;
+		int d = 0;
+		long last = version;
+		while (c + d < pageSize && (c < changed.size() || d < deleted.size())) {
+			boolean takeChanged = d >= deleted.size()
+					|| (c < changed.size() && changed.get(c).getChange_version() < deleted.get(d).getChangeVersion());
+			if (takeChanged) {
+				Question q = changed.get(c++);
+				pageChanged.add(q);
+				last = q.getChange_version();
+			} else {
+				QuestionTombstone t = deleted.get(d++);
+				pageDeleted.add(t.getQuestionId());
+				last = t.getChangeVersion();
+			}
+		}
+		boolean more = c < changed.size() || d < deleted.size();
+		return new ResponseEntity<>(new QuestionChanges(last, pageChanged, pageDeleted, more, false), HttpStatus.OK);
+	}
+
+	/** 🎫 The cursor is just the last ID we sent, wrapped so clients treat it as opaque */
+	private static String encodeCursor(int lastId) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(Integer.toString(lastId).getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static int decodeCursor(String cursor) {
+		if (cursor == null || cursor.isBlank()) {
+			return 0;
+		}
+		return Integer.parseInt(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * 🚰 Export the Whole Question Bank as NDJSON
+	 * 
+	 * Writes one question per line (newline-delimited JSON) straight to the given stream.
+	 * Rows come from a database cursor and each question is detached right after it's
+	 * written, so memory use stays flat whether the bank has a thousand rows or ten million.
+	 * 
+	 * @return how many questions were written
+	 */
+	@Transactional(readOnly = true)
+	public long exportQuestions(OutputStream out) throws IOException {
+		ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+		long count = 0;
+		try (Stream<Question> rows = repo.streamAllOrderedById();
+				JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+			generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+			generator.setRootValueSeparator(null);
+			for (Question q : (Iterable<Question>) rows::iterator) {
+				writer.writeValue(generator, q);
+				generator.writeRaw('\n');
+				entityManager.detach(q);
+				count++;
+			}
+			generator.flush();
+		}
+		return count;
+	}
+
 	/**
 	 * 🔍 Find Questions by Category
 	 * 
 	 * Like asking "Show me all Java questions" or "Give me Python questions"
 	 * Perfect for creating category-specific quizzes!
+	 * For big categories, prefer getQuestionPage - this one returns everything at once.
 	 */
+	@Transactional(readOnly = true)
 	public List<Question> getByCategory(String category) {
 		return repo.findByCategory(category);
 	}
@@ -83,7 +318,11 @@ public class QuestionService {
 	 */
 	public ResponseEntity<String> addQuestion(Question question) {
 		try {
-			repo.save(question);
+			Question saved = repo.save(question);
+			questionIdIndex.add(saved.getCategory(), saved.getId());
+			categoryCatalog.added(saved);
+			categorySummaryRefresher.markStale();
+			responseBodyCache.invalidate(ResponseBodyCache.Family.CATEGORIES);
 			return new ResponseEntity<>("Question Added Successfully", HttpStatus.CREATED);
 		} catch(Exception e) {
 			e.printStackTrace();
@@ -91,12 +330,35 @@ public class QuestionService {
 		return new ResponseEntity<>("Can't be CREATED", HttpStatus.FORBIDDEN);
 	}
 
+	/**
+	 * 📥 Bulk Import Questions from an Upload
+	 * 
+	 * Accepts NDJSON (one question per line) or CSV (with a header row).
+	 * Good rows are saved in batches, bad rows are listed in the result with
+	 * their line number - so the admin can fix just those and upload them again.
+	 * 
+	 * @param format "ndjson" or "csv"; when null it's guessed from the Content-Type
+	 */
+	public ResponseEntity<QuestionImportResult> importQuestions(InputStream body, String format, String contentType) {
+		QuestionImporter.Format detected = QuestionImporter.Format.detect(format, contentType);
+		if (detected == null) {
+			return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+		}
+		try {
+			return new ResponseEntity<>(questionImporter.importQuestions(body, detected), HttpStatus.OK);
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+		return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+	}
+
 	/**
 	 * 🎯 Find a Specific Question by its ID
 	 * 
 	 * Like looking up a specific book by its ISBN number.
 	 * Returns Optional in case the question doesn't exist.
 	 */
+	@Transactional(readOnly = true)
 	public Optional<Question> getById(int id) {
 		return repo.findById(id);
 	}
@@ -110,8 +372,14 @@ public class QuestionService {
 	 */
 	public ResponseEntity<String> deleteQuestion(int id) {
 		try {
-			if (repo.existsById(id)) {
+			Optional<Question> existing = repo.findById(id);
+			if (existing.isPresent()) {
+				evictQuizzesContaining(id);
 				repo.deleteById(id);
+				questionIdIndex.remove(existing.get().getCategory(), id);
+				categoryCatalog.removed(existing.get());
+				categorySummaryRefresher.markStale();
+				responseBodyCache.invalidate(ResponseBodyCache.Family.CATEGORIES);
 				return new ResponseEntity<>("Question deleted successfully", HttpStatus.OK);
 			} else {
 				return new ResponseEntity<>("Question not found", HttpStatus.NOT_FOUND);
@@ -131,10 +399,18 @@ public class QuestionService {
 	 */
 	public ResponseEntity<String> updateQuestion(int id, Question question) {
 		try {
-			if (repo.existsById(id)) {
+			Optional<Question> existing = repo.findById(id);
+			if (existing.isPresent()) {
+				String previousCategory = existing.get().getCategory();
+				String previousDifficulty = existing.get().getDifficultylevel();
 				// Make sure we're updating the right question by setting the ID
 				question.setId(id);
 				repo.save(question);
+				questionIdIndex.move(previousCategory, question.getCategory(), id);
+				categoryCatalog.moved(previousCategory, previousDifficulty, question.getCategory(), question.getDifficultylevel());
+				categorySummaryRefresher.markStale();
+				responseBodyCache.invalidate(ResponseBodyCache.Family.CATEGORIES);
+				evictQuizzesContaining(id);
 				return new ResponseEntity<>("Question updated successfully", HttpStatus.OK);
 			} else {
 				return new ResponseEntity<>("Question not found", HttpStatus.NOT_FOUND);
@@ -144,4 +420,19 @@ public class QuestionService {
 			return new ResponseEntity<>("Error updating question", HttpStatus.INTERNAL_SERVER_ERROR);
 		}
 	}
+
+	/**
+	 * 🧹 Throw away cached data for every quiz that uses this question,
+	 * so users never see an outdated version of it.
+	 */
+	private void evictQuizzesContaining(int questionId) {
+		List<Integer> quizIds = quizDao.findQuizIdsByQuestionId(questionId);
+		for (Integer quizId : quizIds) {
+			quizPaperCache.evict(quizId);
+			answerKeyCache.evict(quizId);
+		}
+		if (!quizIds.isEmpty()) {
+			responseBodyCache.invalidate(ResponseBodyCache.Family.QUIZZES);
+		}
+	}
 }
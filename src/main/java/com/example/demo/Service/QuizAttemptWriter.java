@@ -0,0 +1,154 @@
+package com.example.demo.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.Dao.QuizAttemptDao;
+import com.example.demo.Model.QuizAttempt;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 📮 QuizAttemptWriter - The Mailroom for Submitted Quizzes!
+ *
+ * At the end of an exam everyone hits "Submit" within the same few seconds.
+ * Instead of writing each attempt to the database while the user waits, we:
+ * 1. Drop the scored attempt into a bounded in-memory queue (instant!) 📥
+ * 2. Let one background thread drain the queue in big batches 📦
+ * 3. Save each batch in a single transaction, as JDBC batch inserts 💾
+ *
+ * The queue has a fixed capacity. When it's full, offer() says no and the
+ * caller tells the client to retry later (HTTP 503) - that's our backpressure,
+ * so a burst can never eat all the memory.
+ *
+ * If a batch fails, its attempts are saved one by one so only the bad ones
+ * are lost, not everyone queued alongside them.
+ *
+ * On shutdown the writer finishes whatever is still queued before stopping.
+ *
+ * @author KUNAL M
+ * @version 1.0
+ */
+@Component
+public class QuizAttemptWriter {
+
+	/** 💾 Where the attempts end up */
+	@Autowired
+	QuizAttemptDao attemptDao;
+
+	/** 📬 Attempts waiting to be saved */
+	private final BlockingQueue<QuizAttempt> queue;
+
+	/** 📦 Max attempts saved per transaction */
+	private final int batchSize;
+
+	/** 🔁 One transaction per batch */
+	private final TransactionTemplate transactionTemplate;
+
+	private volatile boolean running = true;
+	private Thread worker;
+
+	@Autowired
+	public QuizAttemptWriter(@Value("${quiz.attempts.queue-capacity:10000}") int queueCapacity,
+			@Value("${quiz.attempts.batch-size:200}") int batchSize,
+			PlatformTransactionManager transactionManager) {
+		this(queueCapacity, batchSize, new TransactionTemplate(transactionManager));
+	}
+
+	QuizAttemptWriter(int queueCapacity, int batchSize, TransactionTemplate transactionTemplate) {
+		this.queue = new ArrayBlockingQueue<>(queueCapacity);
+		this.batchSize = batchSize;
+		this.transactionTemplate = transactionTemplate;
+	}
+
+	/**
+	 * 📥 Queue an attempt to be saved
+	 *
+	 * @return false if the queue is full - the caller should ask the client to retry
+	 */
+	public boolean offer(QuizAttempt attempt) {
+		return running && queue.offer(attempt);
+	}
+
+	/** 🔢 How many attempts are waiting right now */
+	public int pending() {
+		return queue.size();
+	}
+
+	@PostConstruct
+	void start() {
+		worker = new Thread(this::drainLoop, "quiz-attempt-writer");
+		worker.setDaemon(true);
+		worker.start();
+	}
+
+	/**
+	 * 🛑 Stop taking new attempts and flush what's left before the app shuts down
+	 */
+	@PreDestroy
+	void stop() throws InterruptedException {
+		running = false;
+		worker.join(TimeUnit.SECONDS.toMillis(30));
+	}
+
+	private void drainLoop() {
+		List<QuizAttempt> batch = new ArrayList<>(batchSize);
+		while (running || !queue.isEmpty()) {
+			try {
+				QuizAttempt first = queue.poll(200, TimeUnit.MILLISECONDS);
+				if (first == null) {
+					continue;
+				}
+				batch.add(first);
+				queue.drainTo(batch, batchSize - 1);
+				save(batch);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			} finally {
+				batch.clear();
+			}
+		}
+	}
+
+	private void save(List<QuizAttempt> batch) {
+		try {
+			transactionTemplate.executeWithoutResult(status -> attemptDao.saveAll(batch));
+		} catch (Exception e) {
+			if (batch.size() == 1) {
+				// A failed attempt is logged and dropped so one bad row can't stall every submission behind it
+				System.err.println("❌ Failed to save quiz attempt for " + batch.get(0).getUsername());
+				e.printStackTrace();
+				return;
+			}
+			// The whole batch rolled back - retry each attempt on its own to find the bad one(s)
+			System.err.println("⚠️ Failed to save " + batch.size() + " quiz attempts, saving them one by one");
+			for (QuizAttempt attempt : batch) {
+				clearIds(attempt);
+				save(List.of(attempt));
+			}
+		}
+	}
+
+	/**
+	 * 🧽 Forget the IDs a rolled-back persist handed out
+	 *
+	 * The sequence values stay on the entities after the rollback. With an ID set,
+	 * saveAll() would merge instead of persist, and merging an entity whose row
+	 * doesn't exist fails - so the retry would lose the good attempts too.
+	 */
+	private static void clearIds(QuizAttempt attempt) {
+		attempt.setId(null);
+		attempt.getAnswers().forEach(answer -> answer.setId(null));
+	}
+}
@@ -0,0 +1,51 @@
+package com.example.demo.Service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 📈 QuizMetrics - The Scoreboard Behind the Scoreboard!
+ *
+ * Counts submissions and records scores per quiz, so during an exam we can see
+ * how many answers are coming in and how people are doing:
+ * - quiz.submissions{quiz, outcome} - accepted, or rejected because the save queue was full 📮
+ * - quiz.score{quiz} - score as a percentage of the quiz's questions 🎯
+ *
+ * Tagged by quiz id - quizzes are created by admins, so the number of tags stays small.
+ *
+ * @author KUNAL M
+ * @version 1.0
+ */
+@Component
+public class QuizMetrics {
+
+	@Autowired
+	MeterRegistry meterRegistry;
+
+	/**
+	 * 📝 One graded submission
+	 *
+	 * @param accepted false when the attempt couldn't be queued (the client got a 503)
+	 */
+	public void submitted(int quizId, int right, int total, boolean accepted) {
+		String quiz = Integer.toString(quizId);
+		Counter.builder("quiz.submissions")
+				.description("Graded quiz submissions")
+				.tag("quiz", quiz)
+				.tag("outcome", accepted ? "accepted" : "rejected")
+				.register(meterRegistry)
+				.increment();
+		if (accepted && total > 0) {
+			DistributionSummary.builder("quiz.score")
+					.description("Scores of accepted submissions, in percent")
+					.baseUnit("percent")
+					.tag("quiz", quiz)
+					.register(meterRegistry)
+					.record(right * 100.0 / total);
+		}
+	}
+}
@@ -0,0 +1,60 @@
+package com.example.demo.Service;
+
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.Model.QuestionWrapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 📄 QuizPaperCache - Print the Question Paper Once, Hand Out Copies Forever!
+ *
+ * During an exam the same quiz is requested thousands of times a minute, and each
+ * request used to load the quiz, walk its questions and build fresh QuestionWrappers.
+ * This cache keeps the finished, answer-free paper for each quiz ID instead.
+ *
+ * - Read-through: the first request builds the paper, everyone else gets the copy 📋
+ * - Size-bounded: Caffeine evicts the least valuable papers (W-TinyLFU, a mix of LRU and LFU) 🧹
+ * - Kept honest: quiz deletes and question edits/deletes evict the affected papers ✏️
+ * - Observable: hits, misses and evictions show up under /actuator/metrics/cache.* 📊
+ *
+ * @author KUNAL M
+ * @version 1.0
+ */
+@Component
+public class QuizPaperCache {
+
+	/** 📦 quiz ID -> ready-to-serve list of questions (without answers) */
+	private final ReadThroughCache<Integer, List<QuestionWrapper>> papers;
+
+	public QuizPaperCache(@Value("${quiz.paper-cache.max-size:1000}") long maxSize, MeterRegistry meterRegistry) {
+		this.papers = new ReadThroughCache<>("quizPapers", maxSize, meterRegistry);
+	}
+
+	/**
+	 * 📖 Get a Quiz Paper, Building It on a Miss
+	 *
+	 * The loader may return null (e.g. the quiz doesn't exist) - nothing is cached then.
+	 * The cached list is immutable, so every caller can safely share it.
+	 */
+	public List<QuestionWrapper> get(int quizId, Function<Integer, List<QuestionWrapper>> loader) {
+		return papers.get(quizId, id -> {
+			List<QuestionWrapper> paper = loader.apply(id);
+			return paper == null ? null : List.copyOf(paper);
+		});
+	}
+
+	/** 🗑️ Forget one quiz's paper (the quiz was deleted or one of its questions changed) */
+	public void evict(int quizId) {
+		papers.evict(quizId);
+	}
+
+	/** 🧹 Forget every paper (all quizzes were deleted) */
+	public void evictAll() {
+		papers.evictAll();
+	}
+}
@@ -1,21 +1,32 @@
 package com.example.demo.Service;
 
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
 import com.example.demo.Dao.QuestionDao;
 import com.example.demo.Dao.QuizDao;
+import com.example.demo.Model.AttemptAnswer;
 import com.example.demo.Model.Question;
 import com.example.demo.Model.QuestionWrapper;
 import com.example.demo.Model.Quiz;
+import com.example.demo.Model.QuizSummary;
+import com.example.demo.Model.QuizAttempt;
 import com.example.demo.Model.Response;
 
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.observation.annotation.Observed;
+
 /**
  * 🎯 QuizService - The Quiz Master That Orchestrates Everything!
  * 
@@ -32,6 +43,7 @@ import com.example.demo.Model.Response;
  * @version 1.0
  */
 @Service
+@Observed(name = "service.quiz")
 public class QuizService {
 	
 	/** 🎲 Our connection to quiz database operations */
@@ -41,6 +53,38 @@ public class QuizService {
 	/** 📚 Our connection to question database operations */
 	@Autowired 
 	QuestionDao repo;
+	
+	/** 🗂️ In-memory question IDs per category, used to draw random questions */
+	@Autowired
+	QuestionIdIndex questionIdIndex;
+	
+	/** 📒 Question counts per category, to reject impossible quizzes up front */
+	@Autowired
+	CategoryCatalog categoryCatalog;
+	
+	/** 📄 Ready-made quiz papers, so popular quizzes aren't rebuilt on every request */
+	@Autowired
+	QuizPaperCache quizPaperCache;
+	
+	/** 🔑 Compact answer keys, so grading never has to load the quiz */
+	@Autowired
+	AnswerKeyCache answerKeyCache;
+	
+	/** 🗜️ Serialized quiz papers and quiz list - told about every quiz write */
+	@Autowired
+	ResponseBodyCache responseBodyCache;
+	
+	/** 📮 Saves submitted attempts in the background, in batches */
+	@Autowired
+	QuizAttemptWriter quizAttemptWriter;
+	
+	/** 📈 Submission counts and scores per quiz */
+	@Autowired
+	QuizMetrics quizMetrics;
+	
+	/** ⏱️ Longest time limit a quiz may have - the exam timer can't look further ahead */
+	@Value("${quiz.exam.max-time-limit-seconds:604800}")
+	int maxTimeLimitSeconds;
 
 	/**
 	 * 🎪 Create a Brand New Quiz!
@@ -51,11 +95,31 @@ public class QuizService {
 	 * 3. Gives it a catchy title
 	 * 
 	 * For example: "Java Expert Challenge" with 10 random Java questions
+	 * 
+	 * The random IDs come from the in-memory QuestionIdIndex, and only those rows
+	 * are loaded, in a single findAllById batch. Pass a seed to reproduce a draw.
+	 * Asking for more questions than the category has is rejected (400) right away,
+	 * using the counts in the CategoryCatalog.
+	 * A time limit (seconds) makes it a timed quiz, taken through exam attempts.
+	 * It can be at most quiz.exam.max-time-limit-seconds (a week by default).
 	 */
-	public ResponseEntity<String> createQuize(String category, int numQ, String title) {
+	@Timed(value = "quiz.create", description = "Creating a quiz from random questions")
+	public ResponseEntity<String> createQuize(String category, int numQ, String title, Long seed, Integer timeLimitSeconds) {
 		try {
-			// Get random questions from the specified category
-			List<Question> questions = repo.findRandomQuestionsByCategory(category, numQ);
+			if (timeLimitSeconds != null && (timeLimitSeconds <= 0 || timeLimitSeconds > maxTimeLimitSeconds)) {
+				return new ResponseEntity<>("timeLimit must be between 1 and " + maxTimeLimitSeconds + " seconds", HttpStatus.BAD_REQUEST);
+			}
+			// Check the request against the in-memory counts before touching the database
+			long available = categoryCatalog.count(category);
+			if (available == 0) {
+				return new ResponseEntity<>("No questions found for category: " + category, HttpStatus.BAD_REQUEST);
+			}
+			if (numQ <= 0 || numQ > available) {
+				return new ResponseEntity<>("numQ must be between 1 and " + available + " for category: " + category, HttpStatus.BAD_REQUEST);
+			}
+
+			// Draw random question IDs, then load just those questions
+			List<Question> questions = loadInOrder(questionIdIndex.sample(category, numQ, seed));
 
 			if (questions == null || questions.isEmpty()) {
 				return new ResponseEntity<>("No questions found for category: " + category, HttpStatus.BAD_REQUEST);
@@ -65,8 +129,10 @@ public class QuizService {
 			Quiz quiz = new Quiz();
 			quiz.setTitle(title);
 			quiz.setQuestions(questions);
+			quiz.setTimeLimitSeconds(timeLimitSeconds);
 
 			quizDao.save(quiz);
+			responseBodyCache.invalidate(ResponseBodyCache.Family.QUIZZES);
 
 			return new ResponseEntity<>("Quiz created successfully", HttpStatus.CREATED);
 		} catch (Exception e) {
@@ -75,6 +141,29 @@ public class QuizService {
 		}
 	}
 
+	/**
+	 * 📦 Load questions by ID in one round trip, keeping the sampled order
+	 * (findAllById makes no promise about the order rows come back in).
+	 */
+	private List<Question> loadInOrder(int[] ids) {
+		List<Integer> idList = new ArrayList<>(ids.length);
+		for (int id : ids) {
+			idList.add(id);
+		}
+		Map<Integer, Question> byId = new HashMap<>();
+		for (Question q : repo.findAllById(idList)) {
+			byId.put(q.getId(), q);
+		}
+		List<Question> ordered = new ArrayList<>(ids.length);
+		for (int id : ids) {
+			Question q = byId.get(id);
+			if (q != null) {
+				ordered.add(q);
+			}
+		}
+		return ordered;
+	}
+
 	/**
 	 * 📊 Calculate Quiz Score - The Moment of Truth!
 	 * 
@@ -85,22 +174,89 @@ public class QuizService {
 	 * 4. Return their score
 	 * 
 	 * It's like an automatic grading system! 🤖
+	 * Responses are matched to questions by their ID, against the quiz's cached
+	 * AnswerKey - no quiz or question is loaded once the key exists.
+	 * 
+	 * The attempt is then handed to QuizAttemptWriter to be saved in the background,
+	 * so the score comes back right away. If the save queue is full we answer
+	 * 503 with Retry-After instead, and the client should submit again shortly.
+	 * 
+	 * Timed quizzes can't be submitted here (409) - they go through an exam attempt,
+	 * which has a deadline.
 	 */
-	public ResponseEntity<Integer> calculateResult(int id, List<Response> responses) {
-		Quiz quiz = quizDao.findById(id).get();		
-		List<Question> questions = quiz.getQuestions();
-		int right = 0;
-		int i = 0;
+	@Timed(value = "quiz.submit", description = "Grading a quiz submission")
+	public ResponseEntity<Integer> calculateResult(int id, List<Response> responses, String username) {
+		AnswerKey answerKey = answerKeyCache.get(id, this::buildAnswerKey);
+		if (answerKey == null) {
+			return new ResponseEntity<>(0, HttpStatus.NOT_FOUND);
+		}
+		if (answerKey.timeLimitSeconds() != null) {
+			return new ResponseEntity<>(HttpStatus.CONFLICT);
+		}
+		int right = answerKey.score(responses);
 		
-		// Check each response against the correct answer
-		for(Response response: responses) {
-			if(response.getResponse().equals(questions.get(i).getRight_answer()))
-				right++;
-			i++;
+		if (!recordAttempt(id, username, answerKey, right, responses)) {
+			return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+					.header(HttpHeaders.RETRY_AFTER, "1")
+					.build();
 		}
 		return new ResponseEntity<>(right, HttpStatus.OK);
 	}
 
+	/**
+	 * 📮 Queue a graded submission to be saved with its answers, and count it in the metrics
+	 * 
+	 * @return false if the save queue is full
+	 */
+	public boolean recordAttempt(int quizId, String username, AnswerKey answerKey, int score, List<Response> responses) {
+		boolean queued = quizAttemptWriter.offer(toAttempt(quizId, username, answerKey, score, responses));
+		quizMetrics.submitted(quizId, score, answerKey.size(), queued);
+		return queued;
+	}
+
+	/**
+	 * 📝 Turn a graded submission into an attempt record (answers for unknown questions are skipped)
+	 */
+	private QuizAttempt toAttempt(int quizId, String username, AnswerKey answerKey, int score, List<Response> responses) {
+		QuizAttempt attempt = new QuizAttempt();
+		attempt.setQuizId(quizId);
+		attempt.setUsername(username);
+		attempt.setScore(score);
+		attempt.setTotalQuestions(answerKey.size());
+		attempt.setSubmittedAt(Instant.now());
+		for (Response response : responses) {
+			if (!answerKey.contains(response.getId())) {
+				continue;
+			}
+			AttemptAnswer answer = new AttemptAnswer();
+			answer.setQuestionId(response.getId());
+			answer.setResponse(response.getResponse());
+			answer.setSelectedOption(response.getOption());
+			answer.setCorrect(answerKey.isCorrect(response));
+			attempt.addAnswer(answer);
+		}
+		return attempt;
+	}
+
+	/**
+	 * 🔑 The (cached) answer key for a quiz, or null if the quiz doesn't exist
+	 *
+	 * Live sessions use it to reveal the right option once a question closes,
+	 * and exam attempts to read the time limit and grade.
+	 */
+	public AnswerKey getAnswerKey(int id) {
+		return answerKeyCache.get(id, this::buildAnswerKey);
+	}
+
+	/**
+	 * 🔑 Build the answer key for a quiz (null if the quiz doesn't exist)
+	 */
+	private AnswerKey buildAnswerKey(int id) {
+		return quizDao.findWithQuestionsById(id)
+				.map(quiz -> AnswerKey.of(quiz.getQuestions(), quiz.getTimeLimitSeconds()))
+				.orElse(null);
+	}
+
 	/**
 	 * 🎭 Get Quiz Questions (Without Spoiling the Answers!)
 	 * 
@@ -109,19 +265,54 @@ public class QuizService {
 	 * a test paper without the answer sheet!
 	 * 
 	 * We use QuestionWrapper to hide the right_answer field.
+	 * The finished paper is cached per quiz, so only the first request
+	 * after a change actually touches the database.
+	 * 
+	 * Timed quizzes get a 409: their paper is only handed out with a running
+	 * exam attempt, so nobody can read the questions before the clock starts.
 	 */
+	@Timed(value = "quiz.paper", description = "Serving a quiz's questions (cached)")
 	public ResponseEntity<List<QuestionWrapper>> getQuizQuestions(int id) {
-		Optional<Quiz> quiz = quizDao.findById(id);
+		AnswerKey answerKey = getAnswerKey(id);
+		if (answerKey != null && answerKey.timeLimitSeconds() != null) {
+			return new ResponseEntity<>(HttpStatus.CONFLICT);
+		}
+		List<QuestionWrapper> questionForUser = getPaper(id);
+		if (questionForUser == null) {
+			return new ResponseEntity<>(new ArrayList<>(), HttpStatus.NOT_FOUND);
+		}
+		return new ResponseEntity<>(questionForUser, HttpStatus.OK);
+	}
+
+	/**
+	 * 📄 The (cached) answer-free paper of any quiz, timed or not - null if the quiz doesn't exist
+	 *
+	 * For callers that already checked who may see it: open exam attempts and live sessions.
+	 * 
+	 * Deliberately not @Transactional(readOnly = true): a miss is cached until the next
+	 * write, so it's loaded from the primary - a lagging replica could still have the
+	 * paper from before the edit that evicted it (and grade against a different answer key).
+	 */
+	public List<QuestionWrapper> getPaper(int id) {
+		return quizPaperCache.get(id, this::buildQuizPaper);
+	}
+
+	/**
+	 * 🖨️ Build the answer-free paper for a quiz (null if the quiz doesn't exist)
+	 */
+	private List<QuestionWrapper> buildQuizPaper(int id) {
+		Optional<Quiz> quiz = quizDao.findWithQuestionsById(id);
+		if (quiz.isEmpty()) {
+			return null;
+		}
 		List<Question> questionFromDb = quiz.get().getQuestions();
-		List<QuestionWrapper> questionForUser = new ArrayList<>();
+		List<QuestionWrapper> questionForUser = new ArrayList<>(questionFromDb.size());
 		
 		// Convert each Question to QuestionWrapper (hiding the correct answer)
 		for(Question q: questionFromDb) {
-			QuestionWrapper qw = new QuestionWrapper(q.getId(), q.getQuestion_title(), 
-				q.getOption1(), q.getOption2(), q.getOption3(), q.getOption4());
-			questionForUser.add(qw);
+			questionForUser.add(QuestionWrapper.from(q));
 		}
-		return new ResponseEntity<>(questionForUser, HttpStatus.OK);
+		return questionForUser;
 	}
 
 	/**
@@ -135,6 +326,9 @@ public class QuizService {
 			Optional<Quiz> quiz = quizDao.findById(id);
 			if (quiz.isPresent()) {
 				quizDao.deleteById(id);
+				quizPaperCache.evict(id);
+				answerKeyCache.evict(id);
+				responseBodyCache.invalidate(ResponseBodyCache.Family.QUIZZES);
 				return new ResponseEntity<>("Quiz deleted successfully", HttpStatus.OK);
 			} else {
 				return new ResponseEntity<>("Quiz not found with id: " + id, HttpStatus.NOT_FOUND);
@@ -156,6 +350,9 @@ public class QuizService {
 			long count = quizDao.count();
 			if (count > 0) {
 				quizDao.deleteAll();
+				quizPaperCache.evictAll();
+				answerKeyCache.evictAll();
+				responseBodyCache.invalidate(ResponseBodyCache.Family.QUIZZES);
 				return new ResponseEntity<>(" All " + count + " quizzes deleted successfully", HttpStatus.OK);
 			} else {
 				return new ResponseEntity<>("ℹ No quizzes found to delete", HttpStatus.OK);
@@ -171,14 +368,31 @@ public class QuizService {
 	 * 
 	 * Like browsing a quiz catalog! Shows all quizzes that users can take.
 	 * Perfect for displaying a "Choose Your Quiz" page.
+	 * 
+	 * Returns lightweight summaries (title, question count, categories) built by a
+	 * single aggregate query - the questions themselves, and their answers, stay home.
+	 * 
+	 * Read from the primary, not a replica: the controller caches the result until the
+	 * next quiz write, so a replica that hasn't seen that write yet would pin the old list.
 	 */
-	public ResponseEntity<List<Quiz>> getAllQuizzes() {
+	public ResponseEntity<List<QuizSummary>> getAllQuizzes() {
 		try {
-			List<Quiz> quizzes = quizDao.findAll();
-			if (quizzes.isEmpty()) {
-				return new ResponseEntity<>(new ArrayList<>(), HttpStatus.OK);
-			}
-			return new ResponseEntity<>(quizzes, HttpStatus.OK);
+			return new ResponseEntity<>(quizDao.findAllSummaries(), HttpStatus.OK);
+		} catch (Exception e) {
+			e.printStackTrace();
+			return new ResponseEntity<>(new ArrayList<>(), HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+	}
+
+	/**
+	 * 📚 Get All Quizzes With Their Full Questions (admins only)
+	 * 
+	 * Includes the right answers, so this is only exposed under /admin.
+	 * The questions are fetched in the same query as the quizzes (no N+1).
+	 */
+	public ResponseEntity<List<Quiz>> getAllQuizzesWithQuestions() {
+		try {
+			return new ResponseEntity<>(quizDao.findAllWithQuestions(), HttpStatus.OK);
 		} catch (Exception e) {
 			e.printStackTrace();
 			return new ResponseEntity<>(new ArrayList<>(), HttpStatus.INTERNAL_SERVER_ERROR);
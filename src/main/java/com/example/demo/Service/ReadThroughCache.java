@@ -0,0 +1,70 @@
+package com.example.demo.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * 📚 ReadThroughCache - A Size-Bounded Cache That Loads on the Caller's Thread!
+ *
+ * The shared engine behind QuizPaperCache and AnswerKeyCache.
+ *
+ * Why not just Caffeine's cache.get(key, loader)? That runs the loader inside
+ * ConcurrentHashMap.compute(), i.e. inside a synchronized block. Our loaders hit the
+ * database, and a virtual thread blocked on JDBC inside synchronized pins its carrier
+ * thread. So instead:
+ * 1. The first caller drops an empty "ticket" (a future) into the cache - quick, no I/O 🎫
+ * 2. That caller runs the loader on its own thread, outside any lock 🏃
+ * 3. Everyone else asking for the same key just waits on the ticket ⏳
+ *
+ * That keeps the "only one load per key" promise, runs inside the (read-only)
+ * transaction of the request that triggered the load, and never pins.
+ * If the loader returns null or throws, Caffeine drops the entry automatically.
+ *
+ * @author KUNAL M
+ * @version 1.0
+ */
+class ReadThroughCache<K, V> {
+
+	private final AsyncCache<K, V> cache;
+
+	ReadThroughCache(String name, long maxSize, MeterRegistry meterRegistry) {
+		this.cache = Caffeine.newBuilder()
+				.maximumSize(maxSize)
+				.recordStats()
+				.buildAsync();
+		CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+	}
+
+	/**
+	 * 📖 Get a value, loading it on this thread if nobody has yet
+	 */
+	V get(K key, Function<K, V> loader) {
+		CompletableFuture<V> ticket = new CompletableFuture<>();
+		CompletableFuture<V> future = cache.get(key, (k, executor) -> ticket);
+		if (future == ticket) {
+			try {
+				ticket.complete(loader.apply(key));
+			} catch (RuntimeException e) {
+				ticket.completeExceptionally(e);
+				throw e;
+			}
+		}
+		return future.join();
+	}
+
+	/** 🗑️ Forget one key */
+	void evict(K key) {
+		cache.synchronous().invalidate(key);
+	}
+
+	/** 🧹 Forget everything */
+	void evictAll() {
+		cache.synchronous().invalidateAll();
+	}
+}
@@ -0,0 +1,298 @@
+package com.example.demo.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.stereotype.Component;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 🗜️ ResponseBodyCache - Serialize Once, Compress Once, Answer "Not Modified" for Free!
+ *
+ * A quiz paper, the quiz list and the category list change rarely but are requested
+ * all the time. Instead of running Jackson (and gzip) for every request, this cache
+ * keeps the finished bytes of each response:
+ *
+ * - Encoded in the format the client asks for with Accept: JSON (UTF-8, the default),
+ *   CBOR or Smile - each format is its own entry 🔤
+ * - Plus gzip and brotli copies (when they are actually smaller) 📦
+ * - A strong ETag per copy, derived from the content 🏷️
+ * - If-None-Match matching the ETag -> 304 with no body, without calling the service
+ *   or touching the database 🚀
+ *
+ * Entries belong to a Family (QUIZZES, CATEGORIES) and are stored under the family's
+ * current version. Quiz and question writes call invalidate(), which bumps the
+ * version - the next request builds a fresh entry and old ones age out of the cache.
+ * The version is read before loading, so a write that lands mid-load only leaves
+ * behind an entry nobody asks for anymore.
+ *
+ * Only 200 responses are cached; anything else (404, 500) is passed through as is.
+ * Brotli needs the native brotli4j library; where it can't be loaded (e.g. on musl
+ * based images) responses are offered as gzip and plain JSON only.
+ *
+ * @author KUNAL M
+ * @version 1.0
+ */
+@Component
+public class ResponseBodyCache {
+
+	/** 👪 Groups of responses that are invalidated together */
+	public enum Family {
+		/** Quiz papers and the quiz list: quiz writes and question edits/deletes */
+		QUIZZES,
+		/** The category list: any question write */
+		CATEGORIES
+	}
+
+	/** 🤏 Below this size compression saves less than the headers cost */
+	private static final int MIN_COMPRESS_BYTES = 256;
+
+	private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+	/** 🔤 The formats we can encode in, in order of preference when the client doesn't mind */
+	private enum Format {
+		JSON(MediaType.APPLICATION_JSON),
+		CBOR(MediaType.APPLICATION_CBOR),
+		SMILE(new MediaType("application", "x-jackson-smile"));
+
+		private final MediaType mediaType;
+
+		Format(MediaType mediaType) {
+			this.mediaType = mediaType;
+		}
+	}
+
+	private final ReadThroughCache<Key, Body> bodies;
+	private final AtomicLongArray versions = new AtomicLongArray(Family.values().length);
+	private final Map<Format, ObjectMapper> mappers = new EnumMap<>(Format.class);
+	private final boolean brotli;
+
+	/** Uses the same mappers as the MVC converters, so cached and uncached responses are identical */
+	public ResponseBodyCache(@Value("${quiz.response-cache.max-size:1000}") long maxSize, ObjectMapper objectMapper,
+			MappingJackson2CborHttpMessageConverter cborConverter, MappingJackson2SmileHttpMessageConverter smileConverter,
+			MeterRegistry meterRegistry) {
+		this.bodies = new ReadThroughCache<>("responseBodies", maxSize, meterRegistry);
+		this.mappers.put(Format.JSON, objectMapper);
+		this.mappers.put(Format.CBOR, cborConverter.getObjectMapper());
+		this.mappers.put(Format.SMILE, smileConverter.getObjectMapper());
+		this.brotli = brotliAvailable();
+	}
+
+	/**
+	 * 📨 Answer a GET from the cache, calling the loader only when the entry is missing
+	 *
+	 * @param family   which writes make this response stale
+	 * @param resource identifies the response within the family (e.g. "paper:7")
+	 * @param request  the request headers (If-None-Match, Accept, Accept-Encoding)
+	 * @param loader   the service call that builds the response
+	 */
+	public ResponseEntity<?> serve(Family family, String resource, HttpHeaders request, Supplier<ResponseEntity<?>> loader) {
+		Format format = negotiate(request.getFirst(HttpHeaders.ACCEPT));
+		Key key = new Key(family, resource, format, versions.get(family.ordinal()));
+		ResponseEntity<?>[] uncached = new ResponseEntity<?>[1];
+		Body body = bodies.get(key, k -> {
+			ResponseEntity<?> response = loader.get();
+			if (response.getStatusCode() != HttpStatus.OK || response.getBody() == null) {
+				uncached[0] = response;
+				return null;
+			}
+			return encode(response.getBody(), format);
+		});
+		if (body == null) {
+			// Not cacheable - hand back what the service said (or ask it, if another thread loaded it)
+			return uncached[0] != null ? uncached[0] : loader.get();
+		}
+
+		Variant variant = body.pick(request.getFirst(HttpHeaders.ACCEPT_ENCODING));
+		boolean notModified = matches(request.getIfNoneMatch(), variant.etag);
+		ResponseEntity.BodyBuilder response = ResponseEntity.status(notModified ? HttpStatus.NOT_MODIFIED : HttpStatus.OK)
+				.eTag(variant.etag)
+				.cacheControl(REVALIDATE)
+				.varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+		if (notModified) {
+			return response.build();
+		}
+		if (variant.encoding != null) {
+			response.header(HttpHeaders.CONTENT_ENCODING, variant.encoding);
+		}
+		return response.contentType(format.mediaType).body(variant.bytes);
+	}
+
+	/** 🔄 Something in this family changed - stop serving what's cached for it */
+	public void invalidate(Family family) {
+		versions.incrementAndGet(family.ordinal());
+	}
+
+	/**
+	 * 🤝 The format with the highest q-value in Accept, judged by the most specific
+	 * range that covers it (so application/json;q=0 rules JSON out, even next to a wildcard).
+	 * JSON wins ties, and is also the fallback when nothing we have is acceptable.
+	 */
+	private static Format negotiate(String accept) {
+		if (accept == null || accept.isBlank()) {
+			return Format.JSON;
+		}
+		List<MediaType> accepted;
+		try {
+			accepted = MediaType.parseMediaTypes(accept);
+		} catch (InvalidMediaTypeException e) {
+			return Format.JSON;
+		}
+		Format best = Format.JSON;
+		double bestQuality = 0;
+		for (Format format : Format.values()) {
+			MediaType match = null;
+			for (MediaType range : accepted) {
+				if (range.includes(format.mediaType) && (match == null || specificity(range) > specificity(match))) {
+					match = range;
+				}
+			}
+			if (match != null && match.getQualityValue() > bestQuality) {
+				best = format;
+				bestQuality = match.getQualityValue();
+			}
+		}
+		return best;
+	}
+
+	private static int specificity(MediaType range) {
+		return range.isWildcardType() ? 0 : range.isWildcardSubtype() ? 1 : 2;
+	}
+
+	private Body encode(Object value, Format format) {
+		try {
+			byte[] bytes = mappers.get(format).writeValueAsBytes(value);
+			String hash = hash(bytes);
+			Variant identity = new Variant(bytes, null, "\"" + hash + "\"");
+			Variant gzip = null;
+			Variant br = null;
+			if (bytes.length >= MIN_COMPRESS_BYTES) {
+				gzip = smaller(gzip(bytes), bytes, "gzip", hash);
+				if (brotli) {
+					br = smaller(Encoder.compress(bytes, new Encoder.Parameters().setQuality(11)), bytes, "br", hash);
+				}
+			}
+			return new Body(identity, gzip, br);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/** 🏷️ Each encoding is its own representation, so it gets its own strong ETag */
+	private static Variant smaller(byte[] compressed, byte[] bytes, String encoding, String hash) {
+		return compressed.length < bytes.length ? new Variant(compressed, encoding, "\"" + hash + "-" + encoding + "\"") : null;
+	}
+
+	private static byte[] gzip(byte[] bytes) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4);
+		try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+			{
+				def.setLevel(Deflater.BEST_COMPRESSION);
+			}
+		}) {
+			gzip.write(bytes);
+		}
+		return out.toByteArray();
+	}
+
+	private static String hash(byte[] bytes) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+			return Base64.getUrlEncoder().withoutPadding().encodeToString(digest).substring(0, 22);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/** ✅ If-None-Match uses the weak comparison: W/"x" matches "x" */
+	private static boolean matches(List<String> ifNoneMatch, String etag) {
+		for (String candidate : ifNoneMatch) {
+			if (candidate.equals("*") || candidate.equals(etag) || candidate.equals("W/" + etag)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean brotliAvailable() {
+		try {
+			Brotli4jLoader.ensureAvailability();
+			return true;
+		} catch (Throwable e) {
+			System.out.println("⚠️ Brotli not available (" + e + "), responses are offered as gzip only");
+			return false;
+		}
+	}
+
+	private record Key(Family family, String resource, Format format, long version) {
+	}
+
+	private record Variant(byte[] bytes, String encoding, String etag) {
+	}
+
+	/**
+	 * 📦 One response in every encoding we have for it (gzip/br are null when not worth it)
+	 */
+	private record Body(Variant identity, Variant gzip, Variant br) {
+
+		/** 🤝 Brotli if the client takes it, then gzip, then plain JSON */
+		Variant pick(String acceptEncoding) {
+			if (acceptEncoding != null) {
+				if (br != null && accepts(acceptEncoding, "br")) {
+					return br;
+				}
+				if (gzip != null && accepts(acceptEncoding, "gzip")) {
+					return gzip;
+				}
+			}
+			return identity;
+		}
+
+		private static boolean accepts(String acceptEncoding, String coding) {
+			for (String part : acceptEncoding.split(",")) {
+				String[] tokens = part.split(";");
+				String name = tokens[0].trim();
+				if (!name.equalsIgnoreCase(coding) && !name.equals("*")) {
+					continue;
+				}
+				for (int i = 1; i < tokens.length; i++) {
+					String param = tokens[i].trim();
+					if (param.startsWith("q=")) {
+						try {
+							return Double.parseDouble(param.substring(2)) > 0;
+						} catch (NumberFormatException e) {
+							return false;
+						}
+					}
+				}
+				return true;
+			}
+			return false;
+		}
+	}
+}
@@ -0,0 +1,231 @@
+package com.example.demo.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 🎡 TimingWheel - Thousands of Timers, One Clock!
+ *
+ * Every open exam attempt needs an alarm at its deadline. A thread or a
+ * ScheduledExecutorService entry per attempt gets expensive at 100k attempts
+ * (each schedule/cancel is an O(log n) heap operation). A timing wheel does
+ * both in O(1):
+ *
+ * Picture a clock with wheelSize slots, where the hand moves one slot per tick.
+ * A timer due in 3 ticks goes into the slot 3 ahead, and when the hand gets there
+ * everything in that slot fires. Timers further out than one turn go onto a
+ * slower wheel above it (each of its slots covers a full turn of the one below),
+ * and when the slower hand reaches their slot they're poured down into the faster
+ * wheel. With 4 levels of 64 slots and a 1s tick that covers about 194 days.
+ *
+ * - schedule / cancel: O(1) - a linked-list insert / unlink 📌
+ * - advance: one slot per tick, plus each timer is moved down at most once per level ⏩
+ *
+ * Timers fire at the first tick at or after their deadline - never early, and at
+ * most one tick late. The wheel doesn't run a thread of its own: the owner calls
+ * advance(now) from its clock, which makes it easy to test with a fake time.
+ * All methods are thread-safe (one lock - every operation is short).
+ *
+ * @param <T> what to hand back when a timer fires
+ *
+ * @author KUNAL M
+ * @version 1.0
+ */
+public final class TimingWheel<T> {
+
+	private final long tickMillis;
+	private final int bits;
+	private final int mask;
+	private final int levels;
+
+	/** 🎡 [level][slot] - each slot is a circular list with a sentinel head */
+	private final Timeout<T>[][] wheels;
+
+	/** ⏰ Timers whose deadline had already passed when scheduled - fire on the next advance */
+	private final Timeout<T> due = Timeout.sentinel();
+
+	/** 🕐 The last tick processed */
+	private long currentTick;
+
+	private int size;
+
+	/**
+	 * @param tickMillis  how far the hand moves per tick (the timers' precision)
+	 * @param wheelSize   slots per wheel, a power of two
+	 * @param levels      how many wheels are stacked
+	 * @param startMillis the current time
+	 */
+	@SuppressWarnings("unchecked")
+	public TimingWheel(long tickMillis, int wheelSize, int levels, long startMillis) {
+		if (tickMillis <= 0 || wheelSize < 2 || Integer.bitCount(wheelSize) != 1 || levels < 1
+				|| Integer.numberOfTrailingZeros(wheelSize) * levels >= 62) {
+			throw new IllegalArgumentException("Invalid timing wheel: tick " + tickMillis + "ms, "
+					+ wheelSize + " slots, " + levels + " levels");
+		}
+		this.tickMillis = tickMillis;
+		this.bits = Integer.numberOfTrailingZeros(wheelSize);
+		this.mask = wheelSize - 1;
+		this.levels = levels;
+		this.wheels = new Timeout[levels][wheelSize];
+		for (Timeout<T>[] wheel : wheels) {
+			for (int slot = 0; slot < wheelSize; slot++) {
+				wheel[slot] = Timeout.sentinel();
+			}
+		}
+		this.currentTick = startMillis / tickMillis;
+	}
+
+	/**
+	 * 📌 Set a timer
+	 *
+	 * @return a handle for cancel()
+	 * @throws IllegalArgumentException if the deadline is beyond what the wheels cover
+	 */
+	public synchronized Timeout<T> schedule(T task, long deadlineMillis) {
+		Objects.requireNonNull(task, "task");
+		// Round up, so a timer never fires before its deadline
+		long tick = Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis);
+		if (tick - currentTick >= 1L << (bits * levels)) {
+			throw new IllegalArgumentException("Deadline too far ahead for this timing wheel");
+		}
+		Timeout<T> timeout = new Timeout<>(task, tick);
+		place(timeout);
+		size++;
+		return timeout;
+	}
+
+	/**
+	 * ❌ Cancel a timer
+	 *
+	 * @return false if it already fired or was cancelled
+	 */
+	public synchronized boolean cancel(Timeout<T> timeout) {
+		if (timeout.next == null) {
+			return false;
+		}
+		timeout.unlink();
+		size--;
+		return true;
+	}
+
+	/**
+	 * ⏩ Move the hand up to now, and return every timer that came due (earliest tick first)
+	 */
+	public synchronized List<T> advance(long nowMillis) {
+		List<T> fired = new ArrayList<>();
+		drain(due, fired);
+		long target = Math.floorDiv(nowMillis, tickMillis);
+		if (size == 0 && target > currentTick) {
+			// Nothing to fire on the way - jump straight there
+			currentTick = target;
+		}
+		while (currentTick < target) {
+			currentTick++;
+			// Pour down every higher wheel whose hand just moved (its lower digits rolled over to 0)
+			for (int level = levels - 1; level >= 1; level--) {
+				if ((currentTick & ((1L << (bits * level)) - 1)) == 0) {
+					cascade(wheels[level][slot(currentTick, level)], fired);
+				}
+			}
+			drain(wheels[0][slot(currentTick, 0)], fired);
+		}
+		return fired;
+	}
+
+	/** 🔢 Timers waiting to fire */
+	public synchronized int size() {
+		return size;
+	}
+
+	/**
+	 * 📍 Put a timer on the fastest wheel that can hold it: the lowest level above
+	 * which its tick and the current tick have the same digits
+	 */
+	private void place(Timeout<T> timeout) {
+		long tick = timeout.tick;
+		if (tick <= currentTick) {
+			due.append(timeout);
+			return;
+		}
+		int level = 0;
+		while (level < levels - 1 && (tick >>> (bits * (level + 1))) != (currentTick >>> (bits * (level + 1)))) {
+			level++;
+		}
+		wheels[level][slot(tick, level)].append(timeout);
+	}
+
+	private int slot(long tick, int level) {
+		return (int) ((tick >>> (bits * level)) & mask);
+	}
+
+	/** ⬇️ Re-place every timer in a higher-level slot (on lower wheels, or straight into fired) */
+	private void cascade(Timeout<T> head, List<T> fired) {
+		Timeout<T> timeout = head.next;
+		while (timeout != head) {
+			Timeout<T> next = timeout.next;
+			timeout.unlink();
+			if (timeout.tick <= currentTick) {
+				fired.add(timeout.task);
+				size--;
+			} else {
+				place(timeout);
+			}
+			timeout = next;
+		}
+	}
+
+	/** 🔔 Fire every timer in a slot */
+	private void drain(Timeout<T> head, List<T> fired) {
+		Timeout<T> timeout = head.next;
+		while (timeout != head) {
+			Timeout<T> next = timeout.next;
+			timeout.unlink();
+			fired.add(timeout.task);
+			size--;
+			timeout = next;
+		}
+	}
+
+	/**
+	 * ⏲️ One timer - also a node of its slot's doubly linked list
+	 * (detached nodes have next == null)
+	 */
+	public static final class Timeout<T> {
+		private final T task;
+		private final long tick;
+		private Timeout<T> prev;
+		private Timeout<T> next;
+
+		private Timeout(T task, long tick) {
+			this.task = task;
+			this.tick = tick;
+		}
+
+		/** The head of a slot's list - an empty circular list points at itself */
+		private static <T> Timeout<T> sentinel() {
+			Timeout<T> head = new Timeout<>(null, 0);
+			head.prev = head;
+			head.next = head;
+			return head;
+		}
+
+		public T task() {
+			return task;
+		}
+
+		private void append(Timeout<T> timeout) {
+			timeout.prev = prev;
+			timeout.next = this;
+			prev.next = timeout;
+			prev = timeout;
+		}
+
+		private void unlink() {
+			prev.next = next;
+			next.prev = prev;
+			prev = null;
+			next = null;
+		}
+	}
+}
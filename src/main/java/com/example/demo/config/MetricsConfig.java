@@ -0,0 +1,29 @@
+package com.example.demo.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 📈 MetricsConfig - Turns @Timed Annotations Into Real Timers
+ *
+ * Spring Boot times HTTP requests and repository calls on its own, but @Timed on
+ * our own service methods (e.g. the quiz lifecycle in QuizService) only works
+ * with this aspect in place.
+ *
+ * Histogram buckets for the timers are switched on in application.properties
+ * (management.metrics.distribution.*), so Prometheus can work out p99 latency.
+ *
+ * @author KUNAL M
+ * @version 1.0
+ */
+@Configuration
+public class MetricsConfig {
+
+	@Bean
+	public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+		return new TimedAspect(meterRegistry);
+	}
+}
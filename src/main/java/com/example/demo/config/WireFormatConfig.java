@@ -0,0 +1,42 @@
+package com.example.demo.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * 📦 WireFormatConfig - Binary Versions of Our JSON (CBOR and Smile)
+ *
+ * Every endpoint that speaks JSON also speaks two compact binary formats, picked
+ * with the usual headers:
+ * - Accept: application/cbor / application/x-jackson-smile -> binary response 📤
+ * - Content-Type: the same -> binary request body (e.g. quiz submissions) 📥
+ * JSON stays the default for browsers and anything that doesn't ask.
+ *
+ * Both are plain Jackson, so they carry exactly the same fields as the JSON.
+ * The mappers come from Spring Boot's builder, so spring.jackson.* settings apply
+ * to them as well, and the ResponseBodyCache encodes with the same two mappers.
+ *
+ * @author KUNAL M
+ * @version 1.0
+ */
+@Configuration
+public class WireFormatConfig {
+
+	/** 🧱 CBOR (RFC 8949): a standard binary JSON, with decoders in most languages */
+	@Bean
+	public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+		return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+	}
+
+	/** 😊 Smile: Jackson's binary JSON; repeated field names are sent once, so lists shrink the most */
+	@Bean
+	public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+		return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+	}
+}
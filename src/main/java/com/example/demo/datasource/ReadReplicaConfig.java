@@ -0,0 +1,118 @@
+package com.example.demo.datasource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 🪞 ReadReplicaConfig - Spread the Reads Over Postgres Replicas!
+ *
+ * Only kicks in when quiz.datasource.replica-urls is set (comma-separated JDBC URLs).
+ * Without it the app keeps Spring Boot's single datasource, exactly as before.
+ *
+ * When it's on, the app gets:
+ * - the primary pool, built from the usual spring.datasource.* / spring.datasource.hikari.* 🏠
+ * - one read-only pool per replica, with the same Hikari settings (pool name replica-N,
+ *   so its hikaricp.* metrics are tagged pool=replica-N) 🪞
+ * - a routing datasource on top that sends @Transactional(readOnly = true) work to a
+ *   healthy replica and everything else to the primary 🔀
+ * - ReplicaHealthChecker, which takes a replica out of rotation when it's down or lags
+ *   more than quiz.datasource.replica-max-lag-ms 🩺
+ *
+ * Flyway, JdbcTemplate and JPA all use the routing datasource, so migrations and
+ * writes (never read-only) always land on the primary.
+ *
+ * @author KUNAL M
+ * @version 1.0
+ */
+@Configuration
+// not @ConditionalOnProperty: that one also matches an empty value (e.g. an unset docker-compose variable)
+@ConditionalOnExpression("!'${quiz.datasource.replica-urls:}'.isBlank()")
+public class ReadReplicaConfig {
+
+	/** 🏠 The primary pool - what Spring Boot would have created on its own */
+	@Bean
+	@ConfigurationProperties("spring.datasource.hikari")
+	public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+		HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+		primary.setPoolName("primary");
+		return primary;
+	}
+
+	/**
+	 * 🪞 One read-only pool per replica URL
+	 *
+	 * Credentials default to the primary's when quiz.datasource.replica-username/-password aren't set.
+	 */
+	@Bean
+	public List<Replica> replicas(HikariDataSource primaryDataSource,
+			@Value("${quiz.datasource.replica-urls}") String urls,
+			@Value("${quiz.datasource.replica-username:}") String username,
+			@Value("${quiz.datasource.replica-password:}") String password,
+			MeterRegistry meterRegistry) {
+		List<Replica> replicas = new ArrayList<>();
+		for (String url : StringUtils.commaDelimitedListToStringArray(urls)) {
+			if (url.isBlank()) {
+				continue;
+			}
+			HikariConfig config = new HikariConfig();
+			primaryDataSource.copyStateTo(config);
+			String name = "replica-" + (replicas.size() + 1);
+			config.setPoolName(name);
+			config.setJdbcUrl(url.trim());
+			config.setReadOnly(true);
+			// a replica that's down shouldn't stop the app from starting - the health check handles it -
+			// and shouldn't keep a read waiting long before it falls back to the primary
+			config.setInitializationFailTimeout(-1);
+			config.setConnectionTimeout(Math.min(config.getConnectionTimeout(), 1000));
+			config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+			if (StringUtils.hasText(username)) {
+				config.setUsername(username);
+				config.setPassword(password);
+			}
+			replicas.add(new Replica(name, new HikariDataSource(config)));
+		}
+		return replicas;
+	}
+
+	/** 🩺 Checks every replica once right away, so the first read can already use them */
+	@Bean
+	public ReplicaHealthChecker replicaHealthChecker(List<Replica> replicas,
+			@Value("${quiz.datasource.replica-max-lag-ms:5000}") long maxLagMillis,
+			MeterRegistry meterRegistry) {
+		ReplicaHealthChecker checker = new ReplicaHealthChecker(replicas, maxLagMillis, meterRegistry);
+		checker.checkAll();
+		return checker;
+	}
+
+	/** 🔀 Picks primary or replica per transaction (and closes the replica pools on shutdown) */
+	@Bean
+	public ReplicaRoutingDataSource routingDataSource(HikariDataSource primaryDataSource, List<Replica> replicas,
+			ReplicaHealthChecker replicaHealthChecker) {
+		return new ReplicaRoutingDataSource(primaryDataSource, replicas);
+	}
+
+	/** 🔌 The datasource everyone else gets injected - connections are fetched on first use */
+	@Bean
+	@Primary
+	public DataSource dataSource(ReplicaRoutingDataSource routingDataSource) {
+		return new LazyConnectionDataSourceProxy(routingDataSource);
+	}
+}
@@ -0,0 +1,51 @@
+package com.example.demo.datasource;
+
+import javax.sql.DataSource;
+
+/**
+ * 🪞 Replica - One Read-Only Copy of the Database
+ *
+ * Holds the replica's connection pool plus what the last health check found out:
+ * is it reachable, and how far behind the primary is it?
+ * ReplicaHealthChecker writes these fields, ReplicaRoutingDataSource reads them.
+ *
+ * @author KUNAL M
+ * @version 1.0
+ */
+public class Replica {
+
+	private final String name;
+	private final DataSource dataSource;
+
+	/** ✅ Reachable and not lagging too far behind (set by the health checker) */
+	private volatile boolean healthy;
+
+	/** ⏱️ Replication lag seen by the last check, in ms (-1 if the check failed) */
+	private volatile long lagMillis = -1;
+
+	public Replica(String name, DataSource dataSource) {
+		this.name = name;
+		this.dataSource = dataSource;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public DataSource getDataSource() {
+		return dataSource;
+	}
+
+	public boolean isHealthy() {
+		return healthy;
+	}
+
+	public long getLagMillis() {
+		return lagMillis;
+	}
+
+	void update(boolean healthy, long lagMillis) {
+		this.lagMillis = lagMillis;
+		this.healthy = healthy;
+	}
+}
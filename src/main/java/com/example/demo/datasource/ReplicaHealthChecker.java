@@ -0,0 +1,86 @@
+package com.example.demo.datasource;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 🩺 ReplicaHealthChecker - Is Each Replica Up, and How Far Behind Is It?
+ *
+ * Every few seconds (quiz.datasource.replica-check-interval-ms) each replica is asked
+ * how old the last transaction it replayed is. A replica is only used for reads when:
+ * - the query succeeds within a couple of seconds 🔌
+ * - its lag is at most quiz.datasource.replica-max-lag-ms ⏱️
+ * Otherwise reads fall back to the primary until a later check says it's fine again.
+ *
+ * A server that isn't in recovery (e.g. a plain Postgres standing in for a replica
+ * in tests) reports zero lag. A replica that is fully caught up does too, even if
+ * nothing was written for a while.
+ *
+ * Exposed as the datasource.replica.lag and datasource.replica.healthy gauges.
+ *
+ * @author KUNAL M
+ * @version 1.0
+ */
+public class ReplicaHealthChecker {
+
+	private static final String LAG_SQL = "SELECT CASE "
+			+ "WHEN NOT pg_is_in_recovery() THEN 0 "
+			+ "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+			+ "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) END";
+
+	private final List<Replica> replicas;
+	private final long maxLagMillis;
+
+	public ReplicaHealthChecker(List<Replica> replicas, long maxLagMillis, MeterRegistry meterRegistry) {
+		this.replicas = replicas;
+		this.maxLagMillis = maxLagMillis;
+		for (Replica replica : replicas) {
+			Gauge.builder("datasource.replica.lag", replica, Replica::getLagMillis)
+					.tag("replica", replica.getName()).baseUnit("milliseconds")
+					.description("Replication lag seen by the last health check (-1 = unreachable)")
+					.register(meterRegistry);
+			Gauge.builder("datasource.replica.healthy", replica, r -> r.isHealthy() ? 1 : 0)
+					.tag("replica", replica.getName())
+					.description("1 if read-only transactions are routed to this replica")
+					.register(meterRegistry);
+		}
+	}
+
+	/** ⏰ Check every replica (also run once at startup, before any traffic) */
+	@Scheduled(fixedDelayString = "${quiz.datasource.replica-check-interval-ms:5000}")
+	public void checkAll() {
+		for (Replica replica : replicas) {
+			check(replica);
+		}
+	}
+
+	void check(Replica replica) {
+		boolean wasHealthy = replica.isHealthy();
+		try (Connection c = replica.getDataSource().getConnection();
+				Statement st = c.createStatement()) {
+			st.setQueryTimeout(2);
+			try (ResultSet rs = st.executeQuery(LAG_SQL)) {
+				rs.next();
+				long lag = (long) rs.getDouble(1);
+				replica.update(lag <= maxLagMillis, lag);
+			}
+		} catch (Exception e) {
+			replica.update(false, -1);
+			if (wasHealthy) {
+				System.err.println("Replica " + replica.getName() + " failed its health check: " + e.getMessage());
+			}
+			return;
+		}
+		if (wasHealthy != replica.isHealthy()) {
+			System.out.println("Replica " + replica.getName() + (replica.isHealthy() ? " is healthy, serving reads" : " is lagging "
+					+ replica.getLagMillis() + " ms, reads go to the primary"));
+		}
+	}
+}
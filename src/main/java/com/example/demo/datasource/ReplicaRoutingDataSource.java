@@ -0,0 +1,93 @@
+package com.example.demo.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 🔀 ReplicaRoutingDataSource - Reads to the Replicas, Writes to the Primary!
+ *
+ * Decides, per transaction, which database a connection comes from:
+ * - @Transactional(readOnly = true) -> one of the healthy replicas (round robin) 📖
+ * - everything else -> the primary ✍️
+ * - a read-only transaction when no replica is healthy -> the primary, too 🛟
+ *
+ * If a replica that looked healthy can't hand out a connection, it's taken out of
+ * rotation right away (the health checker puts it back) and the primary is used,
+ * so requests don't fail in the seconds before the next health check.
+ *
+ * Must be wrapped in a LazyConnectionDataSourceProxy (ReadReplicaConfig does that):
+ * the transaction manager grabs a connection before it marks the transaction as
+ * read-only, so the real connection has to be fetched later, on the first statement.
+ *
+ * Owns the replica pools and closes them on shutdown.
+ *
+ * @author KUNAL M
+ * @version 1.0
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+	private final DataSource primary;
+	private final List<Replica> replicas;
+	private final AtomicInteger next = new AtomicInteger();
+
+	public ReplicaRoutingDataSource(DataSource primary, List<Replica> replicas) {
+		this.primary = primary;
+		this.replicas = List.copyOf(replicas);
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		Replica replica = pickReplica();
+		if (replica != null) {
+			try {
+				return replica.getDataSource().getConnection();
+			} catch (SQLException e) {
+				replica.update(false, -1);
+				System.err.println("Replica " + replica.getName() + " unavailable, reading from the primary: " + e.getMessage());
+			}
+		}
+		return primary.getConnection();
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		// explicit credentials are the primary's business - replicas use their own
+		return primary.getConnection(username, password);
+	}
+
+	/** 🎯 The next healthy replica for a read-only transaction, or null for the primary */
+	private Replica pickReplica() {
+		int size = replicas.size();
+		if (size == 0 || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+			return null;
+		}
+		int start = Math.floorMod(next.getAndIncrement(), size);
+		for (int i = 0; i < size; i++) {
+			Replica replica = replicas.get((start + i) % size);
+			if (replica.isHealthy()) {
+				return replica;
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public void close() {
+		for (Replica replica : replicas) {
+			if (replica.getDataSource() instanceof AutoCloseable pool) {
+				try {
+					pool.close();
+				} catch (Exception e) {
+					e.printStackTrace();
+				}
+			}
+		}
+	}
+}
@@ -1,16 +1,23 @@
 package com.example.demo.security.config;
 
+import com.example.demo.security.crypto.BoundedBCryptPasswordEncoder;
 import com.example.demo.security.jwt.JwtRequestFilter;
+import com.example.demo.security.ratelimit.RateLimitFilter;
+import com.example.demo.security.ratelimit.RateLimitProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -20,11 +27,15 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity 
+@EnableConfigurationProperties(RateLimitProperties.class)
 public class SecurityConfig {
 
     @Autowired
     private JwtRequestFilter jwtRequestFilter;
 
+    @Autowired
+    private RateLimitFilter rateLimitFilter;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
@@ -32,15 +43,22 @@ public class SecurityConfig {
             .csrf(csrf -> csrf.disable()) 
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll() // Streamed responses finishing (already authorized)
                 .requestMatchers("/auth/**").permitAll() 
-                .requestMatchers("/actuator/**").permitAll() // Allow health checks
+                .requestMatchers("/actuator/health/**", "/actuator/info").permitAll() // Allow health checks
+                // Metrics/prometheus expose per-URI latencies and per-quiz scores - admins (and their scraper) only
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
                 .requestMatchers("/").permitAll() // Allow root endpoint
+                // Live event streams: EventSource can't send a bearer token, so a ticket param is checked instead
+                .requestMatchers(HttpMethod.GET, "/user/live/*/events").permitAll()
                 .requestMatchers("/admin/**").hasRole("ADMIN") 
                 .requestMatchers("/user/**").hasAnyRole("USER", "ADMIN") 
                 .anyRequest().authenticated() 
             );
 
         http.addFilterBefore(jwtRequestFilter, UsernamePasswordAuthenticationFilter.class);
+        // After the JWT filter so per-user limits know who's calling, before any BCrypt/scoring work
+        http.addFilterAfter(rateLimitFilter, JwtRequestFilter.class);
 
         return http.build();
     }
@@ -63,9 +81,20 @@ public class SecurityConfig {
         };
     }
 
+    // Changing the strength is safe: existing hashes still verify and are rehashed on the next login
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${auth.password.bcrypt-strength:10}") int strength,
+                                           @Value("${auth.password.hash-threads:0}") int threads,
+                                           @Value("${auth.password.hash-queue-capacity:200}") int queueCapacity,
+                                           MeterRegistry meterRegistry) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        BoundedBCryptPasswordEncoder encoder = new BoundedBCryptPasswordEncoder(strength, poolSize, queueCapacity, meterRegistry);
+        encoder.encode("warm-up"); // the first hash includes JIT warm-up, so time the second one
+        long start = System.nanoTime();
+        encoder.encode("calibration");
+        System.out.printf("🔐 BCrypt cost %d: %.1f ms per hash, %d hashing threads%n",
+            strength, (System.nanoTime() - start) / 1e6, poolSize);
+        return encoder;
     }
 
     @Bean
@@ -3,7 +3,10 @@ package com.example.demo.security.controller;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.authentication.*;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import com.example.demo.security.repo.UserRepository;
@@ -11,8 +14,11 @@ import com.example.demo.security.repo.RoleRepository;
 import com.example.demo.security.model.User;
 import com.example.demo.security.model.Role;
 import com.example.demo.security.jwt.JwtUtil;
+import com.example.demo.security.crypto.PasswordHashingBusyException;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import com.example.demo.security.service.CustomUserDetailsService;
+import com.example.demo.security.service.RefreshTokenService;
 import java.util.Set;
 
 @RestController
@@ -23,6 +29,8 @@ public class AuthController {
     @Autowired
     private CustomUserDetailsService userDetailsService;
     @Autowired
+    private RefreshTokenService refreshTokenService;
+    @Autowired
     private JwtUtil jwtUtil;
     @Autowired
     private UserRepository userRepository;
@@ -54,6 +62,8 @@ public class AuthController {
             userRepository.save(u);
             
             return ResponseEntity.ok("User registered successfully with USER role");
+        } catch (PasswordHashingBusyException e) {
+            return hashingBusy(e);
         } catch (Exception e) {
             return ResponseEntity.status(500).body("Registration failed: " + e.getMessage());
         }
@@ -83,6 +93,8 @@ public class AuthController {
             userRepository.save(u);
             
             return ResponseEntity.ok("User registered successfully with " + req.role() + " role");
+        } catch (PasswordHashingBusyException e) {
+            return hashingBusy(e);
         } catch (Exception e) {
             return ResponseEntity.status(500).body("Registration failed: " + e.getMessage());
         }
@@ -90,15 +102,48 @@ public class AuthController {
 
     @PostMapping("/login")
     public ResponseEntity<?> login(@RequestBody AuthRequest req) {
-        authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(req.username(), req.password()));
-        UserDetails ud = userDetailsService.loadUserByUsername(req.username());
+        // The authenticated principal already carries the user's roles - no second user lookup
+        Authentication auth = authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(req.username(), req.password()));
+        UserDetails ud = (UserDetails) auth.getPrincipal();
         String jwt = jwtUtil.generateToken(ud);
-        return ResponseEntity.ok(new AuthResponse(jwt));
+        return ResponseEntity.ok(new AuthResponse(jwt, refreshTokenService.issue(ud.getUsername())));
+    }
+
+    // Swaps a refresh token for a new access token + refresh token: an HMAC and an indexed lookup, no BCrypt
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@RequestBody RefreshRequest req) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(req.refreshToken());
+        if (rotation == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("invalid refresh token");
+        }
+        try {
+            // Roles are re-read (second-level cache) so role changes apply on the next refresh
+            UserDetails ud = userDetailsService.loadUserByUsername(rotation.username());
+            return ResponseEntity.ok(new AuthResponse(jwtUtil.generateToken(ud), rotation.refreshToken()));
+        } catch (UsernameNotFoundException e) {
+            refreshTokenService.revoke(rotation.refreshToken());
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("invalid refresh token");
+        }
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestBody RefreshRequest req) {
+        refreshTokenService.revoke(req.refreshToken());
+        return ResponseEntity.noContent().build();
+    }
+
+    // Every BCrypt thread is busy and the queue is full: ask the client to come back shortly
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<?> hashingBusy(PasswordHashingBusyException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(e.getMessage());
     }
 
     // DTOs (create as static classes or separate files)
     public static record RegisterRequest(String username, String password, String email) {} // Removed role since only USER allowed
     public static record AdminRegisterRequest(String username, String password, String role, String email) {} // For admin use only
     public static record AuthRequest(String username, String password) {}
-    public static record AuthResponse(String token) {}
+    public static record RefreshRequest(String refreshToken) {}
+    public static record AuthResponse(String token, String refreshToken) {}
 }
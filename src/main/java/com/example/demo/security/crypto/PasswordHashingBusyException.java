@@ -0,0 +1,8 @@
+package com.example.demo.security.crypto;
+
+// Thrown when the hashing pool's queue is full - the caller should answer 503 + Retry-After
+public class PasswordHashingBusyException extends RuntimeException {
+    public PasswordHashingBusyException(String message) {
+        super(message);
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.demo.security.jwt;
 
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.*;
@@ -11,15 +13,14 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
-import com.example.demo.security.service.CustomUserDetailsService;
 import java.io.IOException;
 
 @Component
 public class JwtRequestFilter extends OncePerRequestFilter {
     @Autowired
-    private JwtUtil jwtUtil;
+    private VerifiedTokenCache verifiedTokenCache;
     @Autowired
-    private CustomUserDetailsService userDetailsService;
+    private ObservationRegistry observationRegistry;
 
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest req, @NonNull HttpServletResponse res, @NonNull FilterChain chain)
@@ -33,24 +34,22 @@ public class JwtRequestFilter extends OncePerRequestFilter {
         }
         
         final String authHeader = req.getHeader("Authorization");
-        String username = null;
-        String jwt = null;
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            jwt = authHeader.substring(7);
-            try {
-                username = jwtUtil.extractUsername(jwt);
-            } catch (Exception e) {
-                // invalid token -> let Spring handle (401)
-            }
-        }
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails ud = userDetailsService.loadUserByUsername(username);
-            if (jwtUtil.isTokenValid(jwt, ud)) {
+        if (authHeader != null && authHeader.startsWith("Bearer ")
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            // Timed (jwt.filter metric) and traced as its own span
+            Observation observation = Observation.start("jwt.filter", observationRegistry);
+            // Signature and expiry are checked once per token; roles come from the token's claims.
+            // An invalid token leaves the context empty -> Spring answers 401/403.
+            VerifiedTokenCache.VerifiedToken verified = verifiedTokenCache.verify(authHeader.substring(7));
+            if (verified != null) {
+                UserDetails ud = verified.principal();
                 UsernamePasswordAuthenticationToken token =
                     new UsernamePasswordAuthenticationToken(ud, null, ud.getAuthorities());
                 token.setDetails(new WebAuthenticationDetailsSource().buildDetails(req));
                 SecurityContextHolder.getContext().setAuthentication(token);
             }
+            // Only the token check itself, not the rest of the chain
+            observation.lowCardinalityKeyValue("result", verified != null ? "valid" : "invalid").stop();
         }
         chain.doFilter(req, res);
     }
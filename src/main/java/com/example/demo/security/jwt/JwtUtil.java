@@ -12,11 +12,14 @@ import org.springframework.security.core.userdetails.UserDetails;
 public class JwtUtil {
     private final Key key;
     private final long jwtExpirationMs;
+    // JwtParser is immutable and thread-safe, so build it once instead of per call
+    private final JwtParser parser;
 
     public JwtUtil(@Value("${jwt.secret}") String secret,
                    @Value("${jwt.expiration-ms:3600000}") long jwtExpirationMs) {
         this.key = Keys.hmacShaKeyFor(secret.getBytes());
         this.jwtExpirationMs = jwtExpirationMs;
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
     }
 
     public String generateToken(UserDetails userDetails) {
@@ -32,23 +35,22 @@ public class JwtUtil {
             .compact();
     }
 
+    // Verifies the signature and expiry in one pass; throws JwtException if the token is bad or expired
+    public Claims parseClaims(String token) {
+        return parser.parseClaimsJws(token).getBody();
+    }
+
     public String extractUsername(String token) {
-        return Jwts.parserBuilder().setSigningKey(key).build()
-                   .parseClaimsJws(token).getBody().getSubject();
+        return parseClaims(token).getSubject();
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
         try {
-            final String username = extractUsername(token);
-            return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+            Claims claims = parseClaims(token);
+            return claims.getSubject().equals(userDetails.getUsername())
+                && !claims.getExpiration().before(new Date());
         } catch (JwtException ex) {
             return false;
         }
     }
-
-    private boolean isTokenExpired(String token) {
-        Date exp = Jwts.parserBuilder().setSigningKey(key).build()
-                       .parseClaimsJws(token).getBody().getExpiration();
-        return exp.before(new Date());
-    }
 }
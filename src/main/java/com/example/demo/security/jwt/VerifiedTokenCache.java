@@ -0,0 +1,98 @@
+package com.example.demo.security.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Remembers tokens that already passed signature + expiry checks, so a client sending the
+ * same bearer token on every request costs one HMAC verification per token, not per request.
+ * The principal is rebuilt from the token's own "roles" claim (no users/user_roles lookup),
+ * and each entry expires exactly at the token's "exp".
+ */
+@Component
+public class VerifiedTokenCache {
+
+    public record VerifiedToken(UserDetails principal, long expiresAtMillis) {}
+
+    private final JwtUtil jwtUtil;
+    private final Cache<String, VerifiedToken> cache;
+
+    public VerifiedTokenCache(JwtUtil jwtUtil,
+                              @Value("${jwt.cache.max-size:10000}") long maxSize,
+                              MeterRegistry meterRegistry) {
+        this.jwtUtil = jwtUtil;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfter(new Expiry<String, VerifiedToken>() {
+                @Override
+                public long expireAfterCreate(String token, VerifiedToken verified, long currentTime) {
+                    long remainingMs = verified.expiresAtMillis() - System.currentTimeMillis();
+                    return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMs));
+                }
+
+                @Override
+                public long expireAfterUpdate(String token, VerifiedToken verified, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+
+                @Override
+                public long expireAfterRead(String token, VerifiedToken verified, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "verifiedTokens");
+    }
+
+    // Returns null when the token is invalid or expired (invalid tokens are never cached)
+    public VerifiedToken verify(String token) {
+        VerifiedToken verified = cache.get(token, this::parse);
+        if (verified == null || verified.expiresAtMillis() <= System.currentTimeMillis()) {
+            return null;
+        }
+        return verified;
+    }
+
+    public void evict(String token) {
+        cache.invalidate(token);
+    }
+
+    private VerifiedToken parse(String token) {
+        try {
+            Claims claims = jwtUtil.parseClaims(token);
+            if (claims.getSubject() == null || claims.getExpiration() == null) {
+                return null;
+            }
+            UserDetails principal = new User(claims.getSubject(), "", authorities(claims));
+            return new VerifiedToken(principal, claims.getExpiration().getTime());
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static Collection<GrantedAuthority> authorities(Claims claims) {
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        if (claims.get("roles") instanceof Collection<?> roles) {
+            for (Object role : roles) {
+                authorities.add(new SimpleGrantedAuthority(String.valueOf(role)));
+            }
+        }
+        return authorities;
+    }
+}
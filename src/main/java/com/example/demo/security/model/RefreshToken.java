@@ -0,0 +1,38 @@
+package com.example.demo.security.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.Instant;
+import java.util.UUID;
+
+// A refresh token as stored server-side: only its HMAC, never the token itself
+@Entity
+@Table(name = "refresh_token")
+@Getter @Setter @NoArgsConstructor
+public class RefreshToken {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "token_hash", nullable = false, unique = true, length = 64)
+    private String tokenHash;
+
+    // All tokens produced from one login by rotation share a family
+    @Column(name = "family_id", nullable = false)
+    private UUID familyId;
+
+    @Column(nullable = false)
+    private String username;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @Column(name = "rotated_at")
+    private Instant rotatedAt;
+
+    @Column(name = "revoked_at")
+    private Instant revokedAt;
+}
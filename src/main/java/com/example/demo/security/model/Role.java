@@ -1,9 +1,15 @@
 package com.example.demo.security.model;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Immutable;
 
 @Entity
 @Table(name = "roles")
+@Immutable // roles are only ever inserted, so they can be cached read-only
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = "role")
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor
 public class Role {
     @Id
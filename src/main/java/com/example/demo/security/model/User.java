@@ -2,10 +2,14 @@ package com.example.demo.security.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.Set;
 
 @Entity
 @Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user")
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor
 public class User {
     @Id
@@ -22,6 +26,7 @@ public class User {
     private String email;
 
     @ManyToMany(fetch = FetchType.EAGER)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user-roles")
     @JoinTable(
         name = "user_roles",
         joinColumns = @JoinColumn(name="user_id"),
@@ -0,0 +1,123 @@
+package com.example.demo.security.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-route token buckets, keyed by client IP or username. Runs right after JwtRequestFilter,
+ * so the username is known, and before anything expensive (BCrypt on /auth/login, scoring on submit).
+ * Throttled requests get 429 + Retry-After and are counted in ratelimit.throttled{rule}.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final boolean enabled;
+    private final List<CompiledRule> rules = new ArrayList<>();
+    // Caffeine's map is striped internally and each bucket is a single CAS'd long
+    private final Cache<String, TokenBucket> buckets;
+
+    public RateLimitFilter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.enabled();
+        long longestRefill = 0;
+        for (RateLimitProperties.Rule rule : properties.rules()) {
+            CompiledRule compiled = new CompiledRule(rule, meterRegistry);
+            rules.add(compiled);
+            longestRefill = Math.max(longestRefill, compiled.nanosPerToken * rule.capacity());
+        }
+        // A bucket idle for longer than its full refill time is full again - same as a new one, so drop it
+        this.buckets = Caffeine.newBuilder()
+            .maximumSize(properties.maxBuckets())
+            .expireAfterAccess(Math.max(longestRefill, 1), TimeUnit.NANOSECONDS)
+            .build();
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest req, @NonNull HttpServletResponse res, @NonNull FilterChain chain)
+            throws ServletException, IOException {
+        if (!enabled || rules.isEmpty()) {
+            chain.doFilter(req, res);
+            return;
+        }
+        PathContainer path = PathContainer.parsePath(req.getRequestURI());
+        long now = System.nanoTime();
+        long wait = 0;
+        CompiledRule throttledBy = null;
+        for (CompiledRule rule : rules) {
+            if (!rule.matches(req.getMethod(), path)) {
+                continue;
+            }
+            String key = rule.rule.name() + '|' + clientKey(rule.rule.key(), req);
+            long ruleWait = buckets.get(key, k -> new TokenBucket())
+                .tryConsume(now, rule.nanosPerToken, rule.rule.capacity());
+            if (ruleWait > wait) {
+                wait = ruleWait;
+                throttledBy = rule;
+            }
+        }
+        if (throttledBy != null) {
+            throttledBy.throttled.increment();
+            long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + 999_999_999L));
+            res.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            res.setHeader("Retry-After", Long.toString(retryAfter));
+            res.setContentType(MediaType.TEXT_PLAIN_VALUE);
+            res.getWriter().write("Too many requests - retry in " + retryAfter + "s");
+            return;
+        }
+        chain.doFilter(req, res);
+    }
+
+    private static String clientKey(RateLimitProperties.Key key, HttpServletRequest req) {
+        if (key == RateLimitProperties.Key.USER) {
+            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+            if (auth != null && auth.isAuthenticated()) {
+                return "user:" + auth.getName();
+            }
+        }
+        return "ip:" + req.getRemoteAddr();
+    }
+
+    private static final class CompiledRule {
+        final RateLimitProperties.Rule rule;
+        final PathPattern pattern;
+        final long nanosPerToken;
+        final Counter throttled;
+
+        CompiledRule(RateLimitProperties.Rule rule, MeterRegistry meterRegistry) {
+            if (rule.capacity() < 1 || rule.refillTokens() < 1 || rule.refillPeriod() == null || rule.refillPeriod().isZero()) {
+                throw new IllegalArgumentException("Rate limit rule '" + rule.name() + "' needs capacity, refill-tokens and refill-period > 0");
+            }
+            this.rule = rule;
+            this.pattern = PathPatternParser.defaultInstance.parse(rule.path());
+            this.nanosPerToken = Math.max(1, rule.refillPeriod().toNanos() / rule.refillTokens());
+            this.throttled = Counter.builder("ratelimit.throttled")
+                .description("Requests rejected with 429 by the rate limiter")
+                .tag("rule", rule.name())
+                .register(meterRegistry);
+        }
+
+        boolean matches(String method, PathContainer path) {
+            return (rule.method() == null || rule.method().isBlank() || rule.method().equalsIgnoreCase(method))
+                && pattern.matches(path);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.demo.security.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * quiz.rate-limit.* - one rule per route. Every rule whose method and path match a request takes
+ * a token from its own bucket for that client; if any bucket is empty the request gets a 429.
+ */
+@ConfigurationProperties("quiz.rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        // Upper bound on tracked buckets (clients x rules), so a spray of fake IPs can't eat the heap
+        @DefaultValue("100000") long maxBuckets,
+        @DefaultValue List<Rule> rules) {
+
+    public enum Key {
+        IP,   // client address
+        USER  // authenticated username, falling back to the IP for anonymous requests
+    }
+
+    /**
+     * @param method       HTTP method to match, or empty for any
+     * @param path         Spring path pattern, e.g. /user/quiz/submit/**
+     * @param capacity     burst size
+     * @param refillTokens tokens earned back per refillPeriod
+     */
+    public record Rule(String name, String method, String path, @DefaultValue("IP") Key key,
+                       int capacity, int refillTokens, Duration refillPeriod) {}
+}
@@ -0,0 +1,35 @@
+package com.example.demo.security.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket. Instead of a token count plus a last-refill time, it keeps a single
+ * value: the moment the bucket will be full again (the GCRA form of a token bucket). Taking a
+ * token pushes that moment one refill interval further; if it would end up more than a full
+ * bucket ahead of now, the request is refused. One AtomicLong, updated with CAS, no locks.
+ */
+final class TokenBucket {
+
+    private final AtomicLong fullAt = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * @param now            System.nanoTime()
+     * @param nanosPerToken  how long it takes to earn one token back
+     * @param capacity       burst size
+     * @return 0 if a token was taken, otherwise how many nanos until one is available
+     */
+    long tryConsume(long now, long nanosPerToken, int capacity) {
+        long burst = nanosPerToken * capacity;
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + nanosPerToken;
+            long wait = next - now - burst;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -1,9 +1,17 @@
 package com.example.demo.security.repo;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import java.util.Optional;
 import com.example.demo.security.model.User;
+import jakarta.persistence.QueryHint;
 
 public interface UserRepository extends JpaRepository<User, Long> {
+    // Cached in "user-byUsername"; any write to users drops the cached results
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "user-byUsername")
+    })
     Optional<User> findByUsername(String username);
 }
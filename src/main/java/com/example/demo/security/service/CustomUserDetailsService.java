@@ -7,9 +7,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import com.example.demo.security.model.User;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import java.util.stream.Collectors;
+import io.micrometer.observation.annotation.Observed;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+@Observed(name = "service.user-details")
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
     @Autowired
     private UserRepository userRepository;
 
@@ -22,4 +24,15 @@ public class CustomUserDetailsService implements UserDetailsService {
             .collect(Collectors.toSet());
         return new org.springframework.security.core.userdetails.User(u.getUsername(), u.getPassword(), authorities);
     }
+
+    // Called by DaoAuthenticationProvider after a successful login when the stored hash was made with
+    // a different BCrypt cost than the configured one; newPassword is already encoded.
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.findByUsername(user.getUsername()).ifPresent(u -> {
+            u.setPassword(newPassword);
+            userRepository.save(u);
+        });
+        return org.springframework.security.core.userdetails.User.withUserDetails(user).password(newPassword).build();
+    }
 }
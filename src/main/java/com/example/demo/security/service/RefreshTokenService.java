@@ -0,0 +1,173 @@
+package com.example.demo.security.service;
+
+import com.example.demo.security.model.RefreshToken;
+import com.example.demo.security.repo.RefreshTokenRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Opaque, rotating refresh tokens. The client gets 256 random bits; the refresh_token table only
+ * keeps their HMAC-SHA256, so checking a token is one HMAC plus a lookup - no BCrypt.
+ * Recently issued tokens are also kept in an in-memory index (hash -> row), which saves the SELECT
+ * on refresh. The conditional UPDATE in markRotated stays the source of truth, so a stale index
+ * entry can never revive a rotated or revoked token.
+ *
+ * Each refresh rotates the token. Presenting an already-rotated token again means it was copied,
+ * so the whole family (everything descended from that login) is revoked - unless it was rotated
+ * less than jwt.refresh.reuse-grace-ms ago. That is two tabs (sharing one stored token) refreshing
+ * at the same moment, and the late one gets a sibling token in the same family instead of a logout.
+ * (Only hashes are stored, so the successor itself can't be handed out a second time.)
+ */
+@Service
+public class RefreshTokenService {
+
+    public record Rotation(String username, String refreshToken) {}
+
+    private record IndexEntry(Long id, UUID familyId, String username, Instant expiresAt) {
+        static IndexEntry of(RefreshToken t) {
+            return new IndexEntry(t.getId(), t.getFamilyId(), t.getUsername(), t.getExpiresAt());
+        }
+    }
+
+    private final RefreshTokenRepository repository;
+    private final Duration ttl;
+    private final Duration reuseGrace;
+    private final Mac hmacPrototype;
+    private final SecureRandom random = new SecureRandom();
+    private final Cache<String, IndexEntry> index;
+    private final Counter reuseDetected;
+
+    public RefreshTokenService(RefreshTokenRepository repository,
+                               @Value("${jwt.secret}") String secret,
+                               @Value("${jwt.refresh.expiration-ms:604800000}") long ttlMs,
+                               @Value("${jwt.refresh.index-max-size:50000}") long indexMaxSize,
+                               @Value("${jwt.refresh.reuse-grace-ms:5000}") long reuseGraceMs,
+                               MeterRegistry meterRegistry) throws GeneralSecurityException {
+        this.repository = repository;
+        this.ttl = Duration.ofMillis(ttlMs);
+        this.reuseGrace = Duration.ofMillis(reuseGraceMs);
+        this.hmacPrototype = Mac.getInstance("HmacSHA256");
+        this.hmacPrototype.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        this.index = Caffeine.newBuilder()
+            .maximumSize(indexMaxSize)
+            .expireAfterWrite(ttl)
+            .build();
+        this.reuseDetected = Counter.builder("auth.refresh.reuse")
+            .description("Rotated refresh tokens presented again (their family was revoked)")
+            .register(meterRegistry);
+    }
+
+    // Starts a new family - called on password login
+    @Transactional
+    public String issue(String username) {
+        return create(username, UUID.randomUUID(), Instant.now());
+    }
+
+    // Returns the user and a new refresh token, or null if the token is unknown, expired, rotated or revoked
+    @Transactional
+    public Rotation rotate(String presented) {
+        if (presented == null || presented.isBlank()) {
+            return null;
+        }
+        String hash = hash(presented);
+        IndexEntry entry = lookup(hash);
+        if (entry == null) {
+            return null;
+        }
+        Instant now = Instant.now();
+        index.invalidate(hash);
+        if (repository.markRotated(entry.id(), now) == 0) {
+            if (justRotated(hash, now)) {
+                // Lost a race with another tab holding the same token - not a copy
+                return new Rotation(entry.username(), create(entry.username(), entry.familyId(), now));
+            }
+            // Not expired, yet not rotatable: it was rotated (or revoked) before -> treat as stolen
+            if (entry.expiresAt().isAfter(now) && repository.revokeFamily(entry.familyId(), now) > 0) {
+                reuseDetected.increment();
+            }
+            return null;
+        }
+        return new Rotation(entry.username(), create(entry.username(), entry.familyId(), now));
+    }
+
+    // Logout: the token and everything rotated from the same login stop working
+    @Transactional
+    public void revoke(String presented) {
+        if (presented == null || presented.isBlank()) {
+            return;
+        }
+        String hash = hash(presented);
+        IndexEntry entry = lookup(hash);
+        index.invalidate(hash);
+        if (entry != null) {
+            repository.revokeFamily(entry.familyId(), Instant.now());
+        }
+    }
+
+    // Expired rows are useless even for reuse detection (an expired token is rejected anyway)
+    @Scheduled(fixedDelayString = "${jwt.refresh.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        repository.deleteExpiredBefore(Instant.now());
+    }
+
+    private String create(String username, UUID familyId, Instant now) {
+        byte[] raw = new byte[32];
+        random.nextBytes(raw);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+        RefreshToken row = new RefreshToken();
+        row.setTokenHash(hash(token));
+        row.setFamilyId(familyId);
+        row.setUsername(username);
+        row.setCreatedAt(now);
+        row.setExpiresAt(now.plus(ttl));
+        repository.save(row);
+        index.put(row.getTokenHash(), IndexEntry.of(row));
+        return token;
+    }
+
+    // Rotated within the grace period, and neither revoked nor expired since
+    private boolean justRotated(String hash, Instant now) {
+        return repository.findByTokenHash(hash)
+            .filter(t -> t.getRevokedAt() == null && t.getExpiresAt().isAfter(now))
+            .map(RefreshToken::getRotatedAt)
+            .filter(rotatedAt -> !rotatedAt.isBefore(now.minus(reuseGrace)))
+            .isPresent();
+    }
+
+    // Looked up outside Caffeine's compute (which would hold a lock over the JDBC call)
+    private IndexEntry lookup(String hash) {
+        IndexEntry entry = index.getIfPresent(hash);
+        if (entry == null) {
+            // rotated/revoked rows are returned too: presenting one is what reuse detection looks for
+            entry = repository.findByTokenHash(hash)
+                .map(IndexEntry::of)
+                .orElse(null);
+        }
+        return entry;
+    }
+
+    private String hash(String token) {
+        try {
+            Mac mac = (Mac) hmacPrototype.clone();
+            return HexFormat.of().formatHex(mac.doFinal(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.demo.tracing;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+
+/**
+ * 🧵 ObservedJacksonHttpMessageConverter - Times JSON Serialization of Responses
+ *
+ * The usual Jackson converter (same ObjectMapper), with each response body written
+ * inside an "http.response.serialize" observation - so serialization shows up as
+ * its own span and in the Server-Timing header.
+ *
+ * Jackson flushes the body when it's done, which would commit the response (and send
+ * the headers) before the observation stops. That flush is held back here - the
+ * converter flushes once more right after, so nothing is left unsent.
+ *
+ * @author KUNAL M
+ * @version 1.0
+ */
+class ObservedJacksonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+	private final ObservationRegistry observationRegistry;
+
+	ObservedJacksonHttpMessageConverter(ObjectMapper objectMapper, ObservationRegistry observationRegistry) {
+		super(objectMapper);
+		this.observationRegistry = observationRegistry;
+	}
+
+	@Override
+	protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+		Observation.createNotStarted("http.response.serialize", observationRegistry)
+				.observeChecked(() -> super.writeInternal(object, type, new DeferredFlushMessage(outputMessage)));
+	}
+
+	/**
+	 * 📨 The same output message, minus Jackson's flush
+	 */
+	private record DeferredFlushMessage(HttpOutputMessage delegate) implements HttpOutputMessage {
+
+		@Override
+		public OutputStream getBody() throws IOException {
+			return new FilterOutputStream(delegate.getBody()) {
+				@Override
+				public void write(byte[] b, int off, int len) throws IOException {
+					out.write(b, off, len);
+				}
+
+				@Override
+				public void flush() {
+				}
+			};
+		}
+
+		@Override
+		public HttpHeaders getHeaders() {
+			return delegate.getHeaders();
+		}
+	}
+}
@@ -0,0 +1,73 @@
+package com.example.demo.tracing;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * ⏱️ ServerTiming - Where Did This Request's Time Go?
+ *
+ * Collects how long each kind of work took during one request (JWT check, service
+ * calls, JDBC queries, JSON serialization...) and renders it as a Server-Timing
+ * header, which browsers show in the network tab next to the request.
+ *
+ * Work that happens more than once (e.g. several queries) is added up, and the
+ * count goes into the description: jdbc.query;dur=4.2;desc="3x".
+ *
+ * Bound to the request thread by ServerTimingFilter; ServerTimingObservationHandler
+ * fills it in as observations stop.
+ *
+ * @author KUNAL M
+ * @version 1.0
+ */
+final class ServerTiming {
+
+	private static final ThreadLocal<ServerTiming> CURRENT = new ThreadLocal<>();
+
+	private final long startNanos = System.nanoTime();
+	private final Map<String, long[]> entries = new LinkedHashMap<>();
+	private final String traceId;
+
+	ServerTiming(String traceId) {
+		this.traceId = traceId;
+	}
+
+	static ServerTiming current() {
+		return CURRENT.get();
+	}
+
+	static void bind(ServerTiming timing) {
+		if (timing == null) {
+			CURRENT.remove();
+		} else {
+			CURRENT.set(timing);
+		}
+	}
+
+	/** ➕ Some piece of work finished: add its duration under its name */
+	synchronized void add(String name, long nanos) {
+		long[] entry = entries.computeIfAbsent(name, n -> new long[2]);
+		entry[0] += nanos;
+		entry[1]++;
+	}
+
+	/** 🧾 The header value, with everything recorded so far plus the total time up to now */
+	synchronized String header() {
+		StringBuilder header = new StringBuilder();
+		for (Map.Entry<String, long[]> entry : entries.entrySet()) {
+			header.append(entry.getKey()).append(";dur=").append(millis(entry.getValue()[0]));
+			if (entry.getValue()[1] > 1) {
+				header.append(";desc=\"").append(entry.getValue()[1]).append("x\"");
+			}
+			header.append(", ");
+		}
+		if (traceId != null) {
+			header.append("trace;desc=\"").append(traceId).append("\", ");
+		}
+		return header.append("total;dur=").append(millis(System.nanoTime() - startNanos)).toString();
+	}
+
+	private static String millis(long nanos) {
+		return String.format(Locale.ROOT, "%.1f", nanos / 1_000_000.0);
+	}
+}
@@ -0,0 +1,252 @@
+package com.example.demo.tracing;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * 🧾 ServerTimingFilter - Puts the Latency Breakdown Into the Response Headers
+ *
+ * Starts a ServerTiming for each request and adds the Server-Timing header just
+ * before the response is committed, i.e. when the first bytes are about to leave
+ * (the servlet buffer is full, the declared Content-Length is reached, or the body
+ * is flushed). For normal JSON responses
+ * that's after serialization, so the header covers the whole request.
+ * Very large or streamed bodies get the breakdown up to their first flush.
+ *
+ * The trace id is included too, to find the request's spans in the logs.
+ *
+ * The breakdown says which steps a request went through (a user lookup, how many
+ * queries) and how long each took - a timing oracle for e.g. probing usernames at
+ * login. With admin-only set, it's only sent to callers with the ADMIN role, and
+ * Timing-Allow-Origin (letting scripts on that origin read it) only goes with it.
+ * The security context is cleared before this filter finishes, so whether the
+ * caller is an admin is noted while the response is being produced.
+ *
+ * @author KUNAL M
+ * @version 1.0
+ */
+class ServerTimingFilter extends OncePerRequestFilter {
+
+	private final Tracer tracer;
+	private final String timingAllowOrigin;
+	private final boolean adminOnly;
+
+	ServerTimingFilter(Tracer tracer, String timingAllowOrigin, boolean adminOnly) {
+		this.tracer = tracer;
+		this.timingAllowOrigin = timingAllowOrigin == null || timingAllowOrigin.isBlank() ? null : timingAllowOrigin;
+		this.adminOnly = adminOnly;
+	}
+
+	@Override
+	protected void doFilterInternal(@NonNull HttpServletRequest req, @NonNull HttpServletResponse res, @NonNull FilterChain chain)
+			throws ServletException, IOException {
+		Span span = tracer.currentSpan();
+		ServerTiming timing = new ServerTiming(span == null ? null : span.context().traceId());
+		TimingResponse response = new TimingResponse(res, timing, timingAllowOrigin, adminOnly);
+		ServerTiming.bind(timing);
+		try {
+			chain.doFilter(req, response);
+		} finally {
+			ServerTiming.bind(null);
+			response.addTimingHeader(); // responses without a body (204, 304...)
+		}
+	}
+
+	/**
+	 * 📨 Adds the header once, right before the response would be committed
+	 */
+	private static final class TimingResponse extends HttpServletResponseWrapper {
+
+		private final ServerTiming timing;
+		private final String timingAllowOrigin;
+		private final boolean adminOnly;
+		private boolean admin;
+		private boolean added;
+		private long contentLength = -1;
+		private ServletOutputStream outputStream;
+
+		TimingResponse(HttpServletResponse response, ServerTiming timing, String timingAllowOrigin, boolean adminOnly) {
+			super(response);
+			this.timing = timing;
+			this.timingAllowOrigin = timingAllowOrigin;
+			this.adminOnly = adminOnly;
+		}
+
+		void addTimingHeader() {
+			noteCaller();
+			if (!added && !isCommitted()) {
+				added = true;
+				if (adminOnly && !admin) {
+					return;
+				}
+				setHeader("Server-Timing", timing.header());
+				if (timingAllowOrigin != null) {
+					// cross-origin pages (the React app) may only read Server-Timing if we allow it
+					setHeader("Timing-Allow-Origin", timingAllowOrigin);
+				}
+			}
+		}
+
+		/** 👮 Remember an admin caller while the security context is still there */
+		private void noteCaller() {
+			if (adminOnly && !admin) {
+				Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+				admin = auth != null && auth.getAuthorities().stream().anyMatch(a -> "ROLE_ADMIN".equals(a.getAuthority()));
+			}
+		}
+
+		@Override
+		public void setStatus(int sc) {
+			noteCaller(); // bodyless responses (204...) get their header after the context is gone
+			super.setStatus(sc);
+		}
+
+		@Override
+		public void setContentLength(int len) {
+			contentLength = len;
+			super.setContentLength(len);
+		}
+
+		@Override
+		public void setContentLengthLong(long len) {
+			contentLength = len;
+			super.setContentLengthLong(len);
+		}
+
+		@Override
+		public void setHeader(String name, String value) {
+			noteCaller();
+			trackContentLength(name, value);
+			super.setHeader(name, value);
+		}
+
+		@Override
+		public void addHeader(String name, String value) {
+			noteCaller();
+			trackContentLength(name, value);
+			super.addHeader(name, value);
+		}
+
+		/** 📏 The container commits as soon as Content-Length bytes are written */
+		private void trackContentLength(String name, String value) {
+			if ("Content-Length".equalsIgnoreCase(name)) {
+				try {
+					contentLength = Long.parseLong(value.trim());
+				} catch (NumberFormatException e) {
+					contentLength = -1;
+				}
+			}
+		}
+
+		@Override
+		public ServletOutputStream getOutputStream() throws IOException {
+			if (outputStream == null) {
+				outputStream = new TimingOutputStream(super.getOutputStream(), this);
+			}
+			return outputStream;
+		}
+
+		@Override
+		public PrintWriter getWriter() throws IOException {
+			// writer output (error pages, plain text) is small - add the header up front
+			addTimingHeader();
+			return super.getWriter();
+		}
+
+		@Override
+		public void flushBuffer() throws IOException {
+			addTimingHeader();
+			super.flushBuffer();
+		}
+
+		@Override
+		public void sendError(int sc) throws IOException {
+			addTimingHeader();
+			super.sendError(sc);
+		}
+
+		@Override
+		public void sendError(int sc, String msg) throws IOException {
+			addTimingHeader();
+			super.sendError(sc, msg);
+		}
+
+		@Override
+		public void sendRedirect(String location) throws IOException {
+			addTimingHeader();
+			super.sendRedirect(location);
+		}
+	}
+
+	/**
+	 * 🚰 Watches the body: adds the header before the write that fills the buffer or
+	 * completes the Content-Length, or the first flush
+	 */
+	private static final class TimingOutputStream extends ServletOutputStream {
+
+		private final ServletOutputStream delegate;
+		private final TimingResponse response;
+		private long written;
+
+		TimingOutputStream(ServletOutputStream delegate, TimingResponse response) {
+			this.delegate = delegate;
+			this.response = response;
+		}
+
+		private void beforeWrite(int len) {
+			written += len;
+			if (written >= response.getBufferSize() || (response.contentLength >= 0 && written >= response.contentLength)) {
+				response.addTimingHeader();
+			}
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			beforeWrite(1);
+			delegate.write(b);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			beforeWrite(len);
+			delegate.write(b, off, len);
+		}
+
+		@Override
+		public void flush() throws IOException {
+			response.addTimingHeader();
+			delegate.flush();
+		}
+
+		@Override
+		public void close() throws IOException {
+			response.addTimingHeader();
+			delegate.close();
+		}
+
+		@Override
+		public boolean isReady() {
+			return delegate.isReady();
+		}
+
+		@Override
+		public void setWriteListener(WriteListener writeListener) {
+			delegate.setWriteListener(writeListener);
+		}
+	}
+}
@@ -0,0 +1,41 @@
+package com.example.demo.tracing;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+
+/**
+ * 🧲 ServerTimingObservationHandler - Feeds Finished Observations Into Server-Timing
+ *
+ * Every observation (filter chain, @Observed services, JDBC calls, JSON serialization...)
+ * that stops on a thread serving a request is added to that request's ServerTiming.
+ * Observations on other threads (scheduled jobs, the attempt writer) are ignored.
+ *
+ * The request observation itself (http.server.requests) is left out - it only ends after
+ * the response is sent, and the header already carries a "total".
+ *
+ * @author KUNAL M
+ * @version 1.0
+ */
+class ServerTimingObservationHandler implements ObservationHandler<Observation.Context> {
+
+	private static final String START = ServerTimingObservationHandler.class.getName() + ".start";
+
+	@Override
+	public boolean supportsContext(Observation.Context context) {
+		return ServerTiming.current() != null && !"http.server.requests".equals(context.getName());
+	}
+
+	@Override
+	public void onStart(Observation.Context context) {
+		context.put(START, System.nanoTime());
+	}
+
+	@Override
+	public void onStop(Observation.Context context) {
+		Long start = context.get(START);
+		ServerTiming timing = ServerTiming.current();
+		if (start != null && timing != null) {
+			timing.add(context.getName(), System.nanoTime() - start);
+		}
+	}
+}
@@ -0,0 +1,79 @@
+package com.example.demo.tracing;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.aop.ObservedAspect;
+import io.micrometer.tracing.Tracer;
+import io.opentelemetry.exporter.logging.LoggingSpanExporter;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+/**
+ * 🔭 TracingConfig - In-Process Tracing and the Server-Timing Header
+ *
+ * Spring Boot already traces HTTP requests and the security filter chain, and
+ * datasource-micrometer adds a span per JDBC connection, query and result set.
+ * This config adds the rest:
+ * - @Observed support, used on QuizService, QuestionService and CustomUserDetailsService 🔍
+ * - a span around JSON serialization of every response 🧵
+ * - the Server-Timing header with the per-request breakdown 🧾
+ * - optionally, every sampled span written to the log (quiz.tracing.log-spans) 📜
+ *
+ * How many requests are traced is set by management.tracing.sampling.probability.
+ * Server-Timing doesn't depend on sampling - every request gets the header
+ * (only admins' requests with quiz.tracing.server-timing.admin-only, the default).
+ *
+ * @author KUNAL M
+ * @version 1.0
+ */
+@Configuration
+public class TracingConfig {
+
+	@Bean
+	public ObservedAspect observedAspect(ObservationRegistry observationRegistry) {
+		return new ObservedAspect(observationRegistry);
+	}
+
+	/** 🧵 Replaces Boot's Jackson converter (same ObjectMapper) with one that observes serialization */
+	@Bean
+	public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper,
+			ObservationRegistry observationRegistry) {
+		return new ObservedJacksonHttpMessageConverter(objectMapper, observationRegistry);
+	}
+
+	/** 📜 No collector needed: sampled spans are logged by OpenTelemetry's logging exporter */
+	@Bean
+	@ConditionalOnProperty(name = "quiz.tracing.log-spans", havingValue = "true")
+	public SpanExporter loggingSpanExporter() {
+		return LoggingSpanExporter.create();
+	}
+
+	@Bean
+	@ConditionalOnProperty(name = "quiz.tracing.server-timing.enabled", havingValue = "true", matchIfMissing = true)
+	public ServerTimingObservationHandler serverTimingObservationHandler() {
+		return new ServerTimingObservationHandler();
+	}
+
+	/**
+	 * 🧾 Runs just inside the request observation (so the trace id is known) and
+	 * outside Spring Security (so the filter chain is part of the breakdown)
+	 */
+	@Bean
+	@ConditionalOnProperty(name = "quiz.tracing.server-timing.enabled", havingValue = "true", matchIfMissing = true)
+	public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter(Tracer tracer,
+			@Value("${quiz.tracing.server-timing.allow-origin:}") String allowOrigin,
+			@Value("${quiz.tracing.server-timing.admin-only:true}") boolean adminOnly) {
+		FilterRegistrationBean<ServerTimingFilter> registration =
+				new FilterRegistrationBean<>(new ServerTimingFilter(tracer, allowOrigin, adminOnly));
+		registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+		return registration;
+	}
+}
@@ -0,0 +1,105 @@
+-- ================================================================
+-- V1: Baseline schema
+-- The tables Hibernate used to create with ddl-auto=update, written
+-- down once so every environment gets the same schema.
+--
+-- Everything is IF NOT EXISTS: databases that were created by
+-- ddl-auto=update already have these objects (Flyway baselines them at
+-- version 0 and then runs this as a no-op), fresh databases get them here.
+-- ================================================================
+
+CREATE SEQUENCE IF NOT EXISTS quiz_attempt_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS attempt_answer_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS question (
+    id integer GENERATED BY DEFAULT AS IDENTITY,
+    category varchar(255),
+    difficultylevel varchar(255),
+    option1 varchar(255),
+    option2 varchar(255),
+    option3 varchar(255),
+    option4 varchar(255),
+    question_title varchar(255),
+    right_answer varchar(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS question_wrapper (
+    id integer GENERATED BY DEFAULT AS IDENTITY,
+    option1 varchar(255),
+    option2 varchar(255),
+    option3 varchar(255),
+    option4 varchar(255),
+    question_title varchar(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS quiz (
+    id integer GENERATED BY DEFAULT AS IDENTITY,
+    title varchar(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS quiz_question (
+    quiz_id integer NOT NULL,
+    question_id integer NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS quiz_attempt (
+    id bigint NOT NULL,
+    quiz_id integer NOT NULL,
+    username varchar(255),
+    score integer NOT NULL,
+    total_questions integer NOT NULL,
+    submitted_at timestamp(6) with time zone,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS attempt_answer (
+    id bigint NOT NULL,
+    attempt_id bigint,
+    question_id integer NOT NULL,
+    response varchar(255),
+    selected_option integer,
+    correct boolean NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS roles (
+    role_name varchar(255) NOT NULL,
+    PRIMARY KEY (role_name)
+);
+
+CREATE TABLE IF NOT EXISTS users (
+    id bigint GENERATED BY DEFAULT AS IDENTITY,
+    username varchar(255) NOT NULL UNIQUE,
+    password varchar(255) NOT NULL,
+    email varchar(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS user_roles (
+    user_id bigint NOT NULL,
+    role_name varchar(255) NOT NULL,
+    PRIMARY KEY (user_id, role_name)
+);
+
+-- Foreign keys (same names Hibernate generated, so existing databases are left alone)
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'fkjvx8e0op2ood2gxyn6nluj6r0') THEN
+        ALTER TABLE attempt_answer ADD CONSTRAINT FKjvx8e0op2ood2gxyn6nluj6r0 FOREIGN KEY (attempt_id) REFERENCES quiz_attempt;
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'fk62empq7vfu15qv1kci624f1js') THEN
+        ALTER TABLE quiz_question ADD CONSTRAINT FK62empq7vfu15qv1kci624f1js FOREIGN KEY (question_id) REFERENCES question;
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'fkdtynvfjgh6e7fd8l0wk37nrpc') THEN
+        ALTER TABLE quiz_question ADD CONSTRAINT FKdtynvfjgh6e7fd8l0wk37nrpc FOREIGN KEY (quiz_id) REFERENCES quiz;
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'fkdcdh0gl1mdce42vy0klyio6fi') THEN
+        ALTER TABLE user_roles ADD CONSTRAINT FKdcdh0gl1mdce42vy0klyio6fi FOREIGN KEY (role_name) REFERENCES roles;
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'fkhfh9dx7w3ubf1co1vdev94g3f') THEN
+        ALTER TABLE user_roles ADD CONSTRAINT FKhfh9dx7w3ubf1co1vdev94g3f FOREIGN KEY (user_id) REFERENCES users;
+    END IF;
+END $$;
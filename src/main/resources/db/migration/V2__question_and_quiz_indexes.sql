@@ -0,0 +1,34 @@
+-- ================================================================
+-- V2: Indexes for the hot read paths + a category summary
+-- ================================================================
+
+-- findByCategory, findIdsByCategory (the random sampler) and the
+-- category-filtered keyset page: equality on category, ordered by id
+CREATE INDEX IF NOT EXISTS idx_question_category_id
+    ON question (category, id);
+
+-- The category + difficulty keyset page
+CREATE INDEX IF NOT EXISTS idx_question_category_difficulty_id
+    ON question (category, difficultylevel, id);
+
+-- Loading a quiz's questions (quiz -> questions)
+CREATE INDEX IF NOT EXISTS idx_quiz_question_quiz_id
+    ON quiz_question (quiz_id, question_id);
+
+-- Finding the quizzes that contain a question (cache eviction on edit/delete,
+-- and the foreign key check when a question is deleted)
+CREATE INDEX IF NOT EXISTS idx_quiz_question_question_id
+    ON quiz_question (question_id);
+
+-- How many questions each category/difficulty has. Read by the category list
+-- instead of a DISTINCT over the whole question table; refreshed by the app
+-- shortly after questions change (CategorySummaryRefresher).
+CREATE MATERIALIZED VIEW IF NOT EXISTS category_summary AS
+    SELECT category, difficultylevel, count(*) AS question_count
+    FROM question
+    WHERE category IS NOT NULL
+    GROUP BY category, difficultylevel;
+
+-- A unique index lets the view be refreshed CONCURRENTLY (readers never block)
+CREATE UNIQUE INDEX IF NOT EXISTS idx_category_summary_key
+    ON category_summary (category, difficultylevel);
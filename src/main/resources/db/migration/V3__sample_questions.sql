@@ -0,0 +1,18 @@
+-- ================================================================
+-- V3: Sample questions for a brand-new install
+-- (replaces the old docker init.sql, which ran before the tables existed)
+-- Only runs its inserts when the question table is still empty.
+-- ================================================================
+
+INSERT INTO question (category, difficultylevel, option1, option2, option3, option4, question_title, right_answer)
+SELECT v.category, v.difficultylevel, v.option1, v.option2, v.option3, v.option4, v.question_title, v.right_answer
+FROM (VALUES
+    ('Java', 'Easy', 'class', 'interface', 'extends', 'implements', 'Which Java keyword is used to create a subclass?', 'extends'),
+    ('Java', 'Medium', 'ArrayList', 'LinkedList', 'Vector', 'All of the above', 'Which of the following implements List interface?', 'All of the above'),
+    ('Python', 'Easy', 'def', 'function', 'define', 'func', 'Which keyword is used to define a function in Python?', 'def'),
+    ('JavaScript', 'Medium', 'var', 'let', 'const', 'All of the above', 'Which of the following can be used to declare variables in JavaScript?', 'All of the above'),
+    ('Java', 'Hard', 'JVM', 'JRE', 'JDK', 'All are same', 'What does JVM stand for?', 'JVM')
+) AS v (category, difficultylevel, option1, option2, option3, option4, question_title, right_answer)
+WHERE NOT EXISTS (SELECT 1 FROM question);
+
+REFRESH MATERIALIZED VIEW category_summary;
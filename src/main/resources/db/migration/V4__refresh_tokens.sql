@@ -0,0 +1,26 @@
+-- ================================================================
+-- V4: Refresh tokens (POST /auth/refresh, /auth/logout)
+-- ================================================================
+
+-- One row per issued refresh token. Only an HMAC of the token is stored.
+-- Every refresh rotates the token: the old row gets rotated_at and a new row
+-- joins the same family. Presenting a rotated token again means it leaked,
+-- so the whole family is revoked.
+CREATE TABLE IF NOT EXISTS refresh_token (
+    id          BIGSERIAL PRIMARY KEY,
+    token_hash  VARCHAR(64)  NOT NULL UNIQUE,
+    family_id   UUID         NOT NULL,
+    username    VARCHAR(255) NOT NULL,
+    created_at  TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    expires_at  TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    rotated_at  TIMESTAMP(6) WITH TIME ZONE,
+    revoked_at  TIMESTAMP(6) WITH TIME ZONE
+);
+
+-- Revoking a family (reuse detection, logout)
+CREATE INDEX IF NOT EXISTS idx_refresh_token_family_id
+    ON refresh_token (family_id);
+
+-- Purging expired tokens
+CREATE INDEX IF NOT EXISTS idx_refresh_token_expires_at
+    ON refresh_token (expires_at);
@@ -0,0 +1,59 @@
+-- ================================================================
+-- V5: Change versions for questions (GET /admin/question/changes-since)
+-- ================================================================
+
+-- Every insert/update of a question stamps it with the next number from this
+-- sequence, and every delete leaves a tombstone with one. A client that has
+-- synced up to version N only needs the rows and tombstones above N.
+CREATE SEQUENCE IF NOT EXISTS question_change_seq;
+
+ALTER TABLE question ADD COLUMN IF NOT EXISTS change_version BIGINT;
+UPDATE question SET change_version = nextval('question_change_seq') WHERE change_version IS NULL;
+-- No column default: the trigger below sets it before NOT NULL is checked
+ALTER TABLE question ALTER COLUMN change_version SET NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_question_change_version
+    ON question (change_version);
+
+-- One row per deleted question (deleting it again just moves the version up)
+CREATE TABLE IF NOT EXISTS question_tombstone (
+    question_id     INTEGER      PRIMARY KEY,
+    change_version  BIGINT       NOT NULL,
+    deleted_at      TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_question_tombstone_change_version
+    ON question_tombstone (change_version);
+
+-- Versions are handed out under a transaction-level advisory lock, so question
+-- writes commit in version order: once a reader sees version N, no transaction
+-- can still commit anything below N. (Question writes are rare admin actions;
+-- serializing them is cheap.) The trigger covers JPA saves and the JDBC importer alike.
+CREATE OR REPLACE FUNCTION question_stamp_change_version() RETURNS trigger AS $$
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('question_change_seq'));
+    NEW.change_version := nextval('question_change_seq');
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION question_record_tombstone() RETURNS trigger AS $$
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('question_change_seq'));
+    INSERT INTO question_tombstone (question_id, change_version, deleted_at)
+    VALUES (OLD.id, nextval('question_change_seq'), now())
+    ON CONFLICT (question_id) DO UPDATE
+        SET change_version = EXCLUDED.change_version, deleted_at = EXCLUDED.deleted_at;
+    RETURN OLD;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS question_change_version ON question;
+CREATE TRIGGER question_change_version
+    BEFORE INSERT OR UPDATE ON question
+    FOR EACH ROW EXECUTE FUNCTION question_stamp_change_version();
+
+DROP TRIGGER IF EXISTS question_tombstone ON question;
+CREATE TRIGGER question_tombstone
+    AFTER DELETE ON question
+    FOR EACH ROW EXECUTE FUNCTION question_record_tombstone();
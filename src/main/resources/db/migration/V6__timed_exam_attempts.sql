@@ -0,0 +1,31 @@
+-- ================================================================
+-- V6: Timed exam attempts (POST /user/exam/start/{quizId})
+-- ================================================================
+
+-- Optional time limit per quiz. Quizzes with one can only be taken through
+-- an exam attempt; the others keep working with /user/quiz/submit/{id}.
+ALTER TABLE quiz ADD COLUMN IF NOT EXISTS time_limit_seconds INTEGER;
+
+-- One row per started attempt. The deadline is fixed by the server at start.
+-- status: OPEN -> SUBMITTED (in time) or EXPIRED (closed and scored at the deadline
+-- with the answers saved so far).
+CREATE TABLE IF NOT EXISTS exam_attempt (
+    id               BIGSERIAL    PRIMARY KEY,
+    quiz_id          INTEGER      NOT NULL,
+    username         VARCHAR(255) NOT NULL,
+    started_at       TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    deadline         TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    status           VARCHAR(16)  NOT NULL,
+    answers          JSONB,
+    score            INTEGER,
+    total_questions  INTEGER,
+    closed_at        TIMESTAMP(6) WITH TIME ZONE
+);
+
+-- Reloading the open attempts into the timer on startup
+CREATE INDEX IF NOT EXISTS idx_exam_attempt_open_deadline
+    ON exam_attempt (deadline) WHERE status = 'OPEN';
+
+-- At most one open attempt per user and quiz
+CREATE UNIQUE INDEX IF NOT EXISTS uq_exam_attempt_open_user_quiz
+    ON exam_attempt (username, quiz_id) WHERE status = 'OPEN';
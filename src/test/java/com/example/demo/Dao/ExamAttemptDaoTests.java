@@ -0,0 +1,96 @@
+package com.example.demo.Dao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.demo.Model.ExamAttempt;
+import com.example.demo.Model.Response;
+
+@SpringBootTest
+class ExamAttemptDaoTests {
+
+	@Autowired
+	ExamAttemptDao examAttemptDao;
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	private final String username = "exam-test-" + UUID.randomUUID();
+
+	@AfterEach
+	void cleanUp() {
+		jdbcTemplate.update("DELETE FROM exam_attempt WHERE username = ?", username);
+	}
+
+	private static Response response(int id, String answer, Integer option) {
+		Response r = new Response();
+		r.setId(id);
+		r.setResponse(answer);
+		r.setOption(option);
+		return r;
+	}
+
+	private ExamAttempt open(Instant deadline) {
+		ExamAttempt attempt = new ExamAttempt();
+		attempt.setQuizId(1);
+		attempt.setUsername(username);
+		attempt.setStartedAt(deadline.minusSeconds(600));
+		attempt.setDeadline(deadline);
+		attempt.setStatus(ExamAttempt.Status.OPEN);
+		attempt.setTotalQuestions(2);
+		return examAttemptDao.save(attempt);
+	}
+
+	@Test
+	void answersAreSavedAsJsonUntilTheAttemptCloses() {
+		long id = open(Instant.now().plusSeconds(600)).getId();
+		List<Response> draft = List.of(response(10, "b", 2));
+
+		assertEquals(1, examAttemptDao.saveAnswers(id, draft));
+		assertEquals(draft, examAttemptDao.findById(id).orElseThrow().getAnswers());
+		assertEquals("b", jdbcTemplate.queryForObject("SELECT answers -> 0 ->> 'response' FROM exam_attempt WHERE id = ?", String.class, id));
+
+		List<Response> last = List.of(response(10, "b", 2), response(20, "it's \"d\"", null));
+		assertEquals(1, examAttemptDao.submit(id, last, 1, 2, Instant.now()));
+
+		ExamAttempt submitted = examAttemptDao.findById(id).orElseThrow();
+		assertEquals(ExamAttempt.Status.SUBMITTED, submitted.getStatus());
+		assertEquals(last, submitted.getAnswers());
+		assertEquals(1, submitted.getScore());
+
+		// Closed: neither update touches it again
+		assertEquals(0, examAttemptDao.saveAnswers(id, draft));
+		assertEquals(0, examAttemptDao.submit(id, draft, 0, 2, Instant.now()));
+		assertEquals(last, examAttemptDao.findById(id).orElseThrow().getAnswers());
+	}
+
+	@Test
+	void findOverdueOnlyReturnsOpenAttemptsPastTheCutoff() {
+		Instant now = Instant.now();
+		// One open attempt per user and quiz: close the first before starting the next
+		long submitted = open(now.minusSeconds(30)).getId();
+		examAttemptDao.submit(submitted, List.of(), 0, 2, now);
+		long overdue = open(now.minusSeconds(20)).getId();
+
+		// (Not so overdue that the app's own sweep, at grace + 60s, closes it first)
+		assertEquals(List.of(), ids(examAttemptDao.findOverdue(now.minusSeconds(25), Limit.of(1000))));
+		assertEquals(List.of(overdue), ids(examAttemptDao.findOverdue(now.minusSeconds(10), Limit.of(1000))));
+	}
+
+	private List<Long> ids(List<ExamAttempt> attempts) {
+		return attempts.stream()
+				.filter(a -> a.getUsername().equals(username))
+				.map(ExamAttempt::getId)
+				.toList();
+	}
+}
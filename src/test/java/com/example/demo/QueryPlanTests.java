@@ -0,0 +1,136 @@
+package com.example.demo;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * 🔍 Before/after query plans for the indexes added in the V2 migration.
+ *
+ * Skipped unless -Dplantest.jdbcUrl is set, e.g. against the docker-compose database:
+ *   ./mvnw test -Dtest=QueryPlanTests -Dplantest.jdbcUrl=jdbc:postgresql://localhost:5432/quiz_db \
+ *       -Dplantest.username=quiz_user -Dplantest.password=quiz_password
+ *
+ * Migrates the database, then inside ONE transaction that is rolled back at the end:
+ * loads enough rows for the planner to care, captures the plans ("after"), drops the
+ * V2 indexes and captures them again ("before"). Nothing is left behind.
+ * Both sets of plans are written to target/query-plans.txt.
+ */
+@EnabledIfSystemProperty(named = "plantest.jdbcUrl", matches = ".+")
+class QueryPlanTests {
+
+	private final String url = System.getProperty("plantest.jdbcUrl");
+	private final String username = System.getProperty("plantest.username", "postgres");
+	private final String password = System.getProperty("plantest.password", "");
+
+	/** The hot queries (same SQL the DAOs generate, with literals), keyed by a label */
+	private static final Map<String, String> QUERIES = new LinkedHashMap<>();
+	/** The index each query is expected to use once V2 is applied */
+	private static final Map<String, String> EXPECTED_INDEX = new LinkedHashMap<>();
+	static {
+		query("sampler ids by category", "idx_question_category_id",
+				"SELECT id FROM question WHERE category = 'plan-cat-7' ORDER BY id");
+		query("questions by category", "idx_question_category",
+				"SELECT * FROM question WHERE category = 'plan-cat-7'");
+		query("keyset page by category + difficulty", "idx_question_category_difficulty_id",
+				"SELECT * FROM question WHERE category = 'plan-cat-7' AND difficultylevel = 'HARD' AND id > 0 ORDER BY id LIMIT 51");
+		query("quiz -> questions", "idx_quiz_question_quiz_id",
+				"SELECT question_id FROM quiz_question WHERE quiz_id = 4242");
+		query("question -> quizzes", "idx_quiz_question_question_id",
+				"SELECT DISTINCT quiz_id FROM quiz_question WHERE question_id = 4242");
+	}
+
+	private static void query(String label, String index, String sql) {
+		QUERIES.put(label, sql);
+		EXPECTED_INDEX.put(label, index);
+	}
+
+	@Test
+	void indexesReplaceSequentialScans() throws Exception {
+		Flyway.configure().dataSource(url, username, password)
+				.baselineOnMigrate(true).baselineVersion("0")
+				.load().migrate();
+
+		StringBuilder report = new StringBuilder();
+		try (Connection c = DriverManager.getConnection(url, username, password)) {
+			c.setAutoCommit(false);
+			try (Statement st = c.createStatement()) {
+				seed(st);
+
+				report.append("==== AFTER (with V2 indexes) ====\n");
+				Map<String, String> after = explainAll(st, report);
+				st.execute("REFRESH MATERIALIZED VIEW category_summary");
+				report.append("-- category list\n").append(explain(st, "SELECT DISTINCT category FROM category_summary")).append('\n');
+
+				st.execute("DROP INDEX idx_question_category_id, idx_question_category_difficulty_id, "
+						+ "idx_quiz_question_quiz_id, idx_quiz_question_question_id");
+				report.append("==== BEFORE (indexes dropped) ====\n");
+				Map<String, String> before = explainAll(st, report);
+				report.append("-- category list\n").append(explain(st, "SELECT DISTINCT category FROM question")).append('\n');
+
+				for (String label : QUERIES.keySet()) {
+					// after: served by the new index, no full scan
+					assertTrue(after.get(label).contains(EXPECTED_INDEX.get(label)), label + " doesn't use its index:\n" + after.get(label));
+					assertFalse(after.get(label).contains("Seq Scan"), label + " still scans:\n" + after.get(label));
+					// before: a full scan, or walking the primary key and filtering every row
+					String plan = before.get(label);
+					assertTrue(plan.contains("Seq Scan") || plan.contains("Filter:"), label + " was already cheap:\n" + plan);
+				}
+			} finally {
+				c.rollback();
+			}
+		}
+
+		System.out.print(report);
+		Path out = Path.of("target", "query-plans.txt");
+		Files.createDirectories(out.getParent());
+		Files.writeString(out, report);
+	}
+
+	/** 50k questions over 50 categories, 1000 quizzes of 20 questions, fresh statistics */
+	private static void seed(Statement st) throws SQLException {
+		st.execute("INSERT INTO question (category, difficultylevel, option1, option2, option3, option4, question_title, right_answer) "
+				+ "SELECT 'plan-cat-' || (g % 50), (ARRAY['EASY','MEDIUM','HARD'])[1 + g % 3], 'a', 'b', 'c', 'd', 'Plan ' || g, 'a' "
+				+ "FROM generate_series(1, 50000) g");
+		st.execute("INSERT INTO quiz (title) SELECT 'plan-quiz-' || g FROM generate_series(1, 1000) g");
+		st.execute("INSERT INTO quiz_question (quiz_id, question_id) "
+				+ "SELECT qz.id, qs.id FROM (SELECT id, row_number() OVER (ORDER BY id) AS n FROM quiz WHERE title LIKE 'plan-quiz-%') qz "
+				+ "JOIN (SELECT id, row_number() OVER (ORDER BY id) AS n FROM question WHERE question_title LIKE 'Plan %') qs "
+				+ "ON qs.n BETWEEN (qz.n - 1) * 20 + 1 AND qz.n * 20");
+		st.execute("ANALYZE question");
+		st.execute("ANALYZE quiz_question");
+	}
+
+	private static Map<String, String> explainAll(Statement st, StringBuilder report) throws SQLException {
+		Map<String, String> plans = new LinkedHashMap<>();
+		for (Map.Entry<String, String> query : QUERIES.entrySet()) {
+			String plan = explain(st, query.getValue());
+			plans.put(query.getKey(), plan);
+			report.append("-- ").append(query.getKey()).append('\n').append(plan).append('\n');
+		}
+		return plans;
+	}
+
+	private static String explain(Statement st, String sql) throws SQLException {
+		StringBuilder plan = new StringBuilder();
+		try (ResultSet rs = st.executeQuery("EXPLAIN " + sql)) {
+			while (rs.next()) {
+				plan.append(rs.getString(1)).append('\n');
+			}
+		}
+		return plan.toString();
+	}
+}
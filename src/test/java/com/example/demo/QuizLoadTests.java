@@ -0,0 +1,142 @@
+package com.example.demo;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * 🏋️ Load test for the quiz get/submit endpoints against a running server.
+ *
+ * Skipped unless -Dloadtest.baseUrl is set. Run it once with the server in platform-thread
+ * mode and once with spring.threads.virtual.enabled=true (load-test-threads.sh does both)
+ * and compare the summaries written to target/loadtest-<label>.txt.
+ *
+ * Properties: loadtest.baseUrl, loadtest.username, loadtest.password, loadtest.quizId,
+ * loadtest.users (concurrent clients), loadtest.seconds, loadtest.label
+ */
+@EnabledIfSystemProperty(named = "loadtest.baseUrl", matches = ".+")
+class QuizLoadTests {
+
+	private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+	private static final Pattern QUESTION_ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+
+	private final String baseUrl = System.getProperty("loadtest.baseUrl");
+	private final String username = System.getProperty("loadtest.username", "admin");
+	private final String password = System.getProperty("loadtest.password", "admin");
+	private final int quizId = Integer.getInteger("loadtest.quizId", 1);
+	private final int users = Integer.getInteger("loadtest.users", 200);
+	private final int seconds = Integer.getInteger("loadtest.seconds", 30);
+	private final String label = System.getProperty("loadtest.label", "run");
+
+	private final HttpClient client = HttpClient.newBuilder()
+			.executor(Executors.newVirtualThreadPerTaskExecutor())
+			.connectTimeout(Duration.ofSeconds(5))
+			.build();
+
+	@Test
+	void getAndSubmitQuizUnderLoad() throws Exception {
+		String token = login();
+		String submitBody = submitBodyFor(fetch("/user/quiz/get/" + quizId, token).body());
+
+		long[] latencies = new long[2_000_000];
+		AtomicInteger recorded = new AtomicInteger();
+		AtomicLong errors = new AtomicLong();
+		long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+
+		try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int u = 0; u < users; u++) {
+				clients.submit(() -> {
+					boolean submit = false;
+					while (System.nanoTime() < deadline) {
+						long start = System.nanoTime();
+						try {
+							HttpResponse<String> res = submit
+									? post("/user/quiz/submit/" + quizId, token, submitBody)
+									: fetch("/user/quiz/get/" + quizId, token);
+							if (res.statusCode() != 200) {
+								errors.incrementAndGet();
+							}
+						} catch (IOException | InterruptedException e) {
+							errors.incrementAndGet();
+						}
+						int slot = recorded.getAndIncrement();
+						if (slot < latencies.length) {
+							latencies[slot] = System.nanoTime() - start;
+						}
+						submit = !submit;
+					}
+					return null;
+				});
+			}
+		}
+
+		int count = Math.min(recorded.get(), latencies.length);
+		long[] sorted = Arrays.copyOf(latencies, count);
+		Arrays.sort(sorted);
+		String summary = String.format("label=%s users=%d seconds=%d requests=%d errors=%d throughput=%.1f req/s p50=%.2fms p99=%.2fms max=%.2fms%n",
+				label, users, seconds, count, errors.get(), count / (double) seconds,
+				percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 1.0));
+		System.out.print(summary);
+		Path out = Path.of("target", "loadtest-" + label + ".txt");
+		Files.createDirectories(out.getParent());
+		Files.writeString(out, summary);
+
+		assertTrue(count > 0, "no requests completed");
+	}
+
+	private String login() throws IOException, InterruptedException {
+		String body = "{\"username\":\"" + username + "\",\"password\":\"" + password + "\"}";
+		HttpResponse<String> res = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/auth/login"))
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(body)).build(), HttpResponse.BodyHandlers.ofString());
+		Matcher m = TOKEN.matcher(res.body());
+		assertTrue(m.find(), "login failed: " + res.statusCode() + " " + res.body());
+		return m.group(1);
+	}
+
+	private static String submitBodyFor(String quizJson) {
+		StringBuilder body = new StringBuilder("[");
+		Matcher m = QUESTION_ID.matcher(quizJson);
+		while (m.find()) {
+			body.append(body.length() > 1 ? "," : "").append("{\"id\":").append(m.group(1)).append(",\"option\":1}");
+		}
+		return body.append(']').toString();
+	}
+
+	private HttpResponse<String> fetch(String path, String token) throws IOException, InterruptedException {
+		return client.send(HttpRequest.newBuilder(URI.create(baseUrl + path))
+				.header("Authorization", "Bearer " + token).GET().build(), HttpResponse.BodyHandlers.ofString());
+	}
+
+	private HttpResponse<String> post(String path, String token, String json) throws IOException, InterruptedException {
+		return client.send(HttpRequest.newBuilder(URI.create(baseUrl + path))
+				.header("Authorization", "Bearer " + token)
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(json)).build(), HttpResponse.BodyHandlers.ofString());
+	}
+
+	private static double percentile(long[] sorted, double p) {
+		if (sorted.length == 0) {
+			return 0;
+		}
+		int index = (int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1);
+		return sorted[Math.max(0, index)] / 1_000_000.0;
+	}
+}
@@ -0,0 +1,75 @@
+package com.example.demo.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.Model.Question;
+import com.example.demo.Model.Response;
+
+class AnswerKeyTests {
+
+	private static Question question(int id, String rightAnswer) {
+		Question q = new Question();
+		q.setId(id);
+		q.setOption1("a");
+		q.setOption2("b");
+		q.setOption3("c");
+		q.setOption4("d");
+		q.setRight_answer(rightAnswer);
+		return q;
+	}
+
+	private static Response byOption(int id, int option) {
+		Response r = new Response();
+		r.setId(id);
+		r.setOption(option);
+		return r;
+	}
+
+	private static Response byText(int id, String text) {
+		Response r = new Response();
+		r.setId(id);
+		r.setResponse(text);
+		return r;
+	}
+
+	private final AnswerKey key = AnswerKey.of(List.of(question(30, "c"), question(10, "a"), question(20, "d")));
+
+	@Test
+	void scoresByQuestionIdRegardlessOfOrder() {
+		int score = key.score(List.of(byOption(20, 4), byOption(30, 3), byOption(10, 2)));
+
+		assertEquals(2, score);
+	}
+
+	@Test
+	void fallsBackToAnswerTextWhenNoOptionIsSent() {
+		int score = key.score(List.of(byText(10, "a"), byText(20, "b"), byText(30, "c")));
+
+		assertEquals(2, score);
+	}
+
+	@Test
+	void ignoresUnknownQuestionsAndRepeatedAnswers() {
+		int score = key.score(List.of(byOption(10, 1), byOption(10, 1), byOption(99, 1), byText(20, null)));
+
+		assertEquals(1, score);
+	}
+
+	@Test
+	void handlesQuizzesLargerThanOneBitmapWord() {
+		List<Question> questions = new ArrayList<>();
+		List<Response> responses = new ArrayList<>();
+		for (int id = 1; id <= 200; id++) {
+			questions.add(question(id, "b"));
+			responses.add(byOption(id, id % 2 == 0 ? 2 : 1));
+			responses.add(byOption(id, 2));
+		}
+
+		assertEquals(100, AnswerKey.of(questions).score(responses));
+	}
+}
@@ -0,0 +1,270 @@
+package com.example.demo.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.demo.Dao.ExamAttemptDao;
+import com.example.demo.Model.ExamAttempt;
+import com.example.demo.Model.Question;
+import com.example.demo.Model.Response;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ExamServiceTests {
+
+	private static final long GRACE_MS = 2_000;
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	// Long ticks: the background timer never runs during a test, closeExpired() is called instead
+	private final ExamService service = new ExamService(60_000, 1800, 604_800, GRACE_MS, 500, 60_000, 1000, meterRegistry);
+	private AnswerKey answerKey;
+
+	private static Question question(int id, String rightAnswer) {
+		Question q = new Question();
+		q.setId(id);
+		q.setOption1("a");
+		q.setOption2("b");
+		q.setOption3("c");
+		q.setOption4("d");
+		q.setRight_answer(rightAnswer);
+		return q;
+	}
+
+	private static Response response(int id, String answer) {
+		Response r = new Response();
+		r.setId(id);
+		r.setResponse(answer);
+		return r;
+	}
+
+	private static ExamAttempt row(long id, String username, Instant deadline, ExamAttempt.Status status) {
+		ExamAttempt attempt = new ExamAttempt();
+		attempt.setId(id);
+		attempt.setQuizId(1);
+		attempt.setUsername(username);
+		attempt.setStartedAt(deadline.minusSeconds(600));
+		attempt.setDeadline(deadline);
+		attempt.setStatus(status);
+		return attempt;
+	}
+
+	@BeforeEach
+	void setUp() {
+		answerKey = AnswerKey.of(List.of(question(10, "b"), question(20, "d")), 600);
+		service.quizService = mock(QuizService.class);
+		service.examAttemptDao = mock(ExamAttemptDao.class);
+		service.jdbcTemplate = mock(JdbcTemplate.class);
+		when(service.quizService.getAnswerKey(1)).thenReturn(answerKey);
+		when(service.quizService.recordAttempt(anyInt(), anyString(), any(), anyInt(), anyList())).thenReturn(true);
+		when(service.examAttemptDao.findByUsernameAndQuizIdAndStatus(anyString(), anyInt(), any())).thenReturn(Optional.empty());
+		when(service.examAttemptDao.save(any(ExamAttempt.class))).thenAnswer(inv -> {
+			ExamAttempt attempt = inv.getArgument(0);
+			attempt.setId(5L);
+			return attempt;
+		});
+	}
+
+	@AfterEach
+	void shutDown() {
+		service.stop();
+	}
+
+	/** Loads rows into the timer the way startup does */
+	private void recover(ExamAttempt... rows) {
+		when(service.examAttemptDao.findByStatus(ExamAttempt.Status.OPEN)).thenReturn(List.of(rows));
+		service.recoverOpenAttempts();
+	}
+
+	/** Far enough back that its timer (rounded up to the next 60s tick) is already due */
+	private static Instant overdue() {
+		return Instant.now().minusSeconds(180);
+	}
+
+	private double closed(String outcome) {
+		return meterRegistry.get("quiz.exam.closed").tag("outcome", outcome).counter().count();
+	}
+
+	@Test
+	void startSetsTheDeadlineAndSubmitScores() {
+		Instant before = Instant.now();
+		ResponseEntity<ExamAttempt> started = service.start(1, "alice");
+
+		assertEquals(HttpStatus.CREATED, started.getStatusCode());
+		Instant deadline = started.getBody().getDeadline();
+		assertEquals(600, Duration.between(before, deadline).toSeconds(), 1);
+
+		List<Response> answers = List.of(response(10, "b"), response(20, "a"));
+		when(service.examAttemptDao.submit(eq(5L), eq(answers), eq(1), eq(2), any())).thenReturn(1);
+		ResponseEntity<?> result = service.submit(5, "alice", answers);
+
+		assertEquals(HttpStatus.OK, result.getStatusCode());
+		assertEquals(1, result.getBody());
+		verify(service.quizService).recordAttempt(1, "alice", answerKey, 1, answers);
+		verify(service.examAttemptDao, never()).findById(anyLong());
+		assertEquals(1, closed("submitted"));
+	}
+
+	@Test
+	void startRejectsATimeLimitBeyondTheMaximum() {
+		when(service.quizService.getAnswerKey(2)).thenReturn(AnswerKey.of(List.of(question(10, "b")), 604_801));
+
+		assertEquals(HttpStatus.CONFLICT, service.start(2, "alice").getStatusCode());
+		verify(service.examAttemptDao, never()).save(any());
+	}
+
+	@Test
+	void submitAfterDeadlinePlusGraceIsRejected() {
+		recover(row(7, "alice", Instant.now().minusMillis(GRACE_MS + 1_000), ExamAttempt.Status.OPEN));
+
+		ResponseEntity<?> result = service.submit(7, "alice", List.of(response(10, "b")));
+
+		assertEquals(HttpStatus.CONFLICT, result.getStatusCode());
+		assertEquals("Time is up", result.getBody());
+		verify(service.examAttemptDao, never()).submit(anyLong(), anyList(), anyInt(), anyInt(), any());
+		assertEquals(1, closed("rejected"));
+	}
+
+	@Test
+	void submitWithinGraceIsAccepted() {
+		recover(row(7, "alice", Instant.now().minusMillis(GRACE_MS / 2), ExamAttempt.Status.OPEN));
+		when(service.examAttemptDao.submit(eq(7L), anyList(), anyInt(), anyInt(), any())).thenReturn(1);
+
+		assertEquals(HttpStatus.OK, service.submit(7, "alice", List.of(response(10, "b"))).getStatusCode());
+	}
+
+	@Test
+	void someoneElsesAttemptIsNotFound() {
+		recover(row(7, "alice", Instant.now().plusSeconds(60), ExamAttempt.Status.OPEN));
+
+		assertEquals(HttpStatus.NOT_FOUND, service.submit(7, "mallory", List.of()).getStatusCode());
+	}
+
+	@Test
+	void expiredAttemptsAreScoredOnTheirSavedAnswers() {
+		List<Response> saved = List.of(response(10, "b"), response(20, "d"));
+		ExamAttempt row = row(7, "alice", overdue(), ExamAttempt.Status.OPEN);
+		recover(row);
+		row.setAnswers(saved);
+		when(service.examAttemptDao.findAllById(List.of(7L))).thenReturn(List.of(row));
+		when(service.jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[] { 1 });
+
+		service.closeExpired();
+
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<List<Object[]>> updates = ArgumentCaptor.forClass(List.class);
+		verify(service.jdbcTemplate).batchUpdate(anyString(), updates.capture());
+		Object[] update = updates.getValue().get(0);
+		assertEquals(2, update[0]);
+		assertEquals(2, update[1]);
+		assertEquals(7L, update[3]);
+		verify(service.quizService).recordAttempt(1, "alice", answerKey, 2, saved);
+		assertEquals(1, closed("expired"));
+	}
+
+	@Test
+	void expiryThatLostToASubmitRecordsNothing() {
+		recover(row(7, "alice", overdue(), ExamAttempt.Status.OPEN));
+		when(service.examAttemptDao.findAllById(List.of(7L))).thenReturn(List.of());
+		// The conditional UPDATE found the row no longer OPEN
+		when(service.jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[] { 0 });
+
+		service.closeExpired();
+
+		verify(service.jdbcTemplate).batchUpdate(anyString(), anyList());
+		verify(service.quizService, never()).recordAttempt(anyInt(), anyString(), any(), anyInt(), anyList());
+		assertEquals(0, closed("expired"));
+	}
+
+	@Test
+	void submitThatLostToTheTimerElsewhereIsRejected() {
+		// Started on another node: only the row says it's open
+		when(service.examAttemptDao.findById(7L))
+				.thenReturn(Optional.of(row(7, "alice", Instant.now().plusSeconds(60), ExamAttempt.Status.OPEN)));
+		when(service.examAttemptDao.submit(eq(7L), anyList(), anyInt(), anyInt(), any())).thenReturn(0);
+
+		ResponseEntity<?> result = service.submit(7, "alice", List.of(response(10, "b")));
+
+		assertEquals(HttpStatus.CONFLICT, result.getStatusCode());
+		verify(service.quizService, never()).recordAttempt(anyInt(), anyString(), any(), anyInt(), anyList());
+	}
+
+	@Test
+	void attemptStartedElsewhereCanSaveAnswers() {
+		List<Response> answers = List.of(response(10, "b"));
+		when(service.examAttemptDao.findById(7L))
+				.thenReturn(Optional.of(row(7, "alice", Instant.now().plusSeconds(60), ExamAttempt.Status.OPEN)));
+		when(service.examAttemptDao.saveAnswers(7L, answers)).thenReturn(1);
+
+		assertEquals(HttpStatus.NO_CONTENT, service.saveAnswers(7, "alice", answers).getStatusCode());
+	}
+
+	@Test
+	void lateSubmitsToAnAttemptClosedHereSkipTheDatabase() {
+		recover(row(7, "alice", overdue(), ExamAttempt.Status.OPEN));
+		when(service.examAttemptDao.findAllById(anyList())).thenReturn(List.of());
+		when(service.jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[] { 1 });
+		service.closeExpired();
+		assertEquals(1, closed("expired"));
+
+		assertEquals(HttpStatus.CONFLICT, service.submit(7, "alice", List.of()).getStatusCode());
+		assertEquals(HttpStatus.CONFLICT, service.saveAnswers(7, "alice", List.of()).getStatusCode());
+		verify(service.examAttemptDao, never()).findById(anyLong());
+	}
+
+	@Test
+	void anAttemptSeenClosedIsOnlyLookedUpOnce() {
+		when(service.examAttemptDao.findById(7L))
+				.thenReturn(Optional.of(row(7, "alice", Instant.now().minusSeconds(60), ExamAttempt.Status.SUBMITTED)));
+
+		assertEquals(HttpStatus.CONFLICT, service.submit(7, "alice", List.of()).getStatusCode());
+		assertEquals(HttpStatus.CONFLICT, service.submit(7, "alice", List.of()).getStatusCode());
+		verify(service.examAttemptDao, times(1)).findById(7L);
+	}
+
+	@Test
+	void recoveryKeepsGoingPastAnAttemptItCantTime() {
+		// Beyond the wheel's 64^4 ticks (about 32 years with these 60s ticks)
+		recover(row(6, "bob", Instant.now().plus(Duration.ofDays(365L * 40)), ExamAttempt.Status.OPEN),
+				row(7, "alice", Instant.now().plusSeconds(60), ExamAttempt.Status.OPEN));
+		when(service.examAttemptDao.submit(eq(7L), anyList(), anyInt(), anyInt(), any())).thenReturn(1);
+
+		assertEquals(HttpStatus.OK, service.submit(7, "alice", List.of()).getStatusCode());
+		verify(service.examAttemptDao, never()).findById(anyLong());
+	}
+
+	@Test
+	void sweepClosesOverdueAttemptsFromOtherNodes() {
+		when(service.examAttemptDao.findOverdue(any(), any()))
+				.thenReturn(List.of(row(8, "carol", Instant.now().minusSeconds(600), ExamAttempt.Status.OPEN)));
+		when(service.examAttemptDao.findAllById(List.of(8L))).thenReturn(List.of());
+		when(service.jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[] { 1 });
+
+		service.sweepOverdue();
+
+		verify(service.quizService).recordAttempt(1, "carol", answerKey, 0, List.of());
+		assertEquals(1, closed("expired"));
+	}
+}
@@ -0,0 +1,169 @@
+package com.example.demo.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.Model.Question;
+import com.example.demo.Model.QuestionWrapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class LiveSessionTests {
+
+	private static final ThreadFactory THREADS = Thread.ofVirtual().factory();
+
+	private static Question question(int id, String rightAnswer) {
+		Question q = new Question();
+		q.setId(id);
+		q.setQuestion_title("Q" + id);
+		q.setOption1("a");
+		q.setOption2("b");
+		q.setOption3("c");
+		q.setOption4("d");
+		q.setRight_answer(rightAnswer);
+		return q;
+	}
+
+	private final List<Question> questions = List.of(question(10, "b"), question(20, "d"));
+
+	private final LiveSession session = new LiveSession("ABC234", 1,
+			questions.stream().map(QuestionWrapper::from).toList(), AnswerKey.of(questions), new ObjectMapper(), 0);
+
+	/** Records every frame written to it */
+	private static final class RecordingSink implements LiveSubscriber.FrameSink {
+		final BlockingQueue<byte[]> frames = new LinkedBlockingQueue<>();
+		final CountDownLatch closed = new CountDownLatch(1);
+
+		@Override
+		public void write(byte[] frame) {
+			frames.add(frame);
+		}
+
+		@Override
+		public void close() {
+			closed.countDown();
+		}
+
+		byte[] next() throws InterruptedException {
+			byte[] frame = frames.poll(5, TimeUnit.SECONDS);
+			assertNotNull(frame, "no frame arrived");
+			return frame;
+		}
+	}
+
+	private LiveSubscriber subscribe(String username, LiveSubscriber.FrameSink sink, int capacity) {
+		LiveSubscriber subscriber = new LiveSubscriber(username, sink, capacity, session::leave);
+		assertTrue(session.join(subscriber));
+		subscriber.start(THREADS);
+		return subscriber;
+	}
+
+	private static String text(byte[] frame) {
+		return new String(frame, StandardCharsets.UTF_8);
+	}
+
+	@Test
+	void everyParticipantGetsTheSameFrameAndLateJoinersCatchUp() throws Exception {
+		RecordingSink early = new RecordingSink();
+		subscribe("early", early, 8);
+		assertTrue(text(early.next()).startsWith("event: session\n"));
+
+		session.next(30, 1_000);
+		byte[] question = early.next();
+		assertTrue(text(question).startsWith("event: question\ndata: {"));
+		assertTrue(text(question).contains("\"question_title\":\"Q10\""));
+		assertFalse(text(question).contains("right_answer"));
+		assertTrue(text(question).endsWith("}\n\n"));
+
+		RecordingSink late = new RecordingSink();
+		subscribe("late", late, 8);
+		late.next();
+		assertSame(question, late.next());
+
+		session.tick(2_000, 15_000);
+		assertSame(early.next(), late.next());
+	}
+
+	@Test
+	void slowParticipantIsDroppedInsteadOfBuffered() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch closed = new CountDownLatch(1);
+		LiveSubscriber slow = subscribe("slow", new LiveSubscriber.FrameSink() {
+			@Override
+			public void write(byte[] frame) {
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+
+			@Override
+			public void close() {
+				closed.countDown();
+			}
+		}, 2);
+
+		session.next(30, 1_000);
+		for (int now = 2_000; now < 10_000 && !slow.isClosed(); now += 1_000) {
+			session.tick(now, 15_000);
+		}
+
+		assertTrue(slow.isDropped());
+		assertEquals(0, session.participants());
+		release.countDown();
+		assertTrue(closed.await(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	void answersAreCountedOnceAndResultsRevealTheRightOption() throws Exception {
+		RecordingSink sink = new RecordingSink();
+		subscribe("viewer", sink, 8);
+		sink.next();
+
+		assertFalse(session.close(500));
+		session.next(10, 1_000);
+		sink.next();
+		assertThrows(IllegalStateException.class, () -> session.next(10, 1_500));
+
+		assertEquals(LiveSession.Answer.ACCEPTED, session.answer("alice", 10, 2, 2_000));
+		assertEquals(LiveSession.Answer.ACCEPTED, session.answer("bob", 10, 3, 2_000));
+		assertEquals(LiveSession.Answer.DUPLICATE, session.answer("alice", 10, 1, 2_000));
+		assertEquals(LiveSession.Answer.WRONG_QUESTION, session.answer("carol", 20, 1, 2_000));
+		assertEquals(LiveSession.Answer.NOT_OPEN, session.answer("carol", 10, 1, 11_000));
+
+		session.tick(11_000, 15_000);
+		String results = text(sink.next());
+		assertTrue(results.startsWith("event: results\n"));
+		assertTrue(results.contains("\"correctOption\":2"));
+		assertTrue(results.contains("\"answered\":2"));
+		assertTrue(results.contains("\"answers\":[0,1,1,0]"));
+		assertEquals(LiveSession.Answer.NOT_OPEN, session.answer("carol", 10, 1, 11_000));
+	}
+
+	@Test
+	void endingTheSessionClosesEveryStream() throws Exception {
+		RecordingSink sink = new RecordingSink();
+		subscribe("viewer", sink, 8);
+		sink.next();
+
+		session.end(1_000);
+
+		assertTrue(text(sink.next()).startsWith("event: end\n"));
+		assertTrue(sink.closed.await(5, TimeUnit.SECONDS));
+		assertFalse(session.join(new LiveSubscriber("late", sink, 8, session::leave)));
+	}
+}
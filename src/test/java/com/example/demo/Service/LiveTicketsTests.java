@@ -0,0 +1,44 @@
+package com.example.demo.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.Base64;
+
+import org.junit.jupiter.api.Test;
+
+class LiveTicketsTests {
+
+	private final LiveTickets tickets = new LiveTickets(60_000);
+
+	@Test
+	void aTicketNamesItsUserForItsSessionUntilItExpires() {
+		String ticket = tickets.issue("ABC234", "alice", 1_000);
+
+		assertEquals("alice", tickets.redeem(ticket, "ABC234", 1_000));
+		assertEquals("alice", tickets.redeem(ticket, "ABC234", 61_000));
+		assertNull(tickets.redeem(ticket, "ABC234", 61_001));
+		assertNull(tickets.redeem(ticket, "XYZ789", 1_000));
+	}
+
+	@Test
+	void forgedOrMangledTicketsAreRejected() {
+		String ticket = tickets.issue("ABC234", "alice", 1_000);
+		String payload = ticket.substring(0, ticket.indexOf('.'));
+		String signature = ticket.substring(ticket.indexOf('.') + 1);
+		String bob = Base64.getUrlEncoder().withoutPadding().encodeToString("ABC234\n61000\nbob".getBytes());
+
+		assertNull(tickets.redeem(bob + "." + signature, "ABC234", 1_000));
+		assertNull(tickets.redeem(payload + "." + signature.substring(1), "ABC234", 1_000));
+		assertNull(tickets.redeem(payload, "ABC234", 1_000));
+		assertNull(tickets.redeem("!!!.???", "ABC234", 1_000));
+		assertNull(tickets.redeem(null, "ABC234", 1_000));
+	}
+
+	@Test
+	void anotherNodesTicketsAreRejected() {
+		String ticket = new LiveTickets(60_000).issue("ABC234", "alice", 1_000);
+
+		assertNull(tickets.redeem(ticket, "ABC234", 1_000));
+	}
+}
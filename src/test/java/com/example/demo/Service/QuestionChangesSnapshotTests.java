@@ -0,0 +1,99 @@
+package com.example.demo.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.AopTestUtils;
+
+import com.example.demo.Dao.QuestionDao;
+import com.example.demo.Model.Question;
+import com.example.demo.Model.QuestionChanges;
+
+@SpringBootTest
+class QuestionChangesSnapshotTests {
+
+	@Autowired
+	QuestionService questionService;
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	private final String category = "snapshot-test-" + UUID.randomUUID();
+	private int updated;
+	private int deleted;
+
+	@BeforeEach
+	void insertQuestions() {
+		updated = insert();
+		deleted = insert();
+	}
+
+	@AfterEach
+	void cleanUp() {
+		jdbcTemplate.update("DELETE FROM question WHERE category = ?", category);
+		jdbcTemplate.update("DELETE FROM question_tombstone WHERE question_id IN (?, ?)", updated, deleted);
+	}
+
+	private int insert() {
+		return jdbcTemplate.queryForObject(
+				"INSERT INTO question (category, difficultylevel, option1, option2, option3, option4, question_title, right_answer)"
+						+ " VALUES (?, 'EASY', 'a', 'b', 'c', 'd', 'Q', 'a') RETURNING id",
+				Integer.class, category);
+	}
+
+	@Test
+	void writesBetweenTheTwoReadsAreNotSkipped() throws Exception {
+		long version = jdbcTemplate.queryForObject(
+				"SELECT GREATEST((SELECT COALESCE(MAX(change_version), 0) FROM question),"
+						+ " (SELECT COALESCE(MAX(change_version), 0) FROM question_tombstone))",
+				Long.class);
+
+		// Right after the questions are read, another transaction updates one (v1) and deletes the other (v2)
+		QuestionService target = AopTestUtils.getUltimateTargetObject(questionService);
+		QuestionDao repo = target.repo;
+		target.repo = (QuestionDao) Proxy.newProxyInstance(
+				QuestionDao.class.getClassLoader(), new Class<?>[] {QuestionDao.class},
+				(proxy, method, args) -> {
+					Object result;
+					try {
+						result = method.invoke(repo, args);
+					} catch (InvocationTargetException e) {
+						throw e.getCause();
+					}
+					if (method.getName().equals("findChangedSince")) {
+						Thread writer = new Thread(() -> {
+							jdbcTemplate.update("UPDATE question SET question_title = 'Q2' WHERE id = ?", updated);
+							jdbcTemplate.update("DELETE FROM question WHERE id = ?", deleted);
+						});
+						writer.start();
+						writer.join();
+					}
+					return result;
+				});
+		QuestionChanges first;
+		try {
+			first = questionService.getChangesSince(version, null).getBody();
+		} finally {
+			target.repo = repo;
+		}
+
+		// Whatever the first response covered, continuing from its version must still bring both changes
+		QuestionChanges next = questionService.getChangesSince(first.getVersion(), null).getBody();
+		List<Integer> changedIds = first.getChanged().stream().map(Question::getId).toList();
+		List<Integer> nextChangedIds = next.getChanged().stream().map(Question::getId).toList();
+		assertTrue(changedIds.contains(updated) || nextChangedIds.contains(updated), "update skipped");
+		assertTrue(first.getDeleted().contains(deleted) || next.getDeleted().contains(deleted), "delete skipped");
+		assertEquals(List.of(), first.getDeleted());
+	}
+}
@@ -0,0 +1,109 @@
+package com.example.demo.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+
+import com.example.demo.Dao.QuestionDao;
+import com.example.demo.Dao.QuestionTombstoneDao;
+import com.example.demo.Model.Question;
+import com.example.demo.Model.QuestionChanges;
+import com.example.demo.Model.QuestionTombstone;
+
+class QuestionChangesTests {
+
+	private final QuestionService service = new QuestionService();
+
+	@BeforeEach
+	void setUp() {
+		service.repo = mock(QuestionDao.class);
+		service.questionTombstoneDao = mock(QuestionTombstoneDao.class);
+		service.defaultChangesSize = 1000;
+		service.maxChangesSize = 5000;
+	}
+
+	private static Question question(int id, long version) {
+		Question q = new Question();
+		q.setId(id);
+		q.setChange_version(version);
+		return q;
+	}
+
+	private static QuestionTombstone tombstone(int id, long version) {
+		QuestionTombstone t = new QuestionTombstone();
+		t.setQuestionId(id);
+		t.setChangeVersion(version);
+		t.setDeletedAt(Instant.now());
+		return t;
+	}
+
+	private void given(List<Question> changed, List<QuestionTombstone> deleted) {
+		when(service.repo.findChangedSince(anyLong(), any(Limit.class))).thenReturn(changed);
+		when(service.questionTombstoneDao.findByChangeVersionGreaterThanOrderByChangeVersionAsc(anyLong(), any(Limit.class)))
+				.thenReturn(deleted);
+	}
+
+	@Test
+	void mergesChangesAndDeletesInVersionOrder() {
+		given(List.of(question(1, 11), question(2, 14)), List.of(tombstone(3, 12), tombstone(4, 13)));
+
+		QuestionChanges changes = service.getChangesSince(10, null).getBody();
+
+		assertEquals(14, changes.getVersion());
+		assertEquals(List.of(1, 2), changes.getChanged().stream().map(Question::getId).toList());
+		assertEquals(List.of(3, 4), changes.getDeleted());
+		assertFalse(changes.isMore());
+	}
+
+	@Test
+	void stopsAtPageSizeAndReportsMore() {
+		given(List.of(question(1, 11), question(2, 14)), List.of(tombstone(3, 12), tombstone(4, 13)));
+
+		QuestionChanges changes = service.getChangesSince(10, 2).getBody();
+
+		assertEquals(12, changes.getVersion());
+		assertEquals(List.of(1), changes.getChanged().stream().map(Question::getId).toList());
+		assertEquals(List.of(3), changes.getDeleted());
+		assertTrue(changes.isMore());
+	}
+
+	@Test
+	void upToDateClientKeepsItsVersion() {
+		given(List.of(), List.of());
+		when(service.repo.findLatestChangeVersion()).thenReturn(20L);
+
+		QuestionChanges changes = service.getChangesSince(20, null).getBody();
+
+		assertEquals(20, changes.getVersion());
+		assertFalse(changes.isReset());
+	}
+
+	@Test
+	void unknownVersionAsksForReset() {
+		given(List.of(), List.of());
+		when(service.repo.findLatestChangeVersion()).thenReturn(20L);
+		when(service.questionTombstoneDao.findLatestVersion()).thenReturn(15L);
+
+		QuestionChanges changes = service.getChangesSince(99, null).getBody();
+
+		assertTrue(changes.isReset());
+		assertEquals(0, changes.getVersion());
+	}
+
+	@Test
+	void negativeVersionIsRejected() {
+		assertEquals(HttpStatus.BAD_REQUEST, service.getChangesSince(-1, null).getStatusCode());
+	}
+}
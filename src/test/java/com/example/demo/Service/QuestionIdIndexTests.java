@@ -0,0 +1,69 @@
+package com.example.demo.Service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class QuestionIdIndexTests {
+
+	private static QuestionIdIndex.CategoryIds idsFrom(int fromInclusive, int toExclusive) {
+		return QuestionIdIndex.CategoryIds.of(IntStream.range(fromInclusive, toExclusive).boxed().toList());
+	}
+
+	@Test
+	void sampleReturnsDistinctIdsFromTheCategory() {
+		QuestionIdIndex.CategoryIds ids = idsFrom(100, 1100);
+
+		int[] picked = ids.sample(50, new Random());
+
+		assertEquals(50, picked.length);
+		Set<Integer> unique = new HashSet<>();
+		for (int id : picked) {
+			unique.add(id);
+			assertTrue(id >= 100 && id < 1100);
+		}
+		assertEquals(50, unique.size());
+	}
+
+	@Test
+	void sampleIsReproducibleWithTheSameSeed() {
+		QuestionIdIndex.CategoryIds ids = idsFrom(1, 10_000);
+
+		assertArrayEquals(ids.sample(20, new Random(42)), ids.sample(20, new Random(42)));
+	}
+
+	@Test
+	void sampleLargerThanCategoryReturnsEveryId() {
+		QuestionIdIndex.CategoryIds ids = QuestionIdIndex.CategoryIds.of(List.of(3, 5, 8));
+
+		int[] picked = ids.sample(10, new Random(7));
+		Arrays.sort(picked);
+
+		assertArrayEquals(new int[] {3, 5, 8}, picked);
+	}
+
+	@Test
+	void addAndRemoveKeepIdsSortedAndUnique() {
+		QuestionIdIndex.CategoryIds ids = QuestionIdIndex.CategoryIds.of(List.of(2, 4, 6));
+
+		ids.add(7);
+		ids.add(5);
+		ids.add(5);
+		ids.remove(2);
+		ids.remove(42);
+
+		int[] all = ids.sample(10, new Random(1));
+		Arrays.sort(all);
+		assertArrayEquals(new int[] {4, 5, 6, 7}, all);
+		assertEquals(4, ids.size());
+	}
+}
@@ -0,0 +1,52 @@
+package com.example.demo.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.Model.Question;
+
+class QuestionImporterTests {
+
+	@Test
+	void splitsQuotedCsvFields() {
+		assertEquals(List.of("a", "b, c", "say \"hi\"", ""), QuestionImporter.splitCsv("a,\"b, c\",\"say \"\"hi\"\"\","));
+	}
+
+	@Test
+	void rejectsUnterminatedQuote() {
+		assertThrows(IllegalArgumentException.class, () -> QuestionImporter.splitCsv("a,\"b,c"));
+	}
+
+	@Test
+	void validatesRequiredFieldsAndAnswer() {
+		Question q = new Question();
+		q.setQuestion_title("Q");
+		q.setOption1("a");
+		q.setOption2("b");
+		q.setOption3("c");
+		q.setOption4("d");
+		q.setRight_answer("b");
+		q.setDifficultylevel("EASY");
+		q.setCategory("Java");
+		assertNull(QuestionImporter.validate(q));
+
+		q.setRight_answer("z");
+		assertEquals("right_answer must match one of the four options", QuestionImporter.validate(q));
+
+		q.setCategory(" ");
+		assertEquals("category is required", QuestionImporter.validate(q));
+	}
+
+	@Test
+	void detectsFormat() {
+		assertEquals(QuestionImporter.Format.CSV, QuestionImporter.Format.detect(null, "text/csv; charset=utf-8"));
+		assertEquals(QuestionImporter.Format.NDJSON, QuestionImporter.Format.detect(null, "application/x-ndjson"));
+		assertEquals(QuestionImporter.Format.CSV, QuestionImporter.Format.detect("csv", "application/x-ndjson"));
+		assertNull(QuestionImporter.Format.detect("xml", null));
+	}
+}
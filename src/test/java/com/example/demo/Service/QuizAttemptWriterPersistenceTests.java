@@ -0,0 +1,78 @@
+package com.example.demo.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.Dao.QuizAttemptDao;
+import com.example.demo.Model.AttemptAnswer;
+import com.example.demo.Model.QuizAttempt;
+
+@SpringBootTest
+class QuizAttemptWriterPersistenceTests {
+
+	@Autowired
+	QuizAttemptDao attemptDao;
+
+	@Autowired
+	PlatformTransactionManager transactionManager;
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	private final String prefix = "writer-test-" + UUID.randomUUID() + "-";
+
+	@AfterEach
+	void cleanUp() {
+		jdbcTemplate.update("DELETE FROM attempt_answer WHERE attempt_id IN (SELECT id FROM quiz_attempt WHERE username LIKE ?)",
+				prefix + "%");
+		jdbcTemplate.update("DELETE FROM quiz_attempt WHERE username LIKE ?", prefix + "%");
+	}
+
+	private QuizAttempt attempt(String username) {
+		QuizAttempt attempt = new QuizAttempt();
+		attempt.setQuizId(1);
+		attempt.setUsername(username);
+		attempt.setScore(1);
+		attempt.setTotalQuestions(2);
+		attempt.setSubmittedAt(Instant.now());
+		for (int questionId = 1; questionId <= 2; questionId++) {
+			AttemptAnswer answer = new AttemptAnswer();
+			answer.setQuestionId(questionId);
+			answer.setResponse("a");
+			answer.setCorrect(questionId == 1);
+			attempt.addAnswer(answer);
+		}
+		return attempt;
+	}
+
+	@Test
+	void goodAttemptsOfAFailedBatchAreSaved() throws InterruptedException {
+		QuizAttemptWriter writer = new QuizAttemptWriter(10, 3, new TransactionTemplate(transactionManager));
+		writer.attemptDao = attemptDao;
+		// Too long for username varchar(255), so the batch's insert fails
+		String tooLong = prefix + "x".repeat(300);
+		for (String username : List.of(prefix + "a", tooLong, prefix + "c")) {
+			writer.offer(attempt(username));
+		}
+
+		writer.start();
+		writer.stop();
+
+		assertEquals(List.of(prefix + "a", prefix + "c"), jdbcTemplate.queryForList(
+				"SELECT username FROM quiz_attempt WHERE username LIKE ? ORDER BY username", String.class, prefix + "%"));
+		assertEquals(4, jdbcTemplate.queryForObject(
+				"SELECT count(*) FROM attempt_answer WHERE attempt_id IN (SELECT id FROM quiz_attempt WHERE username LIKE ?)",
+				Integer.class, prefix + "%"));
+	}
+}
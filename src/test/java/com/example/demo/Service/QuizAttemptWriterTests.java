@@ -0,0 +1,139 @@
+package com.example.demo.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.Dao.QuizAttemptDao;
+import com.example.demo.Dao.QuizDao;
+import com.example.demo.Model.Quiz;
+import com.example.demo.Model.QuizAttempt;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class QuizAttemptWriterTests {
+
+	/** Runs the callback right away, counting commits and rollbacks */
+	private static final class StubTransactionTemplate extends TransactionTemplate {
+
+		int commits;
+		int rollbacks;
+
+		@Override
+		public <T> T execute(TransactionCallback<T> action) {
+			try {
+				T result = action.doInTransaction(new SimpleTransactionStatus());
+				commits++;
+				return result;
+			} catch (RuntimeException e) {
+				rollbacks++;
+				throw e;
+			}
+		}
+	}
+
+	private final StubTransactionTemplate transactions = new StubTransactionTemplate();
+
+	/** Usernames of each saveAll call, copied since the writer reuses its batch list */
+	private final List<List<String>> saved = new ArrayList<>();
+
+	private QuizAttemptWriter writer(int queueCapacity, int batchSize, String failingUsername) {
+		QuizAttemptWriter writer = new QuizAttemptWriter(queueCapacity, batchSize, transactions);
+		writer.attemptDao = mock(QuizAttemptDao.class);
+		when(writer.attemptDao.saveAll(any())).thenAnswer(invocation -> {
+			List<QuizAttempt> batch = invocation.getArgument(0);
+			List<String> usernames = batch.stream().map(QuizAttempt::getUsername).toList();
+			if (usernames.contains(failingUsername)) {
+				throw new IllegalStateException("constraint violation");
+			}
+			saved.add(usernames);
+			return batch;
+		});
+		return writer;
+	}
+
+	private static QuizAttempt attempt(String username) {
+		QuizAttempt attempt = new QuizAttempt();
+		attempt.setQuizId(1);
+		attempt.setUsername(username);
+		return attempt;
+	}
+
+	@Test
+	void fullQueueRefusesAttempts() {
+		QuizAttemptWriter writer = writer(2, 10, null);
+
+		assertTrue(writer.offer(attempt("a")));
+		assertTrue(writer.offer(attempt("b")));
+		assertFalse(writer.offer(attempt("c")));
+		assertEquals(2, writer.pending());
+	}
+
+	@Test
+	void fullQueueAnswers503WithRetryAfter() {
+		Quiz quiz = new Quiz();
+		quiz.setId(1);
+		quiz.setQuestions(List.of());
+
+		QuizService quizService = new QuizService();
+		quizService.quizDao = mock(QuizDao.class);
+		when(quizService.quizDao.findWithQuestionsById(anyInt())).thenReturn(Optional.of(quiz));
+		quizService.answerKeyCache = new AnswerKeyCache(100, new SimpleMeterRegistry());
+		quizService.quizAttemptWriter = writer(1, 10, null);
+		quizService.quizMetrics = new QuizMetrics();
+		quizService.quizMetrics.meterRegistry = new SimpleMeterRegistry();
+
+		assertEquals(HttpStatus.OK, quizService.calculateResult(1, List.of(), "alice").getStatusCode());
+		ResponseEntity<Integer> refused = quizService.calculateResult(1, List.of(), "bob");
+
+		assertEquals(HttpStatus.SERVICE_UNAVAILABLE, refused.getStatusCode());
+		assertEquals("1", refused.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+	}
+
+	@Test
+	void drainsQueueInBatchesBeforeStopping() throws InterruptedException {
+		QuizAttemptWriter writer = writer(10, 2, null);
+		for (String username : List.of("a", "b", "c", "d", "e")) {
+			writer.offer(attempt(username));
+		}
+
+		writer.start();
+		writer.stop();
+
+		assertEquals(List.of(List.of("a", "b"), List.of("c", "d"), List.of("e")), saved);
+		assertEquals(3, transactions.commits);
+		assertEquals(0, writer.pending());
+		assertFalse(writer.offer(attempt("f")));
+	}
+
+	@Test
+	void failedBatchIsRetriedOneByOne() throws InterruptedException {
+		QuizAttemptWriter writer = writer(10, 3, "bad");
+		for (String username : List.of("a", "bad", "c")) {
+			writer.offer(attempt(username));
+		}
+
+		writer.start();
+		writer.stop();
+
+		assertEquals(List.of(List.of("a"), List.of("c")), saved);
+		assertEquals(2, transactions.commits);
+		assertEquals(2, transactions.rollbacks); // the batch, then "bad" on its own
+	}
+}
@@ -0,0 +1,57 @@
+package com.example.demo.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class QuizMetricsTests {
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private final QuizMetrics metrics = new QuizMetrics();
+
+	@BeforeEach
+	void setUp() {
+		metrics.meterRegistry = registry;
+	}
+
+	private double submissions(String quiz, String outcome) {
+		return registry.get("quiz.submissions").tag("quiz", quiz).tag("outcome", outcome).counter().count();
+	}
+
+	@Test
+	void countsAcceptedAndRejectedSubmissionsPerQuiz() {
+		metrics.submitted(1, 3, 4, true);
+		metrics.submitted(1, 2, 4, true);
+		metrics.submitted(1, 4, 4, false);
+		metrics.submitted(2, 1, 4, true);
+
+		assertEquals(2, submissions("1", "accepted"));
+		assertEquals(1, submissions("1", "rejected"));
+		assertEquals(1, submissions("2", "accepted"));
+	}
+
+	@Test
+	void recordsScoresAsAPercentageOfTheQuiz() {
+		metrics.submitted(1, 3, 4, true);
+		metrics.submitted(1, 1, 2, true);
+
+		DistributionSummary score = registry.get("quiz.score").tag("quiz", "1").summary();
+		assertEquals(2, score.count());
+		assertEquals(125.0, score.totalAmount(), 1e-9);
+		assertEquals(75.0, score.max(), 1e-9);
+	}
+
+	@Test
+	void leavesRejectedAndEmptySubmissionsOutOfTheScores() {
+		metrics.submitted(1, 4, 4, false);
+		metrics.submitted(2, 0, 0, true);
+
+		assertNull(registry.find("quiz.score").summary());
+		assertEquals(1, submissions("2", "accepted"));
+	}
+}
@@ -0,0 +1,135 @@
+package com.example.demo.Service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ResponseBodyCacheTests {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final MappingJackson2CborHttpMessageConverter cbor = new MappingJackson2CborHttpMessageConverter();
+	private final ResponseBodyCache cache = new ResponseBodyCache(100, objectMapper, cbor,
+			new MappingJackson2SmileHttpMessageConverter(), new SimpleMeterRegistry());
+	private final AtomicInteger loads = new AtomicInteger();
+
+	private static List<String> categories(int n) {
+		List<String> categories = new ArrayList<>();
+		for (int i = 0; i < n; i++) {
+			categories.add("Category number " + i);
+		}
+		return categories;
+	}
+
+	private ResponseEntity<?> serve(HttpHeaders headers, List<String> body) {
+		return cache.serve(ResponseBodyCache.Family.CATEGORIES, "categories", headers, () -> {
+			loads.incrementAndGet();
+			return ResponseEntity.ok(body);
+		});
+	}
+
+	private static HttpHeaders headers(String name, String value) {
+		HttpHeaders headers = new HttpHeaders();
+		headers.add(name, value);
+		return headers;
+	}
+
+	@Test
+	void servesCachedJsonUntilInvalidated() throws IOException {
+		List<String> body = categories(3);
+		ResponseEntity<?> first = serve(new HttpHeaders(), body);
+		ResponseEntity<?> second = serve(new HttpHeaders(), body);
+
+		assertEquals(1, loads.get());
+		assertArrayEquals(objectMapper.writeValueAsBytes(body), (byte[]) second.getBody());
+		assertEquals(first.getHeaders().getETag(), second.getHeaders().getETag());
+
+		cache.invalidate(ResponseBodyCache.Family.CATEGORIES);
+		serve(new HttpHeaders(), body);
+		assertEquals(2, loads.get());
+
+		cache.invalidate(ResponseBodyCache.Family.QUIZZES);
+		serve(new HttpHeaders(), body);
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	void matchingIfNoneMatchGetsNotModifiedWithoutLoading() {
+		String etag = serve(new HttpHeaders(), categories(3)).getHeaders().getETag();
+
+		ResponseEntity<?> response = serve(headers(HttpHeaders.IF_NONE_MATCH, etag), categories(3));
+
+		assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+		assertNull(response.getBody());
+		assertEquals(etag, response.getHeaders().getETag());
+		assertEquals(1, loads.get());
+	}
+
+	@Test
+	void gzipVariantHasItsOwnEtag() throws IOException {
+		List<String> body = categories(50);
+		ResponseEntity<?> plain = serve(new HttpHeaders(), body);
+		ResponseEntity<?> gzip = serve(headers(HttpHeaders.ACCEPT_ENCODING, "gzip, br;q=0"), body);
+
+		assertEquals("gzip", gzip.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+		assertNotEquals(plain.getHeaders().getETag(), gzip.getHeaders().getETag());
+		try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream((byte[]) gzip.getBody()))) {
+			assertArrayEquals((byte[]) plain.getBody(), in.readAllBytes());
+		}
+
+		HttpHeaders revalidate = headers(HttpHeaders.ACCEPT_ENCODING, "gzip");
+		revalidate.add(HttpHeaders.IF_NONE_MATCH, plain.getHeaders().getETag());
+		assertEquals(HttpStatus.OK, serve(revalidate, body).getStatusCode());
+	}
+
+	@Test
+	void acceptPicksTheWireFormat() throws IOException {
+		List<String> body = categories(3);
+		ResponseEntity<?> binary = serve(headers(HttpHeaders.ACCEPT, "application/json;q=0, */*;q=0.5, application/cbor;q=0.9"), body);
+		ResponseEntity<?> browser = serve(headers(HttpHeaders.ACCEPT, "text/html, */*;q=0.8"), body);
+
+		assertEquals(MediaType.APPLICATION_CBOR, binary.getHeaders().getContentType());
+		assertEquals(body, cbor.getObjectMapper().readValue((byte[]) binary.getBody(), new TypeReference<List<String>>() { }));
+		assertEquals(MediaType.APPLICATION_JSON, browser.getHeaders().getContentType());
+		assertNotEquals(binary.getHeaders().getETag(), browser.getHeaders().getETag());
+	}
+
+	@Test
+	void smallBodiesAreNotCompressed() {
+		ResponseEntity<?> response = serve(headers(HttpHeaders.ACCEPT_ENCODING, "gzip, br"), categories(1));
+
+		assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+	}
+
+	@Test
+	void errorsArePassedThroughAndNotCached() {
+		for (int i = 0; i < 2; i++) {
+			ResponseEntity<?> response = cache.serve(ResponseBodyCache.Family.QUIZZES, "paper:9", new HttpHeaders(), () -> {
+				loads.incrementAndGet();
+				return new ResponseEntity<>(List.of(), HttpStatus.NOT_FOUND);
+			});
+			assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+		}
+		assertEquals(2, loads.get());
+	}
+}
@@ -0,0 +1,99 @@
+package com.example.demo.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class TimingWheelTests {
+
+	@Test
+	void firesAtTheFirstTickAtOrAfterTheDeadline() {
+		TimingWheel<String> wheel = new TimingWheel<>(100, 8, 2, 1_000);
+		wheel.schedule("a", 1_250);
+		wheel.schedule("b", 1_300);
+
+		assertEquals(List.of(), wheel.advance(1_299));
+		assertEquals(List.of("a", "b"), wheel.advance(1_300));
+		assertEquals(0, wheel.size());
+	}
+
+	@Test
+	void cancelledTimersNeverFire() {
+		TimingWheel<String> wheel = new TimingWheel<>(100, 8, 2, 0);
+		TimingWheel.Timeout<String> cancelled = wheel.schedule("cancelled", 500);
+		TimingWheel.Timeout<String> kept = wheel.schedule("kept", 500);
+
+		assertTrue(wheel.cancel(cancelled));
+		assertFalse(wheel.cancel(cancelled));
+		assertEquals(List.of("kept"), wheel.advance(1_000));
+		assertFalse(wheel.cancel(kept));
+	}
+
+	@Test
+	void overdueTimersFireOnTheNextAdvanceAndFarOnesAreRejected() {
+		TimingWheel<String> wheel = new TimingWheel<>(1_000, 4, 2, 10_000);
+		wheel.schedule("overdue", 5_000);
+
+		assertEquals(List.of("overdue"), wheel.advance(10_000));
+		// 2 levels of 4 slots cover 16 ticks
+		assertThrows(IllegalArgumentException.class, () -> wheel.schedule("too far", 10_000 + 16_000));
+	}
+
+	@Test
+	void timersOnHigherWheelsCascadeDownAndFireOnTime() {
+		// 3 levels of 4 slots: most timers start on a higher wheel and get poured down
+		TimingWheel<Integer> wheel = new TimingWheel<>(10, 4, 3, 37);
+		Random random = new Random(42);
+		Map<Integer, Long> deadlines = new HashMap<>();
+		long now = 37;
+		int next = 0;
+		for (int step = 0; step < 2_000; step++) {
+			for (int i = 0; i < 3; i++) {
+				long deadline = now + random.nextInt(600);
+				wheel.schedule(next, deadline);
+				deadlines.put(next++, deadline);
+			}
+			now += 1 + random.nextInt(15);
+			// A timer is due once the hand (now, in whole ticks) reaches its deadline rounded up to a tick
+			long hand = now / 10;
+			for (int fired : wheel.advance(now)) {
+				long deadline = deadlines.remove(fired);
+				assertTrue((deadline + 9) / 10 <= hand, "fired early");
+			}
+			for (long deadline : deadlines.values()) {
+				assertTrue((deadline + 9) / 10 > hand, "missed a timer");
+			}
+		}
+		assertEquals(deadlines.size(), wheel.size());
+	}
+
+	@Test
+	void handlesAHundredThousandTimers() {
+		TimingWheel<Integer> wheel = new TimingWheel<>(1_000, 64, 4, 0);
+		List<TimingWheel.Timeout<Integer>> timeouts = new ArrayList<>();
+		for (int i = 0; i < 100_000; i++) {
+			timeouts.add(wheel.schedule(i, 60_000L + i * 36L));
+		}
+		for (int i = 0; i < timeouts.size(); i += 2) {
+			wheel.cancel(timeouts.get(i));
+		}
+
+		List<Integer> fired = new ArrayList<>();
+		for (long now = 0; now <= 3_700_000; now += 1_000) {
+			fired.addAll(wheel.advance(now));
+		}
+
+		assertEquals(50_000, fired.size());
+		assertTrue(fired.stream().allMatch(i -> i % 2 == 1));
+		assertEquals(0, wheel.size());
+	}
+}
@@ -0,0 +1,127 @@
+package com.example.demo.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ReplicaRoutingDataSourceTests {
+
+	private final DataSource primary = mock(DataSource.class);
+	private final Replica one = new Replica("replica-1", mock(DataSource.class));
+	private final Replica two = new Replica("replica-2", mock(DataSource.class));
+	private final ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, List.of(one, two));
+
+	/** Each pool hands out its own connection, so we can tell where a connection came from */
+	private final Map<Connection, DataSource> owners = new HashMap<>();
+
+	@BeforeEach
+	void stubConnections() throws SQLException {
+		for (DataSource ds : List.of(primary, one.getDataSource(), two.getDataSource())) {
+			Connection connection = mock(Connection.class);
+			when(ds.getConnection()).thenReturn(connection);
+			owners.put(connection, ds);
+		}
+	}
+
+	@AfterEach
+	void clearTransaction() {
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+	}
+
+	@Test
+	void writesAlwaysGoToThePrimary() {
+		one.update(true, 0);
+		two.update(true, 0);
+		assertSame(primary, target());
+	}
+
+	@Test
+	void readOnlyTransactionsRoundRobinOverHealthyReplicas() {
+		one.update(true, 0);
+		two.update(true, 0);
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		DataSource first = target();
+		DataSource second = target();
+		assertTrue(List.of(one.getDataSource(), two.getDataSource()).contains(first));
+		assertTrue(List.of(one.getDataSource(), two.getDataSource()).contains(second));
+		assertFalse(first == second, "reads weren't spread over both replicas");
+	}
+
+	@Test
+	void unhealthyReplicasAreSkippedAndPrimaryIsTheLastResort() {
+		one.update(false, 60_000);
+		two.update(true, 10);
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		for (int i = 0; i < 4; i++) {
+			assertSame(two.getDataSource(), target());
+		}
+		two.update(false, -1);
+		assertSame(primary, target());
+	}
+
+	@Test
+	void replicaThatCantConnectFallsBackToThePrimaryAndLeavesRotation() throws SQLException {
+		one.update(true, 0);
+		when(one.getDataSource().getConnection()).thenThrow(new SQLException("connection refused"));
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		assertSame(primary, target());
+		assertFalse(one.isHealthy());
+	}
+
+	@Test
+	void healthCheckTakesLaggingOrUnreachableReplicasOutOfRotation() throws SQLException {
+		ReplicaHealthChecker checker = new ReplicaHealthChecker(List.of(one, two), 5000, new SimpleMeterRegistry());
+		stubLag(one, 120);
+		stubLag(two, 30_000);
+		checker.checkAll();
+		assertTrue(one.isHealthy());
+		assertEquals(120, one.getLagMillis());
+		assertFalse(two.isHealthy());
+		assertEquals(30_000, two.getLagMillis());
+
+		when(one.getDataSource().getConnection()).thenThrow(new SQLException("connection refused"));
+		checker.checkAll();
+		assertFalse(one.isHealthy());
+		assertEquals(-1, one.getLagMillis());
+	}
+
+	private DataSource target() {
+		try {
+			return owners.get(routing.getConnection());
+		} catch (SQLException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static void stubLag(Replica replica, double lagMillis) throws SQLException {
+		Connection connection = mock(Connection.class);
+		Statement statement = mock(Statement.class);
+		ResultSet resultSet = mock(ResultSet.class);
+		when(replica.getDataSource().getConnection()).thenReturn(connection);
+		when(connection.createStatement()).thenReturn(statement);
+		when(statement.executeQuery(anyString())).thenReturn(resultSet);
+		when(resultSet.next()).thenReturn(true);
+		when(resultSet.getDouble(1)).thenReturn(lagMillis);
+	}
+}
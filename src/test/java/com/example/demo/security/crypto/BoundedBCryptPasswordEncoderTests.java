@@ -0,0 +1,62 @@
+package com.example.demo.security.crypto;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class BoundedBCryptPasswordEncoderTests {
+
+	@Test
+	void hashesVerifyAndOtherCostsAreFlaggedForRehash() {
+		try (BoundedBCryptPasswordEncoder encoder = new BoundedBCryptPasswordEncoder(5, 2, 10, new SimpleMeterRegistry())) {
+			String hash = encoder.encode("secret");
+			assertTrue(hash.startsWith("$2a$05$"));
+			assertTrue(encoder.matches("secret", hash));
+			assertFalse(encoder.matches("wrong", hash));
+
+			assertFalse(encoder.upgradeEncoding(hash));
+			assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("secret")));
+			assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("secret")));
+			assertFalse(encoder.upgradeEncoding(null));
+		}
+	}
+
+	@Test
+	void fullQueueIsRefusedInsteadOfQueued() throws Exception {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		// each verify of a cost-12 hash takes a few hundred ms, so one thread + one queue slot fill up at once
+		String slowHash = new BCryptPasswordEncoder(12).encode("secret");
+		try (BoundedBCryptPasswordEncoder encoder = new BoundedBCryptPasswordEncoder(4, 1, 1, meterRegistry);
+				ExecutorService callers = Executors.newFixedThreadPool(6)) {
+			List<Future<Boolean>> logins = new ArrayList<>();
+			for (int i = 0; i < 6; i++) {
+				logins.add(callers.submit(() -> encoder.matches("secret", slowHash)));
+			}
+			int verified = 0;
+			int busy = 0;
+			for (Future<Boolean> login : logins) {
+				try {
+					assertTrue(login.get());
+					verified++;
+				} catch (ExecutionException e) {
+					assertTrue(e.getCause() instanceof PasswordHashingBusyException);
+					busy++;
+				}
+			}
+			assertTrue(verified >= 1 && busy >= 1, "verified=" + verified + " busy=" + busy);
+			assertEquals(busy, meterRegistry.get("auth.password.hash.rejected").counter().count());
+		}
+	}
+}
@@ -0,0 +1,117 @@
+package com.example.demo.security.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RateLimitFilterTests {
+
+	private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@AfterEach
+	void clearContext() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void bucketAllowsBurstThenOneTokenPerInterval() {
+		TokenBucket bucket = new TokenBucket();
+		long now = 1_000 * SECOND;
+		for (int i = 0; i < 3; i++) {
+			assertEquals(0, bucket.tryConsume(now, SECOND, 3));
+		}
+		assertEquals(SECOND, bucket.tryConsume(now, SECOND, 3));
+		assertEquals(SECOND / 2, bucket.tryConsume(now + SECOND / 2, SECOND, 3));
+		assertEquals(0, bucket.tryConsume(now + SECOND, SECOND, 3));
+		assertTrue(bucket.tryConsume(now + SECOND, SECOND, 3) > 0);
+		// a long pause refills the bucket, but never beyond its capacity
+		long later = now + 60 * SECOND;
+		for (int i = 0; i < 3; i++) {
+			assertEquals(0, bucket.tryConsume(later, SECOND, 3));
+		}
+		assertTrue(bucket.tryConsume(later, SECOND, 3) > 0);
+	}
+
+	@Test
+	void concurrentCallersNeverGetMoreThanTheCapacity() throws InterruptedException {
+		TokenBucket bucket = new TokenBucket();
+		long now = System.nanoTime();
+		AtomicInteger granted = new AtomicInteger();
+		try (ExecutorService pool = Executors.newFixedThreadPool(8)) {
+			for (int i = 0; i < 1000; i++) {
+				pool.submit(() -> {
+					if (bucket.tryConsume(now, TimeUnit.HOURS.toNanos(1), 50) == 0) {
+						granted.incrementAndGet();
+					}
+				});
+			}
+		}
+		assertEquals(50, granted.get());
+	}
+
+	@Test
+	void loginIsLimitedPerIpWithRetryAfter() throws Exception {
+		RateLimitFilter filter = filter(new RateLimitProperties.Rule("login", "POST", "/auth/login",
+				RateLimitProperties.Key.IP, 2, 2, Duration.ofMinutes(1)));
+
+		assertEquals(200, call(filter, "POST", "/auth/login", "10.0.0.1").getStatus());
+		assertEquals(200, call(filter, "POST", "/auth/login", "10.0.0.1").getStatus());
+		MockHttpServletResponse throttled = call(filter, "POST", "/auth/login", "10.0.0.1");
+		assertEquals(429, throttled.getStatus());
+		assertEquals("30", throttled.getHeader("Retry-After"));
+
+		// other clients, methods and routes have their own budget
+		assertEquals(200, call(filter, "POST", "/auth/login", "10.0.0.2").getStatus());
+		assertEquals(200, call(filter, "GET", "/auth/login", "10.0.0.1").getStatus());
+		assertEquals(200, call(filter, "POST", "/auth/register", "10.0.0.1").getStatus());
+		assertEquals(1.0, meterRegistry.get("ratelimit.throttled").tag("rule", "login").counter().count());
+	}
+
+	@Test
+	void submitIsLimitedPerUserNotPerIp() throws Exception {
+		RateLimitFilter filter = filter(new RateLimitProperties.Rule("quiz-submit", "POST", "/user/quiz/submit/**",
+				RateLimitProperties.Key.USER, 1, 1, Duration.ofMinutes(1)));
+
+		login("alice");
+		assertEquals(200, call(filter, "POST", "/user/quiz/submit/1", "10.0.0.1").getStatus());
+		assertEquals(429, call(filter, "POST", "/user/quiz/submit/2", "10.0.0.2").getStatus());
+		login("bob");
+		assertEquals(200, call(filter, "POST", "/user/quiz/submit/1", "10.0.0.1").getStatus());
+	}
+
+	private RateLimitFilter filter(RateLimitProperties.Rule rule) {
+		return new RateLimitFilter(new RateLimitProperties(true, 1000, List.of(rule)), meterRegistry);
+	}
+
+	private static void login(String username) {
+		SecurityContextHolder.getContext().setAuthentication(
+				new UsernamePasswordAuthenticationToken(username, null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+	}
+
+	private static MockHttpServletResponse call(RateLimitFilter filter, String method, String uri, String ip) throws Exception {
+		MockHttpServletRequest req = new MockHttpServletRequest(method, uri);
+		req.setRemoteAddr(ip);
+		MockHttpServletResponse res = new MockHttpServletResponse();
+		filter.doFilter(req, res, new MockFilterChain());
+		return res;
+	}
+}
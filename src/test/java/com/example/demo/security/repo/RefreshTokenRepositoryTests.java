@@ -0,0 +1,67 @@
+package com.example.demo.security.repo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.security.model.RefreshToken;
+
+@SpringBootTest
+class RefreshTokenRepositoryTests {
+
+	@Autowired
+	RefreshTokenRepository repository;
+
+	@Autowired
+	PlatformTransactionManager transactionManager;
+
+	private final UUID familyId = UUID.randomUUID();
+
+	@AfterEach
+	void cleanUp() {
+		repository.findAll().stream()
+				.filter(t -> familyId.equals(t.getFamilyId()))
+				.forEach(repository::delete);
+	}
+
+	@Test
+	void losingRotationSeesTheWinnersRotatedAt() throws InterruptedException {
+		Instant now = Instant.now();
+		RefreshToken row = new RefreshToken();
+		row.setTokenHash(UUID.randomUUID().toString().replace("-", ""));
+		row.setFamilyId(familyId);
+		row.setUsername("alice");
+		row.setCreatedAt(now);
+		row.setExpiresAt(now.plus(Duration.ofHours(1)));
+		Long id = repository.save(row).getId();
+
+		// Tab B loads the token, then tab A's rotation commits before B tries to rotate it
+		RefreshToken seen = new TransactionTemplate(transactionManager).execute(status -> {
+			assertNull(repository.findByTokenHash(row.getTokenHash()).orElseThrow().getRotatedAt());
+
+			Thread tabA = new Thread(() -> repository.markRotated(id, Instant.now()));
+			tabA.start();
+			try {
+				tabA.join();
+			} catch (InterruptedException e) {
+				throw new IllegalStateException(e);
+			}
+
+			assertEquals(0, repository.markRotated(id, Instant.now()));
+			return repository.findByTokenHash(row.getTokenHash()).orElseThrow();
+		});
+
+		assertNotNull(seen.getRotatedAt());
+	}
+}
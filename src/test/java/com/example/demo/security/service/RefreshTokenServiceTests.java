@@ -0,0 +1,128 @@
+package com.example.demo.security.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.security.model.RefreshToken;
+import com.example.demo.security.repo.RefreshTokenRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RefreshTokenServiceTests {
+
+	private final RefreshTokenRepository repository = mock(RefreshTokenRepository.class);
+	private final List<RefreshToken> saved = new ArrayList<>();
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private RefreshTokenService service;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		AtomicLong ids = new AtomicLong();
+		when(repository.save(any(RefreshToken.class))).thenAnswer(inv -> {
+			RefreshToken t = inv.getArgument(0);
+			t.setId(ids.incrementAndGet());
+			saved.add(t);
+			return t;
+		});
+		when(repository.findByTokenHash(anyString())).thenAnswer(inv -> saved.stream()
+				.filter(t -> t.getTokenHash().equals(inv.getArgument(0))).findFirst());
+		service = new RefreshTokenService(repository, "test-secret-that-is-long-enough-for-hmac", 60_000, 100, 5_000, meterRegistry);
+	}
+
+	@Test
+	void tokensAreRandomAndOnlyTheirHashIsStored() {
+		String first = service.issue("alice");
+		String second = service.issue("alice");
+		assertNotEquals(first, second);
+		assertEquals(43, first.length());
+		assertEquals(64, saved.get(0).getTokenHash().length());
+		assertNotEquals(first, saved.get(0).getTokenHash());
+		assertNotEquals(saved.get(0).getFamilyId(), saved.get(1).getFamilyId());
+	}
+
+	@Test
+	void refreshRotatesWithinTheSameFamily() {
+		String token = service.issue("alice");
+		when(repository.markRotated(eq(1L), any())).thenReturn(1);
+
+		RefreshTokenService.Rotation rotation = service.rotate(token);
+
+		assertNotNull(rotation);
+		assertEquals("alice", rotation.username());
+		assertNotEquals(token, rotation.refreshToken());
+		assertEquals(saved.get(0).getFamilyId(), saved.get(1).getFamilyId());
+		verify(repository, never()).revokeFamily(any(), any());
+	}
+
+	@Test
+	void presentingARotatedTokenAgainRevokesTheFamily() {
+		String token = service.issue("alice");
+		when(repository.markRotated(eq(1L), any())).thenReturn(1, 0);
+		when(repository.revokeFamily(eq(saved.get(0).getFamilyId()), any())).thenReturn(1);
+
+		assertNotNull(service.rotate(token));
+		saved.get(0).setRotatedAt(Instant.now().minusSeconds(30));
+		// second use of the same token: not in the in-memory index any more, found in the table, rejected
+		assertNull(service.rotate(token));
+
+		verify(repository).revokeFamily(eq(saved.get(0).getFamilyId()), any());
+		assertEquals(1.0, meterRegistry.get("auth.refresh.reuse").counter().count());
+	}
+
+	@Test
+	void aConcurrentRefreshWithTheSameTokenGetsASiblingInsteadOfALogout() {
+		String token = service.issue("alice");
+		when(repository.markRotated(eq(1L), any())).thenAnswer(inv -> {
+			saved.get(0).setRotatedAt(inv.getArgument(1));
+			return 1;
+		}).thenReturn(0);
+
+		RefreshTokenService.Rotation first = service.rotate(token);
+		// another tab, a moment later, with the token it read before the first one stored the new pair
+		RefreshTokenService.Rotation second = service.rotate(token);
+
+		assertNotNull(first);
+		assertNotNull(second);
+		assertEquals("alice", second.username());
+		assertNotEquals(first.refreshToken(), second.refreshToken());
+		assertEquals(saved.get(0).getFamilyId(), saved.get(2).getFamilyId());
+		verify(repository, never()).revokeFamily(any(), any());
+		assertEquals(0.0, meterRegistry.get("auth.refresh.reuse").counter().count());
+	}
+
+	@Test
+	void aRevokedTokenGetsNoGracePeriod() {
+		String token = service.issue("alice");
+		saved.get(0).setRotatedAt(Instant.now());
+		saved.get(0).setRevokedAt(Instant.now());
+		when(repository.markRotated(eq(1L), any())).thenReturn(0);
+
+		assertNull(service.rotate(token));
+	}
+
+	@Test
+	void unknownTokensAreRejected() {
+		when(repository.findByTokenHash(anyString())).thenReturn(Optional.empty());
+		assertNull(service.rotate("not-a-token"));
+		assertNull(service.rotate(""));
+		assertNull(service.rotate(null));
+	}
+}
@@ -0,0 +1,112 @@
+package com.example.demo.tracing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.tracing.Tracer;
+
+class ServerTimingTests {
+
+	private final ObservationRegistry registry = ObservationRegistry.create();
+
+	ServerTimingTests() {
+		registry.observationConfig().observationHandler(new ServerTimingObservationHandler());
+	}
+
+	@AfterEach
+	void unbind() {
+		ServerTiming.bind(null);
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void repeatedEntriesAreSummedAndCounted() {
+		ServerTiming timing = new ServerTiming("abc123");
+		timing.add("jdbc.query", 1_500_000);
+		timing.add("service.quiz", 4_000_000);
+		timing.add("jdbc.query", 500_000);
+
+		String header = timing.header();
+
+		assertTrue(header.startsWith("jdbc.query;dur=2.0;desc=\"2x\", service.quiz;dur=4.0, trace;desc=\"abc123\", total;dur="),
+				header);
+	}
+
+	@Test
+	void headerWithoutEntriesOrTraceHasOnlyTotal() {
+		assertTrue(new ServerTiming(null).header().matches("total;dur=\\d+\\.\\d"));
+	}
+
+	@Test
+	void observationsOnTheRequestThreadAreRecorded() {
+		ServerTiming timing = new ServerTiming(null);
+		ServerTiming.bind(timing);
+
+		Observation.createNotStarted("service.question", registry).observe(() -> { });
+		Observation.createNotStarted("http.server.requests", registry).observe(() -> { });
+
+		String header = timing.header();
+		assertTrue(header.startsWith("service.question;dur="), header);
+		assertFalse(header.contains("http.server.requests"), header);
+	}
+
+	@Test
+	void observationsOutsideARequestAreIgnored() {
+		ServerTiming timing = new ServerTiming(null);
+
+		Observation.createNotStarted("service.question", registry).observe(() -> { });
+
+		assertNull(ServerTiming.current());
+		assertTrue(timing.header().startsWith("total;dur="));
+	}
+
+	@Test
+	void adminOnlyHeaderIsKeptFromOtherCallers() throws Exception {
+		MockHttpServletResponse anonymous = filter(true, null);
+		assertNull(anonymous.getHeader("Server-Timing"));
+		assertNull(anonymous.getHeader("Timing-Allow-Origin"));
+
+		MockHttpServletResponse user = filter(true, "ROLE_USER");
+		assertNull(user.getHeader("Server-Timing"));
+	}
+
+	@Test
+	void adminOnlyHeaderGoesToAdmins() throws Exception {
+		MockHttpServletResponse admin = filter(true, "ROLE_ADMIN");
+
+		assertTrue(admin.getHeader("Server-Timing").contains("total;dur="));
+		assertEquals("http://localhost:3000", admin.getHeader("Timing-Allow-Origin"));
+	}
+
+	@Test
+	void headerGoesToEveryoneWhenNotAdminOnly() throws Exception {
+		assertTrue(filter(false, null).getHeader("Server-Timing").contains("total;dur="));
+	}
+
+	/** Runs a request through the filter; the "controller" is done with the security context before the filter is */
+	private MockHttpServletResponse filter(boolean adminOnly, String role) throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		new ServerTimingFilter(Tracer.NOOP, "http://localhost:3000", adminOnly)
+				.doFilter(new MockHttpServletRequest("GET", "/quiz"), response, (req, res) -> {
+					if (role != null) {
+						SecurityContextHolder.getContext().setAuthentication(
+								new UsernamePasswordAuthenticationToken("someone", null, AuthorityUtils.createAuthorityList(role)));
+					}
+					res.getWriter().write("[]");
+					SecurityContextHolder.clearContext();
+				});
+		return response;
+	}
+}
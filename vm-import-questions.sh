@@ -0,0 +1,48 @@
+#!/bin/bash
+
+# ================================================================
+# BULK QUESTION IMPORT
+# Uploads an NDJSON or CSV file to POST /admin/question/import.
+# Replaces the raw psql INSERT scripts: rows are validated by the
+# backend and rejected rows are reported with their line number.
+#
+# Usage: ./vm-import-questions.sh <file.ndjson|file.csv> [username] [password]
+# CSV files need a header row:
+#   question_title,option1,option2,option3,option4,right_answer,difficultylevel,category
+# ================================================================
+
+FILE=$1
+ADMIN_USER=${2:-admin}
+ADMIN_PASS=${3:-123456}
+BASE_URL=${QUIZ_BASE_URL:-http://localhost:8080}
+
+if [ -z "$FILE" ] || [ ! -f "$FILE" ]; then
+    echo "Usage: $0 <file.ndjson|file.csv> [username] [password]"
+    exit 1
+fi
+
+case "$FILE" in
+    *.csv) CONTENT_TYPE="text/csv" ;;
+    *) CONTENT_TYPE="application/x-ndjson" ;;
+esac
+
+echo "📚 IMPORTING QUESTIONS FROM $FILE"
+echo "================================="
+
+echo "🔐 Logging in as $ADMIN_USER..."
+TOKEN=$(curl -s -X POST "$BASE_URL/auth/login" \
+    -H "Content-Type: application/json" \
+    -d "{\"username\":\"$ADMIN_USER\",\"password\":\"$ADMIN_PASS\"}" | sed -n 's/.*"token":"\([^"]*\)".*/\1/p')
+
+if [ -z "$TOKEN" ]; then
+    echo "❌ Login failed"
+    exit 1
+fi
+
+echo "📤 Uploading..."
+curl -s -X POST "$BASE_URL/admin/question/import" \
+    -H "Authorization: Bearer $TOKEN" \
+    -H "Content-Type: $CONTENT_TYPE" \
+    --data-binary "@$FILE"
+echo ""
+echo "✅ Done"